@@ -44,6 +44,10 @@ public class SecurityConfig {
                 .requestMatchers("/api/airports").permitAll()
                 .requestMatchers("/api/flights/search").permitAll()
                 .requestMatchers("/api/flights/search/connecting").permitAll()
+                .requestMatchers("/api/flights/search/calendar").permitAll()
+                .requestMatchers("/api/flights/search/stream").permitAll()
+                .requestMatchers("/api/flights/search/page").permitAll()
+                .requestMatchers("/api/flights/search/multi-city").permitAll()
                 // OpenAPI 3 endpoints
                 .requestMatchers("/v3/api-docs/**").permitAll()
                 .requestMatchers("/swagger-ui/**").permitAll()
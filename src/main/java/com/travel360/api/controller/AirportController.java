@@ -224,6 +224,49 @@ public class AirportController {
         }
     }
 
+    @GetMapping("/{id}/nearby")
+    @Operation(
+        summary = "Get nearby airports",
+        description = "Retrieve all airports within the given great-circle distance of an airport, nearest first, including the airport itself",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Airports found",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Airport not found or invalid radius",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<List<AirportDto>>> getAirportsNearby(
+        @Parameter(description = "Airport ID", required = true)
+        @PathVariable Long id,
+        @Parameter(description = "Search radius in kilometres (0-2000)", example = "150")
+        @RequestParam(defaultValue = "150") double radiusKm) {
+        if (radiusKm < 0 || radiusKm > 2000) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("Radius must be between 0 and 2000 km", "Invalid radius"));
+        }
+        try {
+            List<AirportDto> airports = airportService.getAirportsNearby(id, radiusKm);
+            return ResponseEntity.ok(ApiResponse.success(airports,
+                "Found " + airports.size() + " airports within " + radiusKm + " km"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage(), "Failed to retrieve nearby airports"));
+        }
+    }
+
     @PostMapping
     @PreAuthorize("hasAnyRole('OPERATOR', 'ADMINISTRATOR')")
     @Operation(
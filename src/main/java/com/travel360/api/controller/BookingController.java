@@ -2,11 +2,15 @@ package com.travel360.api.controller;
 
 import com.travel360.api.dto.booking.BookingRequest;
 import com.travel360.api.dto.booking.BookingResponse;
+import com.travel360.api.dto.booking.BookingSummaryPage;
+import com.travel360.api.dto.booking.GroupBookingRequest;
+import com.travel360.api.dto.booking.GroupBookingResponse;
 import com.travel360.api.dto.common.ApiResponse;
 import com.travel360.api.model.BookingStatus;
 import com.travel360.api.model.User;
 import com.travel360.api.service.BookingService;
 import com.travel360.api.service.UserService;
+import com.travel360.api.service.booking.BookingSummaryProjection;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -31,6 +35,8 @@ import java.util.List;
 @Tag(name = "Booking Management", description = "APIs for managing flight bookings, reservations, and related documents")
 public class BookingController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     @Autowired
     private BookingService bookingService;
 
@@ -40,7 +46,7 @@ public class BookingController {
     @PostMapping
     @Operation(
         summary = "Create new booking",
-        description = "Create a new flight booking for the authenticated user",
+        description = "Create a new flight booking for the authenticated user. Send an Idempotency-Key header to make retries safe",
         security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponses(value = {
@@ -64,10 +70,12 @@ public class BookingController {
     public ResponseEntity<ApiResponse<BookingResponse>> createBooking(
             @Parameter(description = "Booking details", required = true)
             @Valid @RequestBody BookingRequest bookingRequest,
+            @Parameter(description = "Client-generated key; retries with the same key return the original booking")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @AuthenticationPrincipal UserDetails userDetails) {
         try {
             User user = userService.getUserByUsername(userDetails.getUsername()).orElseThrow();
-            BookingResponse booking = bookingService.createBooking(bookingRequest, user);
+            BookingResponse booking = bookingService.createBooking(bookingRequest, user, idempotencyKey);
             return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success(booking, "Booking created successfully"));
         } catch (Exception e) {
@@ -76,6 +84,47 @@ public class BookingController {
         }
     }
 
+    @PostMapping("/group")
+    @Operation(
+        summary = "Create group booking",
+        description = "Book up to 500 passengers in one request, e.g. a tour group. Each passenger's outcome is reported; " +
+                      "with allowPartial, passengers that cannot be booked are rejected individually instead of failing the group",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "201",
+            description = "Group booking created successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Invalid booking data or no passenger could be booked",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<GroupBookingResponse>> createGroupBooking(
+            @Parameter(description = "Group passengers and booking options", required = true)
+            @Valid @RequestBody GroupBookingRequest groupBookingRequest,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            User user = userService.getUserByUsername(userDetails.getUsername()).orElseThrow();
+            GroupBookingResponse response = bookingService.createGroupBooking(groupBookingRequest, user);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(response, response.getBookedPassengers() + " of "
+                    + response.getRequestedPassengers() + " passengers booked"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage(), "Failed to create group booking"));
+        }
+    }
+
     @PostMapping("/customer/{customerId}")
     @PreAuthorize("hasAnyRole('OPERATOR', 'ADMINISTRATOR')")
     @Operation(
@@ -88,10 +137,12 @@ public class BookingController {
             @Valid @RequestBody BookingRequest bookingRequest,
             @Parameter(description = "Customer ID", required = true)
             @PathVariable Long customerId,
+            @Parameter(description = "Client-generated key; retries with the same key return the original booking")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @AuthenticationPrincipal UserDetails userDetails) {
         try {
             User operator = userService.getUserByUsername(userDetails.getUsername()).orElseThrow();
-            BookingResponse booking = bookingService.createBookingForCustomer(bookingRequest, customerId, operator);
+            BookingResponse booking = bookingService.createBookingForCustomer(bookingRequest, customerId, operator, idempotencyKey);
             return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success(booking, "Booking created successfully for customer"));
         } catch (Exception e) {
@@ -133,7 +184,7 @@ public class BookingController {
     @GetMapping("/user")
     @Operation(
         summary = "Get user's bookings",
-        description = "Retrieve all bookings for the authenticated user",
+        description = "Retrieve all bookings for the authenticated user, newest first",
         security = @SecurityRequirement(name = "bearerAuth")
     )
     public ResponseEntity<ApiResponse<List<BookingResponse>>> getUserBookings(
@@ -151,6 +202,36 @@ public class BookingController {
         }
     }
 
+    @GetMapping("/user/page")
+    @Operation(
+        summary = "Get a page of user's bookings",
+        description = "Retrieve the authenticated user's booking summaries, newest first, one page at a time. " +
+                     "Pass the nextCursor of a page as the cursor parameter to get the following page.",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<BookingSummaryPage>> getUserBookingsPage(
+        @AuthenticationPrincipal UserDetails userDetails,
+        @Parameter(description = "Cursor returned as nextCursor by the previous page")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Number of bookings per page (1-" + BookingSummaryProjection.MAX_PAGE_SIZE + ")")
+        @RequestParam(defaultValue = "20") int size) {
+        try {
+            User user = userService.getUserByUsername(userDetails.getUsername()).orElseThrow();
+            BookingSummaryPage page = bookingService.getBookingSummaries(user, cursor, size);
+            String message = page.getBookings().isEmpty() ? 
+                "No bookings found for user" : 
+                "Found " + page.getBookings().size() + " bookings";
+            return ResponseEntity.ok(ApiResponse.success(page, message));
+        } catch (IllegalArgumentException e) {
+            // Only a bad cursor or page size is the caller's fault
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage(), "Invalid booking page request"));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Failed to retrieve user bookings", "Internal server error"));
+        }
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyRole('OPERATOR', 'ADMINISTRATOR')")
     @Operation(
@@ -254,14 +335,16 @@ public class BookingController {
     @DeleteMapping("/{id}")
     @Operation(
         summary = "Cancel booking",
-        description = "Cancel a booking",
+        description = "Cancel a booking and release its seats. Customers can only cancel their own bookings.",
         security = @SecurityRequirement(name = "bearerAuth")
     )
     public ResponseEntity<ApiResponse<Void>> cancelBooking(
         @Parameter(description = "Booking ID", required = true)
-        @PathVariable Long id) {
+        @PathVariable Long id,
+        @AuthenticationPrincipal UserDetails userDetails) {
         try {
-            bookingService.cancelBooking(id);
+            User user = userService.getUserByUsername(userDetails.getUsername()).orElseThrow();
+            bookingService.cancelBooking(id, user);
             return ResponseEntity.ok(ApiResponse.success("Booking cancelled successfully"));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -1,13 +1,24 @@
 package com.travel360.api.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.travel360.api.dto.common.ApiResponse;
 import com.travel360.api.dto.common.Pagination;
+import com.travel360.api.dto.flight.DirectFlightDto;
+import com.travel360.api.dto.flight.FareCalendarRequest;
+import com.travel360.api.dto.flight.FareCalendarResponse;
+import com.travel360.api.dto.flight.FlightConflictStats;
 import com.travel360.api.dto.flight.FlightDto;
 import com.travel360.api.dto.flight.FlightSearchRequest;
 import com.travel360.api.dto.flight.FlightSearchResponse;
+import com.travel360.api.dto.flight.MultiCitySearchRequest;
+import com.travel360.api.dto.flight.MultiCitySearchResponse;
+import com.travel360.api.dto.flight.SearchCacheStats;
+import com.travel360.api.dto.flight.SeatMapDto;
+import com.travel360.api.dto.flight.TransitFlightDto;
 import com.travel360.api.model.Flight;
 import com.travel360.api.model.FlightStatus;
 import com.travel360.api.service.FlightService;
+import com.travel360.api.service.search.SearchResultListener;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -21,11 +32,19 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/flights")
@@ -35,6 +54,9 @@ public class FlightController {
     @Autowired
     private FlightService flightService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
     @Operation(
         summary = "Get all flights",
@@ -139,6 +161,42 @@ public class FlightController {
                     .body(ApiResponse.error("Flight not found with ID: " + id)));
     }
 
+    @GetMapping("/{id}/seat-map")
+    @Operation(
+        summary = "Get flight seat map",
+        description = "Retrieve the cabin layout of a flight and the seats still available in each class, for choosing seats when booking",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Seat map retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Flight not found",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<SeatMapDto>> getSeatMap(
+        @Parameter(description = "Flight ID", required = true)
+        @PathVariable Long id) {
+        try {
+            SeatMapDto seatMap = flightService.getSeatMap(id);
+            return ResponseEntity.ok(ApiResponse.success(seatMap, "Seat map retrieved successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage(), "Failed to retrieve seat map"));
+        }
+    }
+
     @GetMapping("/number/{flightNumber}")
     @Operation(
         summary = "Get flight by flight number",
@@ -524,4 +582,265 @@ public class FlightController {
                 .body(ApiResponse.error(e.getMessage(), "Failed to search flights"));
         }
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/search/page")
+    @Operation(
+        summary = "Next page of a ranked flight search",
+        description = "Return the next page of a comprehensive search that was run with pageSize set, using the nextCursor from the previous page. Pages come from the stored ranking, so the search is not run again. The ranking is held in the memory of the instance that ran the search, so behind a load balancer this call must reach the same instance (sticky sessions); elsewhere the cursor is rejected as expired and the search must be repeated. This endpoint is publicly accessible."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Page retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Invalid or expired cursor",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<FlightSearchResponse>> getSearchResultPage(
+        @Parameter(description = "Cursor returned as nextCursor by the previous page", required = true)
+        @RequestParam String cursor) {
+        try {
+            FlightSearchResponse searchResponse = flightService.getSearchResultPage(cursor);
+            return ResponseEntity.ok(ApiResponse.success(searchResponse, searchResponse.getSearchSummary()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage(), "Failed to retrieve search results"));
+        }
+    }
+
+    @PostMapping(value = "/search/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+        summary = "Streaming flight search (NDJSON)",
+        description = "Same search as /search/comprehensive, written as newline-delimited JSON while it runs: one {\"type\":\"direct\"} line per direct flight, then one {\"type\":\"transit\"} line per transit option as it is found, and a final {\"type\":\"complete\"} line with the totals. This endpoint is publicly accessible."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Search results streamed",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)
+        )
+    })
+    public ResponseEntity<StreamingResponseBody> streamFlightsNdjson(
+        @Parameter(description = "Flight search criteria including airports, dates, seat class, and passenger count", required = true)
+        @Valid @RequestBody FlightSearchRequest searchRequest) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(out -> streamSearch(searchRequest, new SearchResultStreamWriter(out, objectMapper, false)));
+    }
+
+    @PostMapping(value = "/search/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Streaming flight search (Server-Sent Events)",
+        description = "Same search as /search/comprehensive, written as Server-Sent Events while it runs: 'direct' events, then 'transit' events as they are found, and a final 'complete' event with the totals. This endpoint is publicly accessible."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Search results streamed",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)
+        )
+    })
+    public ResponseEntity<StreamingResponseBody> streamFlightsEvents(
+        @Parameter(description = "Flight search criteria including airports, dates, seat class, and passenger count", required = true)
+        @Valid @RequestBody FlightSearchRequest searchRequest) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.TEXT_EVENT_STREAM)
+            .body(out -> streamSearch(searchRequest, new SearchResultStreamWriter(out, objectMapper, true)));
+    }
+
+    @PostMapping("/search/calendar")
+    @Operation(
+        summary = "Fare calendar search",
+        description = "Return the lowest direct and transit fare for every day within flexDays of the requested departure date, computed in a single search over the whole window. This endpoint is publicly accessible."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Fare calendar computed successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Invalid search criteria",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<FareCalendarResponse>> getFareCalendar(
+        @Parameter(description = "Route, seat class and flexible date window", required = true)
+        @Valid @RequestBody FareCalendarRequest calendarRequest) {
+        try {
+            FareCalendarResponse calendar = flightService.getFareCalendar(calendarRequest);
+            String message = calendar.getCheapestDate() == null ?
+                "No fares found in the requested date window" :
+                "Cheapest fare found on " + calendar.getCheapestDate();
+            return ResponseEntity.ok(ApiResponse.success(calendar, message));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage(), "Failed to build fare calendar"));
+        }
+    }
+
+    @PostMapping("/search/multi-city")
+    @Operation(
+        summary = "Round-trip and multi-city search",
+        description = "Search every segment of a round-trip or multi-city trip against the same availability snapshot and return the cheapest combined itineraries in which each segment departs after the previous one arrives. This endpoint is publicly accessible."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Trip search completed successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Invalid trip segments",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<MultiCitySearchResponse>> searchMultiCity(
+        @Parameter(description = "Ordered trip segments, seat class and passenger count", required = true)
+        @Valid @RequestBody MultiCitySearchRequest multiCityRequest) {
+        try {
+            MultiCitySearchResponse response = flightService.searchMultiCity(multiCityRequest);
+            return ResponseEntity.ok(ApiResponse.success(response, response.getSearchSummary()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage(), "Failed to search trip itineraries"));
+        }
+    }
+
+    @GetMapping("/search/cache/stats")
+    @PreAuthorize("hasRole('ADMINISTRATOR')")
+    @Operation(
+        summary = "Get search cache statistics",
+        description = "Retrieve size, hit, miss, eviction and invalidation counters of the flight search result cache. Requires ADMINISTRATOR role.",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Cache statistics retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<SearchCacheStats>> getSearchCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success(flightService.getSearchCacheStats(), "Search cache statistics retrieved"));
+    }
+
+    @GetMapping("/concurrency/stats")
+    @PreAuthorize("hasRole('ADMINISTRATOR')")
+    @Operation(
+        summary = "Get flight inventory conflict statistics",
+        description = "Retrieve optimistic locking conflict, retry and exhausted-retry counters for booking, hold and status updates, and the most contended flights. Requires ADMINISTRATOR role.",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Conflict statistics retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<FlightConflictStats>> getConflictStats() {
+        return ResponseEntity.ok(ApiResponse.success(flightService.getConflictStats(), "Conflict statistics retrieved"));
+    }
+
+    private void streamSearch(FlightSearchRequest searchRequest, SearchResultStreamWriter writer) {
+        try {
+            flightService.streamFlights(searchRequest, writer);
+            writer.complete();
+        } catch (UncheckedIOException e) {
+            // Client disconnected; the search has already been stopped
+        } catch (Exception e) {
+            writer.error(e.getMessage());
+        }
+    }
+
+    /**
+     * Writes each search result to the response as soon as it arrives, as an NDJSON line or an SSE event.
+     */
+    private static final class SearchResultStreamWriter implements SearchResultListener {
+
+        private final OutputStream out;
+        private final ObjectMapper objectMapper;
+        private final boolean eventStream;
+        private int directFlights;
+        private int transitFlights;
+
+        private SearchResultStreamWriter(OutputStream out, ObjectMapper objectMapper, boolean eventStream) {
+            this.out = out;
+            this.objectMapper = objectMapper;
+            this.eventStream = eventStream;
+        }
+
+        @Override
+        public void onDirectFlight(DirectFlightDto flight) {
+            directFlights++;
+            write("direct", flight);
+        }
+
+        @Override
+        public void onTransitFlight(TransitFlightDto transitFlight) {
+            transitFlights++;
+            write("transit", transitFlight);
+        }
+
+        private void complete() {
+            Map<String, Object> totals = new LinkedHashMap<>();
+            totals.put("totalDirectFlights", directFlights);
+            totals.put("totalTransitFlights", transitFlights);
+            write("complete", totals);
+        }
+
+        private void error(String message) {
+            write("error", Map.of("message", message != null ? message : "Failed to search flights"));
+        }
+
+        private void write(String type, Object data) {
+            try {
+                if (eventStream) {
+                    out.write(("event: " + type + "\ndata: ").getBytes(StandardCharsets.UTF_8));
+                    out.write(objectMapper.writeValueAsBytes(data));
+                    out.write("\n\n".getBytes(StandardCharsets.UTF_8));
+                } else {
+                    Map<String, Object> line = new LinkedHashMap<>();
+                    line.put("type", type);
+                    line.put("data", data);
+                    out.write(objectMapper.writeValueAsBytes(line));
+                    out.write('\n');
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
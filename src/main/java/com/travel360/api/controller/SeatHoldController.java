@@ -0,0 +1,110 @@
+package com.travel360.api.controller;
+
+import com.travel360.api.dto.booking.SeatHoldRequest;
+import com.travel360.api.dto.booking.SeatHoldResponse;
+import com.travel360.api.dto.common.ApiResponse;
+import com.travel360.api.model.User;
+import com.travel360.api.service.SeatHoldService;
+import com.travel360.api.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/holds")
+@Tag(name = "Seat Holds", description = "APIs for holding seats temporarily while a booking is completed")
+public class SeatHoldController {
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private UserService userService;
+
+    @PostMapping
+    @Operation(
+        summary = "Hold seats",
+        description = "Take seats out of inventory for a limited time while the customer completes checkout. Pass the returned hold ID as holdId when creating the booking; holds that are not booked in time are released automatically.",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "201",
+            description = "Seats held successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Flight not bookable or not enough seats available",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<SeatHoldResponse>> createHold(
+            @Parameter(description = "Flights, seat classes and seat counts to hold", required = true)
+            @Valid @RequestBody SeatHoldRequest holdRequest,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            User user = userService.getUserByUsername(userDetails.getUsername()).orElseThrow();
+            SeatHoldResponse hold = seatHoldService.createHold(holdRequest, user);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(hold, "Seats held until " + hold.getExpiresAt()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage(), "Failed to hold seats"));
+        }
+    }
+
+    @GetMapping("/{holdId}")
+    @Operation(
+        summary = "Get seat hold",
+        description = "Retrieve a seat hold and its status",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<SeatHoldResponse>> getHold(
+            @Parameter(description = "Hold ID", required = true)
+            @PathVariable String holdId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        User user = userService.getUserByUsername(userDetails.getUsername()).orElseThrow();
+        return seatHoldService.getHold(holdId, user)
+                .map(hold -> ResponseEntity.ok(ApiResponse.success(hold, "Seat hold found")))
+                .orElse(ResponseEntity.status(404)
+                    .body(ApiResponse.error("Seat hold not found with ID: " + holdId)));
+    }
+
+    @DeleteMapping("/{holdId}")
+    @Operation(
+        summary = "Release seat hold",
+        description = "Release an active seat hold and return its seats to inventory",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<Void>> releaseHold(
+            @Parameter(description = "Hold ID", required = true)
+            @PathVariable String holdId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            User user = userService.getUserByUsername(userDetails.getUsername()).orElseThrow();
+            seatHoldService.releaseHold(holdId, user);
+            return ResponseEntity.ok(ApiResponse.success("Seat hold released successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage(), "Failed to release seat hold"));
+        }
+    }
+}
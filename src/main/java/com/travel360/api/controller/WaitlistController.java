@@ -0,0 +1,107 @@
+package com.travel360.api.controller;
+
+import com.travel360.api.dto.booking.WaitlistEntryResponse;
+import com.travel360.api.dto.booking.WaitlistRequest;
+import com.travel360.api.dto.common.ApiResponse;
+import com.travel360.api.model.User;
+import com.travel360.api.service.UserService;
+import com.travel360.api.service.WaitlistService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/waitlist")
+@Tag(name = "Waitlist", description = "APIs for waiting for seats on sold-out flights")
+public class WaitlistController {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private UserService userService;
+
+    @PostMapping
+    @Operation(
+        summary = "Join waitlist",
+        description = "Wait for seats of one class on a sold-out flight. When seats are released, waiting customers are promoted in order into a seat hold, shown on their waitlist entry, which they book like any other hold.",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "201",
+            description = "Added to the waitlist",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Flight not bookable, seats still available, or already waiting",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<WaitlistEntryResponse>> joinWaitlist(
+            @Parameter(description = "Flight, seat class and number of seats to wait for", required = true)
+            @Valid @RequestBody WaitlistRequest waitlistRequest,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            User user = userService.getUserByUsername(userDetails.getUsername()).orElseThrow();
+            WaitlistEntryResponse entry = waitlistService.joinWaitlist(waitlistRequest, user);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(entry, "Added to the waitlist at position " + entry.getPosition()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage(), "Failed to join waitlist"));
+        }
+    }
+
+    @GetMapping
+    @Operation(
+        summary = "Get my waitlist entries",
+        description = "Retrieve the authenticated user's waitlist entries with their position in line or the seat hold they were promoted into",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<List<WaitlistEntryResponse>>> getWaitlistEntries(
+            @AuthenticationPrincipal UserDetails userDetails) {
+        User user = userService.getUserByUsername(userDetails.getUsername()).orElseThrow();
+        return ResponseEntity.ok(ApiResponse.success(waitlistService.getWaitlistEntries(user), "Waitlist entries retrieved"));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(
+        summary = "Leave waitlist",
+        description = "Remove a waiting entry from the waitlist",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<Void>> leaveWaitlist(
+            @Parameter(description = "Waitlist entry ID", required = true)
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            User user = userService.getUserByUsername(userDetails.getUsername()).orElseThrow();
+            waitlistService.leaveWaitlist(id, user);
+            return ResponseEntity.ok(ApiResponse.success("Left the waitlist"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage(), "Failed to leave waitlist"));
+        }
+    }
+}
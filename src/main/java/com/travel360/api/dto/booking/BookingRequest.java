@@ -18,6 +18,9 @@ public class BookingRequest {
     
     private String contactPhone;
     
+    // Seat hold from checkout; when set, its seats are used instead of reserving new ones
+    private String holdId;
+    
     @Data
     public static class PassengerDetail {
         @Size(min = 2, max = 100)
@@ -29,6 +32,10 @@ public class BookingRequest {
         
         private String seatClass;
         
+        // Preferred seat such as "12C"; when omitted a seat is assigned, next to the rest of the booking
+        @Size(max = 10)
+        private String seatNumber;
+        
         private String specialRequirements;
         
         private Long connectingFlightDetailId;
@@ -0,0 +1,24 @@
+package com.travel360.api.dto.booking;
+
+import com.travel360.api.model.BookingStatus;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+public class BookingSummaryDto {
+    
+    private Long id;
+    private String bookingReference;
+    private LocalDateTime bookingDate;
+    private BookingStatus status;
+    private BigDecimal totalAmount;
+    private int passengerCount;
+    private LocalDateTime firstDepartureTime;
+    private LocalDateTime lastArrivalTime;
+    private String originAirportCode;
+    private String destinationAirportCode;
+    // Flight numbers in departure order, comma separated
+    private String flightNumbers;
+}
@@ -0,0 +1,15 @@
+package com.travel360.api.dto.booking;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BookingSummaryPage {
+    
+    private List<BookingSummaryDto> bookings = List.of();
+    
+    // Pass back as the cursor parameter for the next page; null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,24 @@
+package com.travel360.api.dto.booking;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class GroupBookingRequest {
+    
+    @NotEmpty
+    @Size(max = 500)
+    @Valid
+    private List<BookingRequest.PassengerDetail> passengers;
+    
+    private String contactEmail;
+    
+    private String contactPhone;
+    
+    // Book whoever fits when some passengers cannot be booked, instead of rejecting the whole group
+    private boolean allowPartial;
+}
@@ -0,0 +1,33 @@
+package com.travel360.api.dto.booking;
+
+import com.travel360.api.model.SeatClass;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class GroupBookingResponse {
+    
+    private BookingResponse booking;
+    private int requestedPassengers;
+    private int bookedPassengers;
+    private List<PassengerOutcome> passengers;
+    
+    public enum Outcome {
+        BOOKED,
+        SEAT_REASSIGNED,
+        REJECTED
+    }
+    
+    @Data
+    public static class PassengerOutcome {
+        // Position of the passenger in the request
+        private int index;
+        private String passengerName;
+        private Long flightId;
+        private SeatClass seatClass;
+        private Outcome outcome;
+        private String seatNumber;
+        private String message;
+    }
+}
@@ -0,0 +1,35 @@
+package com.travel360.api.dto.booking;
+
+import com.travel360.api.model.SeatClass;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SeatHoldRequest {
+    
+    // One item per flight of the itinerary being checked out
+    @NotEmpty
+    @Size(max = 6)
+    @Valid
+    private List<Item> items;
+    
+    @Data
+    public static class Item {
+        @NotNull
+        private Long flightId;
+        
+        @NotNull
+        private SeatClass seatClass;
+        
+        @Min(1)
+        @Max(9)
+        private int seatCount = 1;
+    }
+}
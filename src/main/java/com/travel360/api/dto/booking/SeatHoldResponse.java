@@ -0,0 +1,25 @@
+package com.travel360.api.dto.booking;
+
+import com.travel360.api.model.SeatClass;
+import com.travel360.api.model.SeatHoldStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class SeatHoldResponse {
+    
+    private String holdId;
+    private SeatHoldStatus status;
+    private LocalDateTime expiresAt;
+    private List<HeldSeatsDto> items;
+    
+    @Data
+    public static class HeldSeatsDto {
+        private Long flightId;
+        private String flightNumber;
+        private SeatClass seatClass;
+        private int seatCount;
+    }
+}
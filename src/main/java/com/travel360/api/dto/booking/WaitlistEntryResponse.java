@@ -0,0 +1,24 @@
+package com.travel360.api.dto.booking;
+
+import com.travel360.api.model.SeatClass;
+import com.travel360.api.model.WaitlistStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class WaitlistEntryResponse {
+    
+    private Long id;
+    private Long flightId;
+    private String flightNumber;
+    private SeatClass seatClass;
+    private int seatCount;
+    private WaitlistStatus status;
+    // Entries ahead in line, while waiting
+    private Long position;
+    // Seat hold to book from, once promoted
+    private String holdId;
+    private LocalDateTime createdAt;
+    private LocalDateTime promotedAt;
+}
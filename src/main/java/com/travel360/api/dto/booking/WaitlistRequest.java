@@ -0,0 +1,21 @@
+package com.travel360.api.dto.booking;
+
+import com.travel360.api.model.SeatClass;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class WaitlistRequest {
+    
+    @NotNull
+    private Long flightId;
+    
+    @NotNull
+    private SeatClass seatClass;
+    
+    @Min(1)
+    @Max(9)
+    private int seatCount = 1;
+}
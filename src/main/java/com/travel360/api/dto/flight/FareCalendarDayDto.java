@@ -0,0 +1,20 @@
+package com.travel360.api.dto.flight;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class FareCalendarDayDto {
+    
+    private LocalDate date;
+    
+    // Lowest prices for the requested seat class; null when no option exists that day
+    private BigDecimal lowestDirectPrice;
+    private BigDecimal lowestTransitPrice;
+    private BigDecimal lowestPrice;
+    
+    private int directFlightCount;
+    private int transitOptionCount;
+}
@@ -0,0 +1,40 @@
+package com.travel360.api.dto.flight;
+
+import com.travel360.api.model.SeatClass;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class FareCalendarRequest {
+    
+    @NotNull
+    private Long originAirportId;
+    
+    @NotNull
+    private Long destinationAirportId;
+    
+    // Centre of the date window
+    @NotNull
+    private LocalDate departureDate;
+    
+    // Number of days searched on each side of departureDate
+    @Min(0)
+    @Max(7)
+    private int flexDays = 3;
+    
+    @NotNull
+    private SeatClass seatClass;
+    
+    private boolean includeTransits = true;
+    
+    @Min(1)
+    private int passengerCount = 1;
+    
+    @Min(1)
+    @Max(3)
+    private int maxStops = 1;
+}
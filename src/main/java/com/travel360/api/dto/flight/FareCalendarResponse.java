@@ -0,0 +1,26 @@
+package com.travel360.api.dto.flight;
+
+import com.travel360.api.model.SeatClass;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class FareCalendarResponse {
+    
+    private Long originAirportId;
+    private Long destinationAirportId;
+    private SeatClass seatClass;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<FareCalendarDayDto> days;
+    
+    // Cheapest day in the window, if any option was found
+    private LocalDate cheapestDate;
+    private BigDecimal cheapestPrice;
+    
+    // True when the transit search stopped early (deadline or per-airport cap), so some transit fares may be missing
+    private boolean partialResults;
+}
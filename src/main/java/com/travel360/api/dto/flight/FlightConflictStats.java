@@ -0,0 +1,36 @@
+package com.travel360.api.dto.flight;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightConflictStats {
+    
+    private int maxAttempts;
+    private List<OperationStats> operations;
+    private List<FlightConflicts> hottestFlights;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OperationStats {
+        private String operation;
+        private long executions;
+        private long conflicts;
+        private long retries;
+        private long exhausted;
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FlightConflicts {
+        private Long flightId;
+        private long conflicts;
+    }
+}
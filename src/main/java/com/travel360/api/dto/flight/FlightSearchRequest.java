@@ -1,6 +1,8 @@
 package com.travel360.api.dto.flight;
 
 import com.travel360.api.model.SeatClass;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
@@ -18,10 +20,33 @@ public class FlightSearchRequest {
     @NotNull
     private LocalDate departureDate;
     
+    // When set, every airport within this many kilometres of the origin/destination is searched as well
+    @Min(0)
+    @Max(500)
+    private Integer originRadiusKm;
+    
+    @Min(0)
+    @Max(500)
+    private Integer destinationRadiusKm;
+    
     @NotNull
     private SeatClass seatClass;
     
     private boolean includeTransits = true;
     
+    @Min(1)
     private int passengerCount = 1;
+    
+    // Maximum number of intermediate stops for transit itineraries
+    @Min(1)
+    @Max(3)
+    private int maxStops = 1;
+    
+    // Ordering of ranked results; only applied when pageSize is set
+    private SearchSortOption sortBy = SearchSortOption.PRICE;
+    
+    // When set, only the best results are kept and returned pageSize at a time with a continuation cursor
+    @Min(1)
+    @Max(100)
+    private Integer pageSize;
 } 
\ No newline at end of file
@@ -13,6 +13,13 @@ public class FlightSearchResponse {
     private int totalTransitFlights;
     private String searchSummary;
     
+    // True when the search deadline was reached before all transit options were found
+    private boolean partialResults;
+    
+    // Set for ranked searches: total ranked results available and the cursor for the next page, if any
+    private Integer totalResults;
+    private String nextCursor;
+    
     public FlightSearchResponse() {
         this.directFlights = List.of();
         this.transitFlights = List.of();
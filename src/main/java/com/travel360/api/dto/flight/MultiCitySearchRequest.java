@@ -0,0 +1,39 @@
+package com.travel360.api.dto.flight;
+
+import com.travel360.api.model.SeatClass;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MultiCitySearchRequest {
+    
+    // Trip segments in travel order; a round trip is two segments
+    @NotEmpty
+    @Size(max = 6)
+    @Valid
+    private List<TripSegmentRequest> segments;
+    
+    @NotNull
+    private SeatClass seatClass;
+    
+    private boolean includeTransits = true;
+    
+    @Min(1)
+    private int passengerCount = 1;
+    
+    @Min(1)
+    @Max(3)
+    private int maxStops = 1;
+    
+    // Number of cheapest combined itineraries to return
+    @Min(1)
+    @Max(50)
+    private int maxResults = 20;
+}
@@ -0,0 +1,20 @@
+package com.travel360.api.dto.flight;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MultiCitySearchResponse {
+    
+    private List<TripItineraryDto> itineraries;
+    private int totalItineraries;
+    
+    // Options found per requested segment, before combining
+    private List<Integer> segmentOptionCounts;
+    
+    private String searchSummary;
+    
+    // True when a segment search reached the search deadline before all transit options were found
+    private boolean partialResults;
+}
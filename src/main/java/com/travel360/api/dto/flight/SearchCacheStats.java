@@ -0,0 +1,21 @@
+package com.travel360.api.dto.flight;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchCacheStats {
+    
+    private int size;
+    private int maxEntries;
+    private long ttlSeconds;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+    private double hitRatio;
+}
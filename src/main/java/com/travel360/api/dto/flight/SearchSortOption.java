@@ -0,0 +1,8 @@
+package com.travel360.api.dto.flight;
+
+public enum SearchSortOption {
+    PRICE,
+    DURATION,
+    DEPARTURE_TIME,
+    STOPS
+}
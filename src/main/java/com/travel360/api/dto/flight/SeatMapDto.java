@@ -0,0 +1,24 @@
+package com.travel360.api.dto.flight;
+
+import com.travel360.api.model.SeatClass;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SeatMapDto {
+    
+    private Long flightId;
+    private String flightNumber;
+    private List<CabinDto> cabins;
+    
+    @Data
+    public static class CabinDto {
+        private SeatClass seatClass;
+        private int firstRow;
+        private int lastRow;
+        private int seatsPerRow;
+        private int capacity;
+        private List<String> availableSeats;
+    }
+}
@@ -0,0 +1,17 @@
+package com.travel360.api.dto.flight;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class TripItineraryDto {
+    
+    // One journey per requested segment, in travel order; direct flights have no stops
+    private List<TransitFlightDto> segments;
+    
+    private BigDecimal totalPrice;
+    private int totalFlightCount;
+    private int totalDurationMinutes; // Sum of segment durations, excluding time between segments
+}
@@ -0,0 +1,19 @@
+package com.travel360.api.dto.flight;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class TripSegmentRequest {
+    
+    @NotNull
+    private Long originAirportId;
+    
+    @NotNull
+    private Long destinationAirportId;
+    
+    @NotNull
+    private LocalDate departureDate;
+}
@@ -0,0 +1,32 @@
+package com.travel360.api.event;
+
+import com.travel360.api.model.Airport;
+
+/**
+ * Published whenever an airport is created, modified or removed so that cached
+ * airport reference data can be refreshed.
+ *
+ * @param airportId  id of the affected airport
+ * @param airport    the airport state after the change, or {@code null} when it was deleted
+ * @param changeType what kind of change happened
+ */
+public record AirportChangedEvent(Long airportId, Airport airport, ChangeType changeType) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static AirportChangedEvent created(Airport airport) {
+        return new AirportChangedEvent(airport.getId(), airport, ChangeType.CREATED);
+    }
+
+    public static AirportChangedEvent updated(Airport airport) {
+        return new AirportChangedEvent(airport.getId(), airport, ChangeType.UPDATED);
+    }
+
+    public static AirportChangedEvent deleted(Long airportId) {
+        return new AirportChangedEvent(airportId, null, ChangeType.DELETED);
+    }
+}
@@ -0,0 +1,42 @@
+package com.travel360.api.event;
+
+import com.travel360.api.model.Flight;
+
+/**
+ * Published whenever a flight is created, modified or removed so that in-memory
+ * search structures can be kept in sync with the database.
+ *
+ * @param flightId   id of the affected flight
+ * @param flight     the flight state after the change, or {@code null} when it was deleted
+ * @param changeType what kind of change happened
+ */
+public record FlightChangedEvent(Long flightId, Flight flight, ChangeType changeType) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        SEATS_CHANGED,
+        DELETED
+    }
+
+    public static FlightChangedEvent created(Flight flight) {
+        return new FlightChangedEvent(flight.getId(), flight, ChangeType.CREATED);
+    }
+
+    public static FlightChangedEvent updated(Flight flight) {
+        return new FlightChangedEvent(flight.getId(), flight, ChangeType.UPDATED);
+    }
+
+    public static FlightChangedEvent statusChanged(Flight flight) {
+        return new FlightChangedEvent(flight.getId(), flight, ChangeType.STATUS_CHANGED);
+    }
+
+    public static FlightChangedEvent seatsChanged(Flight flight) {
+        return new FlightChangedEvent(flight.getId(), flight, ChangeType.SEATS_CHANGED);
+    }
+
+    public static FlightChangedEvent deleted(Long flightId) {
+        return new FlightChangedEvent(flightId, null, ChangeType.DELETED);
+    }
+}
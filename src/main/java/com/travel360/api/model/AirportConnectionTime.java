@@ -0,0 +1,39 @@
+package com.travel360.api.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "airport_connection_times")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AirportConnectionTime extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "airport_id", nullable = false)
+    private Airport airport;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "connection_type", nullable = false)
+    private ConnectionType connectionType = ConnectionType.ALL;
+
+    @Min(0)
+    @Column(name = "min_connection_minutes", nullable = false)
+    private int minConnectionMinutes;
+
+    @Min(1)
+    @Column(name = "max_connection_minutes", nullable = false)
+    private int maxConnectionMinutes;
+}
@@ -10,7 +10,6 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 @Entity
 @Table(name = "bookings")
@@ -21,7 +20,8 @@ import java.util.UUID;
 public class Booking extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "booking_reference", nullable = false, unique = true)
@@ -54,11 +54,9 @@ public class Booking extends BaseEntity {
     @JoinColumn(name = "created_by")
     private User createdBy;
 
+    // The booking reference is assigned by BookingReferenceGenerator before the booking is saved
     @PrePersist
     public void prePersist() {
-        if (bookingReference == null) {
-            bookingReference = generateBookingReference();
-        }
         if (bookingDate == null) {
             bookingDate = LocalDateTime.now();
         }
@@ -67,10 +65,6 @@ public class Booking extends BaseEntity {
         }
     }
 
-    private String generateBookingReference() {
-        return "B" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-    }
-
     public void addBookingDetail(BookingDetail bookingDetail) {
         bookingDetails.add(bookingDetail);
         bookingDetail.setBooking(this);
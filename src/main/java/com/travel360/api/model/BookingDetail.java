@@ -17,7 +17,8 @@ import java.math.BigDecimal;
 public class BookingDetail extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_details_seq")
+    @SequenceGenerator(name = "booking_details_seq", sequenceName = "booking_details_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -0,0 +1,69 @@
+package com.travel360.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized copy of a booking for booking lists, kept in step with the booking by BookingServiceImpl.
+ */
+@Entity
+@Table(name = "booking_summaries")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSummary {
+
+    @Id
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    // Shares the booking's id, so the summary is always inserted after its booking
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id")
+    private Booking booking;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "booking_reference", nullable = false)
+    private String bookingReference;
+
+    @Column(name = "booking_date", nullable = false)
+    private LocalDateTime bookingDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private BookingStatus status;
+
+    @Column(name = "total_amount", nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(name = "passenger_count", nullable = false)
+    private int passengerCount;
+
+    @Column(name = "first_departure_time")
+    private LocalDateTime firstDepartureTime;
+
+    @Column(name = "last_arrival_time")
+    private LocalDateTime lastArrivalTime;
+
+    @Column(name = "origin_airport_code", length = 3)
+    private String originAirportCode;
+
+    @Column(name = "destination_airport_code", length = 3)
+    private String destinationAirportCode;
+
+    @Column(name = "flight_numbers", columnDefinition = "TEXT")
+    private String flightNumbers;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,7 @@
+package com.travel360.api.model;
+
+public enum ConnectionType {
+    ALL,
+    DOMESTIC,
+    INTERNATIONAL
+}
@@ -74,6 +74,11 @@ public class Flight extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private FlightStatus status = FlightStatus.SCHEDULED;
 
+    // Optimistic lock: the bulk seat updates in FlightRepository increment it as well
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public boolean hasAvailableSeats(SeatClass seatClass) {
         return switch (seatClass) {
             case FIRST_CLASS -> firstClassAvailableSeats > 0;
@@ -82,6 +87,22 @@ public class Flight extends BaseEntity {
         };
     }
 
+    public boolean hasAvailableSeats(SeatClass seatClass, int passengerCount) {
+        return getAvailableSeats(seatClass) >= passengerCount;
+    }
+
+    public int getAvailableSeats(SeatClass seatClass) {
+        return switch (seatClass) {
+            case FIRST_CLASS -> firstClassAvailableSeats;
+            case BUSINESS_CLASS -> businessClassAvailableSeats;
+            case ECONOMY_CLASS -> economyClassAvailableSeats;
+        };
+    }
+
+    /**
+     * In-memory only and not safe under concurrent bookings; seats are taken through
+     * {@code SeatInventory}, which decrements them in the database.
+     */
     public void decrementAvailableSeats(SeatClass seatClass) {
         switch (seatClass) {
             case FIRST_CLASS -> firstClassAvailableSeats--;
@@ -0,0 +1,6 @@
+package com.travel360.api.model;
+
+public enum IdempotencyKeyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -0,0 +1,57 @@
+package com.travel360.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Entity
+@Table(name = "seat_holds")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHold extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "hold_id", nullable = false, unique = true, length = 36)
+    private String holdId;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private SeatHoldStatus status;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @OneToMany(mappedBy = "seatHold", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<SeatHoldItem> items = new ArrayList<>();
+
+    @PrePersist
+    public void prePersist() {
+        if (holdId == null) {
+            holdId = UUID.randomUUID().toString();
+        }
+        if (status == null) {
+            status = SeatHoldStatus.ACTIVE;
+        }
+    }
+
+    public void addItem(SeatHoldItem item) {
+        items.add(item);
+        item.setSeatHold(this);
+    }
+}
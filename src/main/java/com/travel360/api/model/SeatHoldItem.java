@@ -0,0 +1,37 @@
+package com.travel360.api.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "seat_hold_items")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHoldItem extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "seat_hold_id", nullable = false)
+    private SeatHold seatHold;
+
+    @ManyToOne
+    @JoinColumn(name = "flight_id", nullable = false)
+    private Flight flight;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "seat_class", nullable = false)
+    private SeatClass seatClass;
+
+    @Min(1)
+    @Column(name = "seat_count", nullable = false)
+    private int seatCount;
+}
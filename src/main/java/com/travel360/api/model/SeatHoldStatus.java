@@ -0,0 +1,8 @@
+package com.travel360.api.model;
+
+public enum SeatHoldStatus {
+    ACTIVE,
+    CONVERTED,
+    RELEASED,
+    EXPIRED
+}
@@ -0,0 +1,15 @@
+package com.travel360.api.repository;
+
+import com.travel360.api.model.AirportConnectionTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AirportConnectionTimeRepository extends JpaRepository<AirportConnectionTime, Long> {
+    
+    @Query("SELECT c FROM AirportConnectionTime c JOIN FETCH c.airport WHERE c.active = true")
+    List<AirportConnectionTime> findAllActive();
+}
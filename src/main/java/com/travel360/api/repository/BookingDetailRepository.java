@@ -0,0 +1,35 @@
+package com.travel360.api.repository;
+
+import com.travel360.api.model.BookingDetail;
+import com.travel360.api.repository.projection.SeatAssignment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BookingDetailRepository extends JpaRepository<BookingDetail, Long> {
+    
+    // Seats held by bookings that are not cancelled; uses uq_booking_details_flight_seat
+    @Query("SELECT new com.travel360.api.repository.projection.SeatAssignment(bd.flight.id, bd.seatClass, bd.seatNumber) " +
+           "FROM BookingDetail bd WHERE bd.flight.id = :flightId AND bd.seatNumber IS NOT NULL " +
+           "AND bd.active = true")
+    List<SeatAssignment> findSeatAssignments(@Param("flightId") Long flightId);
+    
+    @Query("SELECT new com.travel360.api.repository.projection.SeatAssignment(bd.flight.id, bd.seatClass, bd.seatNumber) " +
+           "FROM BookingDetail bd WHERE bd.flight.departureTime > :after AND bd.seatNumber IS NOT NULL " +
+           "AND bd.active = true")
+    List<SeatAssignment> findSeatAssignmentsDepartingAfter(@Param("after") LocalDateTime after);
+    
+    /**
+     * Gives back the seats of a cancelled booking: inactive details are outside
+     * {@code uq_booking_details_flight_seat}, so their seat numbers can be assigned again.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BookingDetail bd SET bd.active = false, bd.updatedAt = :now WHERE bd.booking.id = :bookingId")
+    int releaseSeats(@Param("bookingId") Long bookingId, @Param("now") LocalDateTime now);
+}
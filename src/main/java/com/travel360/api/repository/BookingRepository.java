@@ -1,13 +1,16 @@
 package com.travel360.api.repository;
 
 import com.travel360.api.model.Booking;
+import com.travel360.api.model.BookingStatus;
 import com.travel360.api.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +21,10 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     
     List<Booking> findByUser(User user);
     
+    // Bookings with their details in one query, in no particular order
+    @Query("SELECT DISTINCT b FROM Booking b LEFT JOIN FETCH b.bookingDetails WHERE b.id IN :ids")
+    List<Booking> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+    
     @Query("SELECT b FROM Booking b WHERE b.bookingDate BETWEEN :startDate AND :endDate")
     List<Booking> findByBookingDateBetween(
             @Param("startDate") LocalDateTime startDate,
@@ -26,6 +33,24 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT b FROM Booking b JOIN b.bookingDetails bd WHERE bd.flight.id = :flightId")
     List<Booking> findByFlightId(@Param("flightId") Long flightId);
     
+    /**
+     * Cancels a booking that is pending or confirmed. Returns 1 for the one caller that wins the transition,
+     * so concurrent cancellations release the seats only once.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = com.travel360.api.model.BookingStatus.CANCELLED, b.updatedAt = :now " +
+           "WHERE b.id = :id AND b.status IN ('PENDING', 'CONFIRMED')")
+    int cancelBooking(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    /**
+     * Moves a booking that is not cancelled to {@code status}. Cancelled bookings have given their seats
+     * back, so they are never reopened; use {@link #cancelBooking} to cancel.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status, b.updatedAt = :now " +
+           "WHERE b.id = :id AND b.status <> com.travel360.api.model.BookingStatus.CANCELLED")
+    int updateStatus(@Param("id") Long id, @Param("status") BookingStatus status, @Param("now") LocalDateTime now);
+    
     @Query("SELECT DISTINCT b FROM Booking b JOIN b.bookingDetails bd " +
            "WHERE bd.passengerName LIKE %:passengerName% OR b.user.firstName LIKE %:passengerName%")
     List<Booking> findByPassengerNameOrUserName(@Param("passengerName") String passengerName);
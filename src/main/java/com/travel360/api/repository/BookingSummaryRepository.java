@@ -0,0 +1,37 @@
+package com.travel360.api.repository;
+
+import com.travel360.api.model.BookingStatus;
+import com.travel360.api.model.BookingSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BookingSummaryRepository extends JpaRepository<BookingSummary, Long> {
+    
+    // First page of a customer's bookings, newest first; uses idx_booking_summaries_user_date
+    @Query("SELECT s FROM BookingSummary s WHERE s.userId = :userId " +
+           "ORDER BY s.bookingDate DESC, s.bookingId DESC")
+    List<BookingSummary> findFirstPage(@Param("userId") Long userId, Pageable pageable);
+    
+    // Bookings after the keyset (bookingDate, bookingId) of the last row of the previous page
+    @Query("SELECT s FROM BookingSummary s WHERE s.userId = :userId " +
+           "AND (s.bookingDate < :bookingDate OR (s.bookingDate = :bookingDate AND s.bookingId < :bookingId)) " +
+           "ORDER BY s.bookingDate DESC, s.bookingId DESC")
+    List<BookingSummary> findPageAfter(@Param("userId") Long userId,
+                                       @Param("bookingDate") LocalDateTime bookingDate,
+                                       @Param("bookingId") Long bookingId,
+                                       Pageable pageable);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BookingSummary s SET s.status = :status, s.updatedAt = :now WHERE s.bookingId = :bookingId")
+    int updateStatus(@Param("bookingId") Long bookingId,
+                     @Param("status") BookingStatus status,
+                     @Param("now") LocalDateTime now);
+}
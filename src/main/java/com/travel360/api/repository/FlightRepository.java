@@ -4,9 +4,13 @@ import com.travel360.api.model.Airplane;
 import com.travel360.api.model.Airport;
 import com.travel360.api.model.Flight;
 import com.travel360.api.model.FlightStatus;
+import com.travel360.api.repository.projection.FlightConnection;
+import com.travel360.api.repository.projection.FlightRoute;
+import com.travel360.api.repository.projection.FlightView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -18,6 +22,18 @@ import java.util.Optional;
 @Repository
 public interface FlightRepository extends JpaRepository<Flight, Long> {
     
+    String SEARCH_CRITERIA_FILTER =
+           "(:search IS NULL OR :search = '' OR " +
+           "LOWER(f.flightNumber) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(o.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(o.city) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(d.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(d.city) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(a.model) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
+           "(:status IS NULL OR f.status = :status) AND " +
+           "(:originAirportId IS NULL OR o.id = :originAirportId) AND " +
+           "(:destinationAirportId IS NULL OR d.id = :destinationAirportId)";
+    
     Optional<Flight> findByFlightNumber(String flightNumber);
     
     List<Flight> findByOriginAirportAndDestinationAirportAndDepartureTimeGreaterThanEqual(
@@ -47,6 +63,79 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
             @Param("destinationId") Long destinationId,
             @Param("departureTime") LocalDateTime departureTime);
     
+    /**
+     * Finds every two-leg connection between two airports in a single query by joining
+     * flights on {@code destination_airport_id = origin_airport_id}. The layover must be strictly
+     * longer than {@code minConnectionMinutes} and shorter than {@code maxConnectionMinutes}, and both
+     * legs must have at least the given number of seats free in each class.
+     */
+    @Query("SELECT new com.travel360.api.repository.projection.FlightConnection(f1, f2) " +
+           "FROM Flight f1 JOIN Flight f2 ON f2.originAirport.id = f1.destinationAirport.id " +
+           "WHERE f1.originAirport.id = :originId " +
+           "AND f1.destinationAirport.id <> :destinationId " +
+           "AND f2.destinationAirport.id = :destinationId " +
+           "AND f1.departureTime >= :departureFrom AND f1.departureTime < :departureTo " +
+           "AND (f2.departureTime - f1.arrivalTime) by minute > :minConnectionMinutes " +
+           "AND (f2.departureTime - f1.arrivalTime) by minute < :maxConnectionMinutes " +
+           "AND f1.status IN ('SCHEDULED', 'BOARDING', 'DELAYED') " +
+           "AND f2.status IN ('SCHEDULED', 'BOARDING', 'DELAYED') " +
+           "AND f1.firstClassAvailableSeats >= :minFirstClassSeats " +
+           "AND f1.businessClassAvailableSeats >= :minBusinessClassSeats " +
+           "AND f1.economyClassAvailableSeats >= :minEconomyClassSeats " +
+           "AND f2.firstClassAvailableSeats >= :minFirstClassSeats " +
+           "AND f2.businessClassAvailableSeats >= :minBusinessClassSeats " +
+           "AND f2.economyClassAvailableSeats >= :minEconomyClassSeats " +
+           "ORDER BY f1.departureTime, f2.departureTime")
+    List<FlightConnection> findTwoLegConnections(
+            @Param("originId") Long originId,
+            @Param("destinationId") Long destinationId,
+            @Param("departureFrom") LocalDateTime departureFrom,
+            @Param("departureTo") LocalDateTime departureTo,
+            @Param("minConnectionMinutes") long minConnectionMinutes,
+            @Param("maxConnectionMinutes") long maxConnectionMinutes,
+            @Param("minFirstClassSeats") int minFirstClassSeats,
+            @Param("minBusinessClassSeats") int minBusinessClassSeats,
+            @Param("minEconomyClassSeats") int minEconomyClassSeats);
+    
+    @Query("SELECT f FROM Flight f " +
+           "JOIN FETCH f.airplane " +
+           "JOIN FETCH f.originAirport " +
+           "JOIN FETCH f.destinationAirport " +
+           "WHERE f.status IN ('SCHEDULED', 'BOARDING', 'DELAYED')")
+    List<Flight> findSearchableFlights();
+    
+    /**
+     * Projection variant of {@link #findAvailableDirectFlights} that reads only the columns search results need.
+     */
+    @Query(FlightView.SELECT +
+           "WHERE o.id = :originId " +
+           "AND (:destinationId IS NULL OR d.id = :destinationId) " +
+           "AND f.departureTime >= :departureTime " +
+           "AND f.status IN ('SCHEDULED', 'BOARDING', 'DELAYED')")
+    List<FlightView> findAvailableDirectFlightViews(
+            @Param("originId") Long originId,
+            @Param("destinationId") Long destinationId,
+            @Param("departureTime") LocalDateTime departureTime);
+    
+    @Query(FlightView.SELECT)
+    List<FlightView> findAllFlightViews();
+    
+    /**
+     * Projection variant of {@link #findBySearchCriteria} for the paged flight listing.
+     */
+    @Query(value = FlightView.SELECT + "WHERE " + SEARCH_CRITERIA_FILTER,
+           countQuery = "SELECT COUNT(f) FROM Flight f JOIN f.airplane a JOIN f.originAirport o JOIN f.destinationAirport d " +
+                        "WHERE " + SEARCH_CRITERIA_FILTER)
+    Page<FlightView> findViewsBySearchCriteria(Pageable pageable,
+                                             @Param("search") String search,
+                                             @Param("status") FlightStatus status,
+                                             @Param("originAirportId") Long originAirportId,
+                                             @Param("destinationAirportId") Long destinationAirportId);
+    
+    @Query("SELECT new com.travel360.api.repository.projection.FlightRoute(f.id, f.originAirport.id, f.destinationAirport.id) " +
+           "FROM Flight f WHERE f.status IN ('SCHEDULED', 'BOARDING', 'DELAYED')")
+    List<FlightRoute> findSearchableRoutes();
+
     @Query("SELECT f FROM Flight f WHERE f.status = :status")
     List<Flight> findByStatus(@Param("status") FlightStatus status);
     
@@ -66,4 +155,40 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
                                      @Param("status") FlightStatus status,
                                      @Param("originAirportId") Long originAirportId,
                                      @Param("destinationAirportId") Long destinationAirportId);
+    
+    // Conditional seat decrements: each returns 1 if the seats were taken, 0 if fewer than :seats remain.
+    // The persistence context is cleared afterwards so reads in the same transaction see the new counts.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Flight f SET f.firstClassAvailableSeats = f.firstClassAvailableSeats - :seats, f.version = f.version + 1 " +
+           "WHERE f.id = :flightId AND f.firstClassAvailableSeats >= :seats")
+    int reserveFirstClassSeats(@Param("flightId") Long flightId, @Param("seats") int seats);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Flight f SET f.businessClassAvailableSeats = f.businessClassAvailableSeats - :seats, f.version = f.version + 1 " +
+           "WHERE f.id = :flightId AND f.businessClassAvailableSeats >= :seats")
+    int reserveBusinessClassSeats(@Param("flightId") Long flightId, @Param("seats") int seats);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Flight f SET f.economyClassAvailableSeats = f.economyClassAvailableSeats - :seats, f.version = f.version + 1 " +
+           "WHERE f.id = :flightId AND f.economyClassAvailableSeats >= :seats")
+    int reserveEconomyClassSeats(@Param("flightId") Long flightId, @Param("seats") int seats);
+    
+    // Conditional seat increments: never raise availability above the airplane's capacity for the class    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Flight f SET f.firstClassAvailableSeats = f.firstClassAvailableSeats + :seats, f.version = f.version + 1 " +
+           "WHERE f.id = :flightId AND f.firstClassAvailableSeats + :seats <= " +
+           "(SELECT a.firstClassCapacity FROM Airplane a WHERE a = f.airplane)")
+    int releaseFirstClassSeats(@Param("flightId") Long flightId, @Param("seats") int seats);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Flight f SET f.businessClassAvailableSeats = f.businessClassAvailableSeats + :seats, f.version = f.version + 1 " +
+           "WHERE f.id = :flightId AND f.businessClassAvailableSeats + :seats <= " +
+           "(SELECT a.businessClassCapacity FROM Airplane a WHERE a = f.airplane)")
+    int releaseBusinessClassSeats(@Param("flightId") Long flightId, @Param("seats") int seats);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Flight f SET f.economyClassAvailableSeats = f.economyClassAvailableSeats + :seats, f.version = f.version + 1 " +
+           "WHERE f.id = :flightId AND f.economyClassAvailableSeats + :seats <= " +
+           "(SELECT a.economyClassCapacity FROM Airplane a WHERE a = f.airplane)")
+    int releaseEconomyClassSeats(@Param("flightId") Long flightId, @Param("seats") int seats);
 } 
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.travel360.api.repository;
+
+import com.travel360.api.model.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Long> {
+    
+    Optional<IdempotencyKey> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+    
+    /**
+     * Completes a claim that is still in progress. Returns 0 if the claim is gone, e.g. because it was
+     * given up as abandoned and taken over by another request.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE IdempotencyKey k SET k.status = com.travel360.api.model.IdempotencyKeyStatus.COMPLETED, " +
+           "k.responseBody = :responseBody, k.updatedAt = :now " +
+           "WHERE k.id = :id AND k.status = com.travel360.api.model.IdempotencyKeyStatus.IN_PROGRESS")
+    int complete(@Param("id") Long id, @Param("responseBody") String responseBody, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
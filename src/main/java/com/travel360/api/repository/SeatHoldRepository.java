@@ -0,0 +1,48 @@
+package com.travel360.api.repository;
+
+import com.travel360.api.model.SeatHold;
+import com.travel360.api.model.SeatHoldStatus;
+import com.travel360.api.repository.projection.HoldExpiry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SeatHoldRepository extends JpaRepository<SeatHold, Long> {
+    
+    Optional<SeatHold> findByHoldId(String holdId);
+    
+    @Query("SELECT new com.travel360.api.repository.projection.HoldExpiry(h.holdId, h.expiresAt) " +
+           "FROM SeatHold h WHERE h.status = 'ACTIVE'")
+    List<HoldExpiry> findActiveExpiries();
+    
+    @Query("SELECT COUNT(h) FROM SeatHold h WHERE h.user.id = :userId AND h.status = 'ACTIVE' AND h.expiresAt > :now")
+    long countActiveHolds(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT COALESCE(SUM(i.seatCount), 0) FROM SeatHoldItem i " +
+           "WHERE i.seatHold.user.id = :userId AND i.seatHold.status = 'ACTIVE' AND i.seatHold.expiresAt > :now")
+    long countActiveHeldSeats(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+    
+    /**
+     * Moves an active hold to {@code status}. Returns 1 for the one caller that wins the transition,
+     * 0 if the hold is no longer active or does not satisfy the expiry bound.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SeatHold h SET h.status = :status, h.updatedAt = :now " +
+           "WHERE h.holdId = :holdId AND h.status = 'ACTIVE' AND h.expiresAt > :notExpiredAt")
+    int transitionActiveHold(@Param("holdId") String holdId,
+                             @Param("status") SeatHoldStatus status,
+                             @Param("notExpiredAt") LocalDateTime notExpiredAt,
+                             @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SeatHold h SET h.status = com.travel360.api.model.SeatHoldStatus.EXPIRED, h.updatedAt = :now " +
+           "WHERE h.holdId = :holdId AND h.status = 'ACTIVE' AND h.expiresAt <= :now")
+    int expireHold(@Param("holdId") String holdId, @Param("now") LocalDateTime now);
+}
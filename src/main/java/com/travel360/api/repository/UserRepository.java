@@ -1,9 +1,11 @@
 package com.travel360.api.repository;
 
 import com.travel360.api.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
@@ -16,6 +18,11 @@ public interface UserRepository extends JpaRepository<User, Long>, PagingAndSort
     
     Optional<User> findByUsername(String username);
     
+    // Row lock that serializes one user's writes which must be checked against their other rows, e.g. hold limits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> lockById(@Param("id") Long id);
+    
     Optional<User> findByEmail(String email);
     
     boolean existsByUsername(String username);
@@ -0,0 +1,53 @@
+package com.travel360.api.repository;
+
+import com.travel360.api.model.SeatClass;
+import com.travel360.api.model.WaitlistEntry;
+import com.travel360.api.model.WaitlistStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+    
+    List<WaitlistEntry> findByUserIdOrderByCreatedAtDesc(Long userId);
+    
+    // Head of the line for one flight and class; uses idx_waitlist_entries_line
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.flight.id = :flightId AND w.seatClass = :seatClass " +
+           "AND w.status = 'WAITING' ORDER BY w.createdAt, w.id")
+    List<WaitlistEntry> findWaiting(@Param("flightId") Long flightId,
+                                    @Param("seatClass") SeatClass seatClass,
+                                    Pageable pageable);
+    
+    @Query("SELECT DISTINCT w.flight.id FROM WaitlistEntry w WHERE w.status = 'WAITING'")
+    List<Long> findFlightIdsWithWaiting();
+    
+    @Query("SELECT DISTINCT w.seatClass FROM WaitlistEntry w WHERE w.flight.id = :flightId AND w.status = 'WAITING'")
+    List<SeatClass> findWaitingSeatClasses(@Param("flightId") Long flightId);
+    
+    @Query("SELECT COUNT(w) FROM WaitlistEntry w WHERE w.flight.id = :flightId AND w.seatClass = :seatClass " +
+           "AND w.status = 'WAITING' AND (w.createdAt < :createdAt OR (w.createdAt = :createdAt AND w.id < :id))")
+    long countAhead(@Param("flightId") Long flightId,
+                    @Param("seatClass") SeatClass seatClass,
+                    @Param("createdAt") LocalDateTime createdAt,
+                    @Param("id") Long id);
+    
+    /**
+     * Moves a waiting entry to {@code status}. Returns 1 for the one caller that wins the transition.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WaitlistEntry w SET w.status = :status, w.updatedAt = :now " +
+           "WHERE w.id = :id AND w.status = 'WAITING'")
+    int transitionWaiting(@Param("id") Long id,
+                          @Param("status") WaitlistStatus status,
+                          @Param("now") LocalDateTime now);
+    
+    boolean existsByUserIdAndFlightIdAndSeatClassAndStatus(Long userId, Long flightId, SeatClass seatClass,
+                                                           WaitlistStatus status);
+}
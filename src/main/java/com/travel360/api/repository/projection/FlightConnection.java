@@ -0,0 +1,8 @@
+package com.travel360.api.repository.projection;
+
+import com.travel360.api.model.Flight;
+
+/**
+ * A pair of flights where the second leg departs from the airport the first leg arrives at.
+ */
+public record FlightConnection(Flight firstLeg, Flight secondLeg) {}
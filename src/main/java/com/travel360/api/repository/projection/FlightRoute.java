@@ -0,0 +1,6 @@
+package com.travel360.api.repository.projection;
+
+/**
+ * The airports a flight connects, without loading the flight itself.
+ */
+public record FlightRoute(Long flightId, Long originAirportId, Long destinationAirportId) {}
@@ -0,0 +1,78 @@
+package com.travel360.api.repository.projection;
+
+import com.travel360.api.model.FlightStatus;
+import com.travel360.api.model.SeatClass;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only flight row with its airplane and airport columns flattened in, selected with a single
+ * joined constructor expression so listing and search results are built without managed entities.
+ */
+public record FlightView(
+        Long id,
+        String flightNumber,
+        LocalDateTime departureTime,
+        LocalDateTime arrivalTime,
+        BigDecimal firstClassPrice,
+        BigDecimal businessClassPrice,
+        BigDecimal economyClassPrice,
+        int firstClassAvailableSeats,
+        int businessClassAvailableSeats,
+        int economyClassAvailableSeats,
+        FlightStatus status,
+        int distanceKm,
+        String airplaneModel,
+        String airplaneRegistration,
+        Long originAirportId,
+        String originCode,
+        String originName,
+        String originCity,
+        String originCountry,
+        double originLatitude,
+        double originLongitude,
+        String originTimeZone,
+        Long destinationAirportId,
+        String destinationCode,
+        String destinationName,
+        String destinationCity,
+        String destinationCountry,
+        double destinationLatitude,
+        double destinationLongitude,
+        String destinationTimeZone
+) {
+
+    /**
+     * Select list and joins matching the constructor above; queries append their own WHERE clause.
+     */
+    public static final String SELECT =
+            "SELECT new com.travel360.api.repository.projection.FlightView(" +
+            "f.id, f.flightNumber, f.departureTime, f.arrivalTime, " +
+            "f.firstClassPrice, f.businessClassPrice, f.economyClassPrice, " +
+            "f.firstClassAvailableSeats, f.businessClassAvailableSeats, f.economyClassAvailableSeats, " +
+            "f.status, f.distanceKm, a.model, a.registrationNumber, " +
+            "o.id, o.code, o.name, o.city, o.country, o.latitude, o.longitude, o.timeZone, " +
+            "d.id, d.code, d.name, d.city, d.country, d.latitude, d.longitude, d.timeZone) " +
+            "FROM Flight f JOIN f.airplane a JOIN f.originAirport o JOIN f.destinationAirport d ";
+
+    public BigDecimal getPriceForClass(SeatClass seatClass) {
+        return switch (seatClass) {
+            case FIRST_CLASS -> firstClassPrice;
+            case BUSINESS_CLASS -> businessClassPrice;
+            case ECONOMY_CLASS -> economyClassPrice;
+        };
+    }
+
+    public int getAvailableSeats(SeatClass seatClass) {
+        return switch (seatClass) {
+            case FIRST_CLASS -> firstClassAvailableSeats;
+            case BUSINESS_CLASS -> businessClassAvailableSeats;
+            case ECONOMY_CLASS -> economyClassAvailableSeats;
+        };
+    }
+
+    public boolean hasAvailableSeats(SeatClass seatClass, int passengerCount) {
+        return getAvailableSeats(seatClass) >= passengerCount;
+    }
+}
@@ -0,0 +1,8 @@
+package com.travel360.api.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * When an active seat hold expires, for seeding the expiry queue.
+ */
+public record HoldExpiry(String holdId, LocalDateTime expiresAt) {}
@@ -0,0 +1,8 @@
+package com.travel360.api.repository.projection;
+
+import com.travel360.api.model.SeatClass;
+
+/**
+ * A seat taken by a booking detail, for rebuilding flight seat maps.
+ */
+public record SeatAssignment(Long flightId, SeatClass seatClass, String seatNumber) {}
@@ -22,6 +22,11 @@ public interface AirportService {
     
     List<AirportDto> getAirportsByCity(String city);
     
+    /**
+     * Airports within {@code radiusKm} of the given airport, nearest first, including the airport itself.
+     */
+    List<AirportDto> getAirportsNearby(Long airportId, double radiusKm);
+    
     AirportDto createAirport(Airport airport);
     
     AirportDto updateAirport(Long id, Airport airport);
@@ -2,6 +2,9 @@ package com.travel360.api.service;
 
 import com.travel360.api.dto.booking.BookingRequest;
 import com.travel360.api.dto.booking.BookingResponse;
+import com.travel360.api.dto.booking.BookingSummaryPage;
+import com.travel360.api.dto.booking.GroupBookingRequest;
+import com.travel360.api.dto.booking.GroupBookingResponse;
 import com.travel360.api.model.Booking;
 import com.travel360.api.model.BookingStatus;
 import com.travel360.api.model.User;
@@ -12,9 +15,18 @@ import java.util.Optional;
 
 public interface BookingService {
     
-    BookingResponse createBooking(BookingRequest bookingRequest, User user);
+    /**
+     * Creates a booking. A repeated call with the same non-null {@code idempotencyKey} returns the
+     * original booking instead of booking again.
+     */
+    BookingResponse createBooking(BookingRequest bookingRequest, User user, String idempotencyKey);
     
-    BookingResponse createBookingForCustomer(BookingRequest bookingRequest, Long customerId, User operator);
+    BookingResponse createBookingForCustomer(BookingRequest bookingRequest, Long customerId, User operator, String idempotencyKey);
+    
+    /**
+     * Books many passengers at once and reports what happened to each of them.
+     */
+    GroupBookingResponse createGroupBooking(GroupBookingRequest request, User user);
     
     Optional<BookingResponse> getBookingById(Long id);
     
@@ -22,6 +34,13 @@ public interface BookingService {
     
     List<BookingResponse> getBookingsByUser(User user);
     
+    /**
+     * One page of a user's bookings, newest first, read from the booking summaries.
+     *
+     * @param cursor {@code nextCursor} of the previous page, or {@code null} for the first page
+     */
+    BookingSummaryPage getBookingSummaries(User user, String cursor, int size);
+    
     List<BookingResponse> getAllBookings();
     
     List<BookingResponse> getBookingsByDateRange(LocalDateTime startDate, LocalDateTime endDate);
@@ -32,7 +51,10 @@ public interface BookingService {
     
     BookingResponse updateBookingStatus(Long id, BookingStatus status);
     
-    void cancelBooking(Long id);
+    /**
+     * Cancels a booking and gives its seats back. Customers can only cancel their own bookings.
+     */
+    void cancelBooking(Long id, User user);
     
     void deleteBooking(Long id);
     
@@ -1,11 +1,19 @@
 package com.travel360.api.service;
 
+import com.travel360.api.dto.flight.FareCalendarRequest;
+import com.travel360.api.dto.flight.FareCalendarResponse;
+import com.travel360.api.dto.flight.FlightConflictStats;
 import com.travel360.api.dto.flight.FlightDto;
 import com.travel360.api.dto.flight.FlightSearchRequest;
 import com.travel360.api.dto.flight.FlightSearchResponse;
+import com.travel360.api.dto.flight.MultiCitySearchRequest;
+import com.travel360.api.dto.flight.MultiCitySearchResponse;
+import com.travel360.api.dto.flight.SearchCacheStats;
+import com.travel360.api.dto.flight.SeatMapDto;
 import com.travel360.api.model.Airport;
 import com.travel360.api.model.Flight;
 import com.travel360.api.model.FlightStatus;
+import com.travel360.api.service.search.SearchResultListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -35,6 +43,36 @@ public interface FlightService {
     
     FlightSearchResponse searchFlights(FlightSearchRequest request);
     
+    /**
+     * Returns the next page of a ranked search, using the cursor from the previous page.
+     */
+    FlightSearchResponse getSearchResultPage(String cursor);
+    
+    /**
+     * Same search as {@link #searchFlights}, but hands each result to {@code listener} as soon as it is found.
+     */
+    void streamFlights(FlightSearchRequest request, SearchResultListener listener);
+    
+    /**
+     * Searches every segment of a round-trip or multi-city trip against one availability snapshot
+     * and returns the cheapest combined itineraries.
+     */
+    MultiCitySearchResponse searchMultiCity(MultiCitySearchRequest request);
+    
+    FareCalendarResponse getFareCalendar(FareCalendarRequest request);
+    
+    /**
+     * Cabin layout of a flight and the seats still free in each class.
+     */
+    SeatMapDto getSeatMap(Long flightId);
+    
+    SearchCacheStats getSearchCacheStats();
+    
+    /**
+     * Optimistic locking conflicts and retries on flight inventory writes, with the most contended flights.
+     */
+    FlightConflictStats getConflictStats();
+    
     List<FlightDto> getDepartingFlights(Airport airport, LocalDateTime startTime, LocalDateTime endTime);
     
     List<FlightDto> getArrivingFlights(Airport airport, LocalDateTime startTime, LocalDateTime endTime);
@@ -0,0 +1,32 @@
+package com.travel360.api.service;
+
+import com.travel360.api.dto.booking.SeatHoldRequest;
+import com.travel360.api.dto.booking.SeatHoldResponse;
+import com.travel360.api.model.User;
+import com.travel360.api.service.booking.SeatKey;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+public interface SeatHoldService {
+    
+    SeatHoldResponse createHold(SeatHoldRequest request, User user);
+    
+    Optional<SeatHoldResponse> getHold(String holdId, User user);
+    
+    void releaseHold(String holdId, User user);
+    
+    /**
+     * Marks an active hold as converted into a booking and returns the seats it holds. Must run in the
+     * booking's transaction so that a failed booking leaves the hold active.
+     */
+    Map<SeatKey, Integer> convertHold(String holdId, Long customerId, Long createdById);
+    
+    /**
+     * Expires the given holds if they are still active and past their expiry, returning their seats.
+     *
+     * @return the number of holds expired
+     */
+    int expireHolds(Collection<String> holdIds);
+}
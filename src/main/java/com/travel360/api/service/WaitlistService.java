@@ -0,0 +1,24 @@
+package com.travel360.api.service;
+
+import com.travel360.api.dto.booking.WaitlistEntryResponse;
+import com.travel360.api.dto.booking.WaitlistRequest;
+import com.travel360.api.model.SeatClass;
+import com.travel360.api.model.User;
+
+import java.util.List;
+
+public interface WaitlistService {
+    
+    WaitlistEntryResponse joinWaitlist(WaitlistRequest request, User user);
+    
+    List<WaitlistEntryResponse> getWaitlistEntries(User user);
+    
+    void leaveWaitlist(Long id, User user);
+    
+    /**
+     * Promotes the head of the line for one flight and class into a seat hold if enough seats are free.
+     *
+     * @return {@code true} if the head entry was dealt with and the next one may be promoted as well
+     */
+    boolean promoteNext(Long flightId, SeatClass seatClass);
+}
@@ -0,0 +1,82 @@
+package com.travel360.api.service.booking;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unique booking references without a database round trip, a lock or a retry.
+ * <p>
+ * A reference is a 63-bit id made of a 41-bit millisecond timestamp since 2024-01-01, a 10-bit node id
+ * and a 12-bit sequence, encoded as {@code B} followed by 13 Crockford base32 characters (no I, L, O or U,
+ * so references read back over the phone unambiguously). The timestamp and sequence live together in one
+ * {@link AtomicLong} and advance with a single {@code accumulateAndGet}: a new millisecond restarts the
+ * sequence, otherwise it is incremented. When more than 4096 references are taken in one millisecond the
+ * sequence carries into the timestamp, borrowing from the next millisecond instead of waiting for it, and
+ * a clock that steps backwards is ignored the same way. The state therefore only ever grows, so a node
+ * never repeats a reference, and nodes cannot collide as long as each has its own node id.
+ * <p>
+ * A node id derived from the host could repeat on another instance, so none is guessed: startup fails
+ * unless {@code travel360.booking.reference.node-id} is set, or {@code single-node} declares that only one
+ * instance uses the database, in which case node 0 is used.
+ */
+@Component
+public class BookingReferenceGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingReferenceGenerator.class);
+
+    static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char PREFIX = 'B';
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long nodeBits;
+
+    // (milliseconds since EPOCH_MILLIS << SEQUENCE_BITS) | sequence
+    private final AtomicLong state = new AtomicLong();
+
+    public BookingReferenceGenerator(@Value("${travel360.booking.reference.node-id:-1}") int nodeId,
+                                     @Value("${travel360.booking.reference.single-node:false}") boolean singleNode) {
+        if (nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Booking reference node id must be at most " + MAX_NODE_ID + ": " + nodeId);
+        }
+        if (nodeId < 0) {
+            if (!singleNode) {
+                throw new IllegalStateException("travel360.booking.reference.node-id is not set. Give every instance " +
+                        "sharing the database its own node id (0-" + MAX_NODE_ID + "), or set " +
+                        "travel360.booking.reference.single-node=true if only one instance runs");
+            }
+            nodeId = 0;
+            logger.info("Generating booking references as single node {}", nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    public String nextReference() {
+        return encode(nextId());
+    }
+
+    long nextId() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long next = state.accumulateAndGet(now, (previous, current) -> current > previous ? current : previous + 1);
+        return (next & ~SEQUENCE_MASK) << NODE_BITS | nodeBits | (next & SEQUENCE_MASK);
+    }
+
+    static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH + 1];
+        chars[0] = PREFIX;
+        for (int i = ENCODED_LENGTH; i > 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+}
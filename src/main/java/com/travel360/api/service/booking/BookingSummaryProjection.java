@@ -0,0 +1,160 @@
+package com.travel360.api.service.booking;
+
+import com.travel360.api.dto.booking.BookingSummaryDto;
+import com.travel360.api.dto.booking.BookingSummaryPage;
+import com.travel360.api.model.Booking;
+import com.travel360.api.model.BookingDetail;
+import com.travel360.api.model.BookingStatus;
+import com.travel360.api.model.BookingSummary;
+import com.travel360.api.model.Flight;
+import com.travel360.api.repository.BookingSummaryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maintains {@code booking_summaries}, the read model behind a customer's booking list.
+ * <p>
+ * Each booking has one summary row carrying what the list shows: reference, date, status, amount,
+ * passenger count and the route and flights in departure order. Rows are written by the transaction
+ * that creates the booking or changes its status, so the list never shows a booking the database does
+ * not have. Pages are read newest first by keyset: the cursor is the {@code (bookingDate, id)} of the
+ * last row returned, and the next page starts strictly after it on the {@code (user_id, booking_date,
+ * booking_id)} index. Unlike offset paging, a deep page costs the same as the first, and bookings made
+ * while the customer pages never shift or repeat rows.
+ */
+@Component
+public class BookingSummaryProjection {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String CURSOR_SEPARATOR = "|";
+
+    @Autowired
+    private BookingSummaryRepository bookingSummaryRepository;
+
+    /**
+     * Stores the summary of a newly saved booking; its details and flights must be loaded.
+     */
+    public void bookingCreated(Booking booking) {
+        BookingSummary summary = new BookingSummary();
+        summary.setBooking(booking);
+        summary.setUserId(booking.getUser().getId());
+        summary.setBookingReference(booking.getBookingReference());
+        summary.setBookingDate(booking.getBookingDate());
+        summary.setStatus(booking.getStatus());
+        summary.setTotalAmount(booking.getTotalAmount());
+        summary.setUpdatedAt(LocalDateTime.now());
+
+        Set<String> passengers = new HashSet<>();
+        Map<Long, Flight> flights = new LinkedHashMap<>();
+        for (BookingDetail detail : booking.getBookingDetails()) {
+            passengers.add(detail.getPassengerName());
+            flights.putIfAbsent(detail.getFlight().getId(), detail.getFlight());
+        }
+        summary.setPassengerCount(passengers.size());
+
+        List<Flight> legs = flights.values().stream()
+                .sorted(Comparator.comparing(Flight::getDepartureTime))
+                .toList();
+        if (!legs.isEmpty()) {
+            Flight first = legs.get(0);
+            Flight last = legs.stream().max(Comparator.comparing(Flight::getArrivalTime)).orElse(first);
+            summary.setFirstDepartureTime(first.getDepartureTime());
+            summary.setLastArrivalTime(last.getArrivalTime());
+            summary.setOriginAirportCode(first.getOriginAirport().getCode());
+            summary.setDestinationAirportCode(last.getDestinationAirport().getCode());
+            summary.setFlightNumbers(String.join(", ", legs.stream().map(Flight::getFlightNumber).toList()));
+        }
+        bookingSummaryRepository.save(summary);
+    }
+
+    /**
+     * Records a status change made in the current transaction. Like the booking updates it mirrors,
+     * this clears the persistence context.
+     */
+    public void statusChanged(Long bookingId, BookingStatus status) {
+        bookingSummaryRepository.updateStatus(bookingId, status, LocalDateTime.now());
+    }
+
+    /**
+     * One page of a customer's bookings, newest first.
+     *
+     * @param cursor {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @param size   bookings per page, at most {@link #MAX_PAGE_SIZE}
+     * @throws IllegalArgumentException if the cursor or size is invalid
+     */
+    public BookingSummaryPage page(Long userId, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // One extra row tells whether another page follows
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<BookingSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = bookingSummaryRepository.findFirstPage(userId, limit);
+        } else {
+            Keyset after = decode(cursor);
+            rows = bookingSummaryRepository.findPageAfter(userId, after.bookingDate(), after.bookingId(), limit);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<BookingSummary> pageRows = hasMore ? rows.subList(0, size) : rows;
+        BookingSummaryPage page = new BookingSummaryPage();
+        page.setBookings(pageRows.stream().map(BookingSummaryProjection::toDto).toList());
+        page.setHasMore(hasMore);
+        if (hasMore) {
+            BookingSummary last = pageRows.get(pageRows.size() - 1);
+            page.setNextCursor(encode(last.getBookingDate(), last.getBookingId()));
+        }
+        return page;
+    }
+
+    private static BookingSummaryDto toDto(BookingSummary summary) {
+        BookingSummaryDto dto = new BookingSummaryDto();
+        dto.setId(summary.getBookingId());
+        dto.setBookingReference(summary.getBookingReference());
+        dto.setBookingDate(summary.getBookingDate());
+        dto.setStatus(summary.getStatus());
+        dto.setTotalAmount(summary.getTotalAmount());
+        dto.setPassengerCount(summary.getPassengerCount());
+        dto.setFirstDepartureTime(summary.getFirstDepartureTime());
+        dto.setLastArrivalTime(summary.getLastArrivalTime());
+        dto.setOriginAirportCode(summary.getOriginAirportCode());
+        dto.setDestinationAirportCode(summary.getDestinationAirportCode());
+        dto.setFlightNumbers(summary.getFlightNumbers());
+        return dto;
+    }
+
+    private static String encode(LocalDateTime bookingDate, Long bookingId) {
+        String raw = bookingDate + CURSOR_SEPARATOR + bookingId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Keyset decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(CURSOR_SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid booking cursor");
+            }
+            return new Keyset(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid booking cursor");
+        }
+    }
+
+    private record Keyset(LocalDateTime bookingDate, Long bookingId) {}
+}
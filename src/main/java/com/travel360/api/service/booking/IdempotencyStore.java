@@ -0,0 +1,253 @@
+package com.travel360.api.service.booking;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travel360.api.model.IdempotencyKey;
+import com.travel360.api.model.IdempotencyKeyStatus;
+import com.travel360.api.repository.IdempotencyKeyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs a request at most once per client-supplied {@code Idempotency-Key}.
+ * <p>
+ * Keys are scoped to the calling user. Before running, a request claims its key in
+ * {@code idempotency_keys}; the unique constraint there keeps another instance from running the same
+ * key at the same time. The action then completes the claim with its response inside the transaction
+ * that makes its changes, so the key is marked used if and only if those changes commit: a crash after
+ * the commit leaves a completed key that replays the response, never an in-progress one that would be
+ * taken over and run again. Completing a claim that was taken over in the meantime fails and rolls the
+ * action back. A request that fails gives its key up, so the client can retry it.
+ * <p>
+ * Within this instance, concurrent duplicates of a running request wait for its result in memory; once
+ * it finishes, replays are answered from the stored response JSON. Keys expire after {@code ttl-hours}
+ * and are purged from the table on a schedule.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${travel360.booking.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${travel360.booking.idempotency.wait-timeout-seconds:30}")
+    private long waitTimeoutSeconds;
+
+    // A claim older than this that never completed is assumed to belong to a crashed instance
+    @Value("${travel360.booking.idempotency.abandoned-after-seconds:120}")
+    private long abandonedAfterSeconds;
+
+    // Requests running in this instance, so concurrent duplicates can wait for them
+    private final Map<String, Execution> executions = new ConcurrentHashMap<>();
+
+    /**
+     * Work done under an idempotency key.
+     */
+    @FunctionalInterface
+    public interface Action<T> {
+
+        /**
+         * @param complete must be called with the response inside the transaction that makes the changes,
+         *                 and returns it; it throws, rolling the transaction back, if the key was taken over
+         */
+        T run(UnaryOperator<T> complete);
+    }
+
+    /**
+     * Runs {@code action} unless the key was already used for the same request, in which case the
+     * original response is returned. Without a key the action simply runs.
+     *
+     * @param operation name of the operation, so one key cannot replay a different endpoint's response
+     * @param request   the request body; a key reused with a different request is rejected
+     */
+    public <T> T execute(Long userId, String key, String operation, Object request, Class<T> responseType, Action<T> action) {
+        if (key == null) {
+            return action.run(UnaryOperator.identity());
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = hash(operation, request);
+        String scope = userId + ":" + key;
+
+        Execution execution = new Execution(requestHash);
+        Execution existing = executions.putIfAbsent(scope, execution);
+        if (existing != null) {
+            return existing.await(requestHash, responseType);
+        }
+
+        // Finished executions leave memory at once; the table answers later replays
+        try {
+            T response = replayOrRun(userId, key, operation, requestHash, responseType, action);
+            execution.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            execution.fail(e);
+            throw e;
+        } finally {
+            executions.remove(scope, execution);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${travel360.booking.idempotency.purge-interval-ms:600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private <T> T replayOrRun(Long userId, String key, String operation, String requestHash,
+                              Class<T> responseType, Action<T> action) {
+        Optional<IdempotencyKey> stored = idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, key);
+        if (stored.isPresent()) {
+            if (!isReusable(stored.get())) {
+                return replay(stored.get(), requestHash, responseType);
+            }
+            idempotencyKeyRepository.delete(stored.get());
+        }
+
+        IdempotencyKey claim = new IdempotencyKey();
+        claim.setUserId(userId);
+        claim.setIdempotencyKey(key);
+        claim.setOperation(operation);
+        claim.setRequestHash(requestHash);
+        claim.setStatus(IdempotencyKeyStatus.IN_PROGRESS);
+        claim.setExpiresAt(LocalDateTime.now().plusHours(ttlHours));
+        try {
+            claim = idempotencyKeyRepository.saveAndFlush(claim);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance claimed the key first
+            return idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, key)
+                    .map(winner -> replay(winner, requestHash, responseType))
+                    .orElseThrow(() -> new RuntimeException("Idempotency-Key " + key + " is being used by another request"));
+        }
+
+        Long claimId = claim.getId();
+        try {
+            return action.run(response -> {
+                if (idempotencyKeyRepository.complete(claimId, toJson(response), LocalDateTime.now()) == 0) {
+                    throw new RuntimeException("Idempotency-Key " + key + " was taken over by another request");
+                }
+                return response;
+            });
+        } catch (RuntimeException e) {
+            // The action's transaction rolled back, completion included; a claim taken over is no longer ours
+            idempotencyKeyRepository.findById(claimId)
+                    .filter(current -> current.getStatus() == IdempotencyKeyStatus.IN_PROGRESS)
+                    .ifPresent(idempotencyKeyRepository::delete);
+            throw e;
+        }
+    }
+
+    private boolean isReusable(IdempotencyKey stored) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!stored.getExpiresAt().isAfter(now)) {
+            return true;
+        }
+        return stored.getStatus() == IdempotencyKeyStatus.IN_PROGRESS
+                && stored.getCreatedAt() != null
+                && stored.getCreatedAt().plusSeconds(abandonedAfterSeconds).isBefore(now);
+    }
+
+    private <T> T replay(IdempotencyKey stored, String requestHash, Class<T> responseType) {
+        if (!stored.getRequestHash().equals(requestHash)) {
+            throw new RuntimeException("Idempotency-Key " + stored.getIdempotencyKey() + " was already used for a different request");
+        }
+        if (stored.getStatus() != IdempotencyKeyStatus.COMPLETED) {
+            throw new RuntimeException("A request with Idempotency-Key " + stored.getIdempotencyKey() + " is still being processed");
+        }
+        try {
+            return objectMapper.readValue(stored.getResponseBody(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Stored response for Idempotency-Key " + stored.getIdempotencyKey() + " cannot be read", e);
+        }
+    }
+
+    private String hash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot hash request for idempotency check", e);
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot store response for idempotency replay", e);
+        }
+    }
+
+    /**
+     * One running request in this instance; duplicates wait on its future.
+     */
+    private final class Execution {
+
+        private final String requestHash;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Execution(String requestHash) {
+            this.requestHash = requestHash;
+        }
+
+        private void complete(Object response) {
+            result.complete(response);
+        }
+
+        private void fail(RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+
+        private <T> T await(String requestHash, Class<T> responseType) {
+            if (!this.requestHash.equals(requestHash)) {
+                throw new RuntimeException("Idempotency-Key was already used for a different request");
+            }
+            try {
+                return responseType.cast(result.get(waitTimeoutSeconds, TimeUnit.SECONDS));
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : new RuntimeException(e.getCause());
+            } catch (TimeoutException e) {
+                throw new RuntimeException("A request with this Idempotency-Key is still being processed");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for a request with the same Idempotency-Key", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.travel360.api.service.booking;
+
+import com.travel360.api.event.FlightChangedEvent;
+import com.travel360.api.model.Airplane;
+import com.travel360.api.model.Flight;
+import com.travel360.api.model.SeatClass;
+import com.travel360.api.repository.BookingDetailRepository;
+import com.travel360.api.repository.FlightRepository;
+import com.travel360.api.repository.projection.SeatAssignment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns seat numbers on flights from per-cabin {@link SeatMap} bitsets.
+ * <p>
+ * A flight's seat map is laid out from its airplane's class capacities: first class takes the front
+ * rows, then business, then economy, with a configurable number of seats per row in each cabin. Maps
+ * are built from the seat numbers in {@code booking_details} (upcoming flights on startup, any other
+ * flight on first use) and then kept in memory. Each cabin is locked on its own, so bookings on
+ * different flights or classes never wait for each other.
+ * <p>
+ * Seats taken inside a transaction are given back if it rolls back, so the maps only ever run ahead of
+ * the database by bookings that are still in progress. The maps are not the final word: the partial
+ * unique index {@value #SEAT_CONSTRAINT} keeps two active booking details from holding one seat, e.g. when
+ * several instances book the same flight. A booking that hits it drops the flight's map with
+ * {@link #forget} and is retried, so the rebuilt map gives it the next free seat.
+ */
+@Component
+public class SeatAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatAllocator.class);
+
+    public static final String SEAT_CONSTRAINT = "uq_booking_details_flight_seat";
+
+    @Autowired
+    private BookingDetailRepository bookingDetailRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Value("${travel360.booking.seats.first-class-per-row:4}")
+    private int firstClassSeatsPerRow;
+
+    @Value("${travel360.booking.seats.business-class-per-row:4}")
+    private int businessClassSeatsPerRow;
+
+    @Value("${travel360.booking.seats.economy-class-per-row:6}")
+    private int economyClassSeatsPerRow;
+
+    private final Map<Long, FlightSeats> seatsByFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Takes {@code count} seats, seating them in adjacent seats of as few rows as possible.
+     * Groups wider than a row are split into row-sized blocks; seats that cannot be placed together
+     * are filled from the next free seats. Returns fewer than {@code count} seats if the cabin runs out.
+     */
+    public List<String> allocateTogether(Long flightId, SeatClass seatClass, int count) {
+        SeatMap cabin = cabin(flightId, seatClass);
+        List<String> seats = new ArrayList<>(count);
+        synchronized (cabin) {
+            int remaining = count;
+            while (remaining > 0) {
+                List<String> block = cabin.takeAdjacent(Math.min(remaining, cabin.seatsPerRow()));
+                if (block == null) {
+                    break;
+                }
+                seats.addAll(block);
+                remaining -= block.size();
+            }
+            while (seats.size() < count) {
+                String seat = cabin.takeNextFree();
+                if (seat == null) {
+                    break;
+                }
+                seats.add(seat);
+            }
+        }
+        releaseOnRollback(cabin, seats);
+        return seats;
+    }
+
+    /**
+     * Takes the lowest free seat in a cabin, or returns {@code null} if it is full.
+     */
+    public String allocateNext(Long flightId, SeatClass seatClass) {
+        SeatMap cabin = cabin(flightId, seatClass);
+        String seat;
+        synchronized (cabin) {
+            seat = cabin.takeNextFree();
+        }
+        if (seat != null) {
+            releaseOnRollback(cabin, List.of(seat));
+        }
+        return seat;
+    }
+
+    /**
+     * Takes a seat the passenger chose.
+     *
+     * @return {@code false} if the seat is already taken or does not exist in the cabin
+     */
+    public boolean select(Long flightId, SeatClass seatClass, String seatNumber) {
+        SeatMap cabin = cabin(flightId, seatClass);
+        boolean taken;
+        synchronized (cabin) {
+            taken = cabin.take(seatNumber);
+        }
+        if (taken) {
+            releaseOnRollback(cabin, List.of(seatNumber));
+        }
+        return taken;
+    }
+
+    /**
+     * Frees a seat, e.g. when a booking is cancelled. Takes effect once the current transaction commits.
+     */
+    public void release(Long flightId, SeatClass seatClass, String seatNumber) {
+        if (seatNumber == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            releaseNow(flightId, seatClass, List.of(seatNumber));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                releaseNow(flightId, seatClass, List.of(seatNumber));
+            }
+        });
+    }
+
+    /**
+     * Drops a flight's seat map; the next use rebuilds it from the database.
+     */
+    public void forget(Long flightId) {
+        seatsByFlight.remove(flightId);
+    }
+
+    /**
+     * Whether a failed insert was a seat already held by another active booking detail.
+     */
+    public static boolean isSeatConflict(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(SEAT_CONSTRAINT);
+    }
+
+    public CabinLayout layout(Long flightId, SeatClass seatClass) {
+        SeatMap cabin = cabin(flightId, seatClass);
+        synchronized (cabin) {
+            return new CabinLayout(seatClass, cabin.firstRow(), cabin.lastRow(), cabin.seatsPerRow(),
+                    cabin.capacity(), cabin.freeSeats());
+        }
+    }
+
+    /**
+     * Row range, width and free seats of one cabin.
+     */
+    public record CabinLayout(SeatClass seatClass, int firstRow, int lastRow, int seatsPerRow,
+                              int capacity, List<String> freeSeats) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadUpcomingFlights() {
+        long start = System.nanoTime();
+        Map<Long, List<SeatAssignment>> assignmentsByFlight = new HashMap<>();
+        for (SeatAssignment assignment : bookingDetailRepository.findSeatAssignmentsDepartingAfter(LocalDateTime.now())) {
+            assignmentsByFlight.computeIfAbsent(assignment.flightId(), id -> new ArrayList<>()).add(assignment);
+        }
+        for (Flight flight : flightRepository.findAllById(assignmentsByFlight.keySet())) {
+            seatsByFlight.putIfAbsent(flight.getId(), build(flight, assignmentsByFlight.get(flight.getId())));
+        }
+        logger.info("Seat maps rebuilt for {} upcoming flights in {} ms",
+                assignmentsByFlight.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        if (event.changeType() == FlightChangedEvent.ChangeType.DELETED) {
+            seatsByFlight.remove(event.flightId());
+        } else if (event.changeType() == FlightChangedEvent.ChangeType.UPDATED) {
+            // A different airplane means a different layout; the map is rebuilt on next use
+            FlightSeats current = seatsByFlight.get(event.flightId());
+            if (current != null && !current.matches(event.flight().getAirplane())) {
+                seatsByFlight.remove(event.flightId(), current);
+            }
+        }
+    }
+
+    private SeatMap cabin(Long flightId, SeatClass seatClass) {
+        FlightSeats seats = seatsByFlight.get(flightId);
+        if (seats == null) {
+            // Loaded outside the map, so the queries never hold up other flights sharing its bin
+            FlightSeats loaded = load(flightId);
+            FlightSeats existing = seatsByFlight.putIfAbsent(flightId, loaded);
+            seats = existing != null ? existing : loaded;
+        }
+        return seats.cabins.get(seatClass);
+    }
+
+    private FlightSeats load(Long flightId) {
+        Flight flight = flightRepository.findById(flightId)
+                .orElseThrow(() -> new RuntimeException("Flight not found with ID: " + flightId));
+        return build(flight, bookingDetailRepository.findSeatAssignments(flightId));
+    }
+
+    private FlightSeats build(Flight flight, List<SeatAssignment> assignments) {
+        Airplane airplane = flight.getAirplane();
+        int first = airplane != null ? airplane.getFirstClassCapacity() : 0;
+        int business = airplane != null ? airplane.getBusinessClassCapacity() : 0;
+        int economy = airplane != null ? airplane.getEconomyClassCapacity() : 0;
+
+        Map<SeatClass, SeatMap> cabins = new EnumMap<>(SeatClass.class);
+        int row = 1;
+        SeatMap cabin = new SeatMap(SeatClass.FIRST_CLASS, row, firstClassSeatsPerRow, first);
+        cabins.put(SeatClass.FIRST_CLASS, cabin);
+        row = cabin.lastRow() + 1;
+        cabin = new SeatMap(SeatClass.BUSINESS_CLASS, row, businessClassSeatsPerRow, business);
+        cabins.put(SeatClass.BUSINESS_CLASS, cabin);
+        row = cabin.lastRow() + 1;
+        cabins.put(SeatClass.ECONOMY_CLASS, new SeatMap(SeatClass.ECONOMY_CLASS, row, economyClassSeatsPerRow, economy));
+
+        for (SeatAssignment assignment : assignments) {
+            if (!cabins.get(assignment.seatClass()).take(assignment.seatNumber())) {
+                logger.warn("Seat {} on flight {} is assigned twice or outside the {} cabin",
+                        assignment.seatNumber(), flight.getId(), assignment.seatClass());
+            }
+        }
+        return new FlightSeats(first, business, economy, cabins);
+    }
+
+    // Seats go back to the map they were taken from, even if the flight's map was rebuilt since
+    private void releaseOnRollback(SeatMap cabin, List<String> seats) {
+        if (seats.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    synchronized (cabin) {
+                        seats.forEach(cabin::release);
+                    }
+                }
+            }
+        });
+    }
+
+    private void releaseNow(Long flightId, SeatClass seatClass, List<String> seats) {
+        FlightSeats flightSeats = seatsByFlight.get(flightId);
+        if (flightSeats == null) {
+            return;
+        }
+        SeatMap cabin = flightSeats.cabins.get(seatClass);
+        synchronized (cabin) {
+            seats.forEach(cabin::release);
+        }
+    }
+
+    private record FlightSeats(int firstClassCapacity, int businessClassCapacity, int economyClassCapacity,
+                               Map<SeatClass, SeatMap> cabins) {
+
+        private boolean matches(Airplane airplane) {
+            return airplane != null
+                    && airplane.getFirstClassCapacity() == firstClassCapacity
+                    && airplane.getBusinessClassCapacity() == businessClassCapacity
+                    && airplane.getEconomyClassCapacity() == economyClassCapacity;
+        }
+    }
+}
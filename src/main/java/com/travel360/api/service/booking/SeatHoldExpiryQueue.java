@@ -0,0 +1,74 @@
+package com.travel360.api.service.booking;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pending seat hold expiries, ordered by expiry time in a {@link DelayQueue}.
+ * <p>
+ * Scheduling and draining are O(log n) and only touch holds that are actually due, so expiring holds
+ * never needs a table scan. The queue is in memory; {@link SeatHoldSweeper} refills it from the
+ * active holds in the database on startup.
+ */
+@Component
+public class SeatHoldExpiryQueue {
+
+    private final DelayQueue<Expiry> queue = new DelayQueue<>();
+
+    /**
+     * Schedules an expiry once the current transaction commits, so the sweeper never looks for a hold
+     * that is not visible yet (or was rolled back).
+     */
+    public void scheduleAfterCommit(String holdId, LocalDateTime expiresAt) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            schedule(holdId, expiresAt);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                schedule(holdId, expiresAt);
+            }
+        });
+    }
+
+    public void schedule(String holdId, LocalDateTime expiresAt) {
+        long delayNanos = Duration.between(LocalDateTime.now(), expiresAt).toNanos();
+        queue.add(new Expiry(holdId, System.nanoTime() + delayNanos));
+    }
+
+    /**
+     * Removes and returns up to {@code maxHolds} holds whose expiry time has passed.
+     */
+    public List<String> drainExpired(int maxHolds) {
+        List<Expiry> due = new ArrayList<>();
+        queue.drainTo(due, maxHolds);
+        return due.stream().map(Expiry::holdId).toList();
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    private record Expiry(String holdId, long expiresAtNanos) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiresAtNanos, ((Expiry) other).expiresAtNanos);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.travel360.api.service.booking;
+
+import com.travel360.api.repository.SeatHoldRepository;
+import com.travel360.api.repository.projection.HoldExpiry;
+import com.travel360.api.service.SeatHoldService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Background expiry of seat holds. Due holds are taken from the {@link SeatHoldExpiryQueue} in batches,
+ * and each batch is expired, with its seats returned to inventory, in one transaction.
+ */
+@Component
+public class SeatHoldSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatHoldSweeper.class);
+
+    @Autowired
+    private SeatHoldExpiryQueue expiryQueue;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private SeatHoldRepository seatHoldRepository;
+
+    @Value("${travel360.booking.hold.sweep-batch-size:100}")
+    private int batchSize;
+
+    // Holds that were active when the application stopped still need to expire
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveHolds() {
+        List<HoldExpiry> active = seatHoldRepository.findActiveExpiries();
+        active.forEach(hold -> expiryQueue.schedule(hold.holdId(), hold.expiresAt()));
+        logger.info("Scheduled expiry of {} active seat holds", active.size());
+    }
+
+    @Scheduled(fixedDelayString = "${travel360.booking.hold.sweep-interval-ms:5000}")
+    public void sweep() {
+        List<String> due = expiryQueue.drainExpired(batchSize);
+        while (!due.isEmpty()) {
+            int expired;
+            try {
+                expired = seatHoldService.expireHolds(due);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to expire {} seat holds, retrying on the next sweep", due.size(), e);
+                LocalDateTime now = LocalDateTime.now();
+                due.forEach(holdId -> expiryQueue.schedule(holdId, now));
+                return;
+            }
+            if (expired > 0) {
+                logger.debug("Expired {} seat holds", expired);
+            }
+            due = due.size() < batchSize ? List.of() : expiryQueue.drainExpired(batchSize);
+        }
+    }
+}
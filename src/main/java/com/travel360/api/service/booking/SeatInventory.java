@@ -0,0 +1,79 @@
+package com.travel360.api.service.booking;
+
+import com.travel360.api.event.FlightChangedEvent;
+import com.travel360.api.model.SeatClass;
+import com.travel360.api.repository.FlightRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Takes seats out of a flight's remaining inventory.
+ * <p>
+ * Every reservation is a single conditional {@code UPDATE ... SET seats = seats - n WHERE seats >= n},
+ * so the check and the decrement happen atomically in the database: two concurrent bookings can never
+ * both take the last seat, and there is no read-modify-write window in which an update can be lost.
+ * A failed reservation changes nothing. Reservations made inside a caller's transaction are rolled
+ * back with it. Releases are the mirror image and never raise availability above the airplane's
+ * capacity for the class.
+ */
+@Component
+public class SeatInventory {
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Reserves {@code seats} seats of {@code seatClass} on a flight.
+     *
+     * @return {@code true} if the seats were taken, {@code false} if the flight does not exist or has fewer left
+     */
+    @Transactional
+    public boolean reserve(Long flightId, SeatClass seatClass, int seats) {
+        if (seats <= 0) {
+            throw new IllegalArgumentException("Seat count must be positive: " + seats);
+        }
+        int updated = switch (seatClass) {
+            case FIRST_CLASS -> flightRepository.reserveFirstClassSeats(flightId, seats);
+            case BUSINESS_CLASS -> flightRepository.reserveBusinessClassSeats(flightId, seats);
+            case ECONOMY_CLASS -> flightRepository.reserveEconomyClassSeats(flightId, seats);
+        };
+        if (updated == 0) {
+            return false;
+        }
+        publishSeatsChanged(flightId);
+        return true;
+    }
+
+    /**
+     * Returns {@code seats} previously reserved seats of {@code seatClass} to a flight.
+     *
+     * @return {@code false} if the flight does not exist or the release would exceed the class capacity
+     */
+    @Transactional
+    public boolean release(Long flightId, SeatClass seatClass, int seats) {
+        if (seats <= 0) {
+            throw new IllegalArgumentException("Seat count must be positive: " + seats);
+        }
+        int updated = switch (seatClass) {
+            case FIRST_CLASS -> flightRepository.releaseFirstClassSeats(flightId, seats);
+            case BUSINESS_CLASS -> flightRepository.releaseBusinessClassSeats(flightId, seats);
+            case ECONOMY_CLASS -> flightRepository.releaseEconomyClassSeats(flightId, seats);
+        };
+        if (updated == 0) {
+            return false;
+        }
+        publishSeatsChanged(flightId);
+        return true;
+    }
+
+    // Search structures hold flight entities with seat counts; they are refreshed once the change commits
+    private void publishSeatsChanged(Long flightId) {
+        flightRepository.findById(flightId)
+                .ifPresent(flight -> eventPublisher.publishEvent(FlightChangedEvent.seatsChanged(flight)));
+    }
+}
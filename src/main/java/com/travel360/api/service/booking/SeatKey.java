@@ -0,0 +1,18 @@
+package com.travel360.api.service.booking;
+
+import com.travel360.api.model.SeatClass;
+
+import java.util.Comparator;
+
+/**
+ * Seats of one class on one flight, the unit in which inventory is reserved and released.
+ */
+public record SeatKey(Long flightId, SeatClass seatClass) {
+
+    /**
+     * Flight id order. Multi-flight reservations lock flight rows in this order so that concurrent
+     * reservations cannot deadlock.
+     */
+    public static final Comparator<SeatKey> LOCK_ORDER =
+            Comparator.comparing(SeatKey::flightId).thenComparing(SeatKey::seatClass);
+}
@@ -0,0 +1,239 @@
+package com.travel360.api.service.booking;
+
+import com.travel360.api.model.SeatClass;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seat occupancy of one cabin (one seat class on one flight) as a bitset.
+ * <p>
+ * Every row gets an 8-bit slot, so one {@code long} holds eight rows and seat {@code 12C} is bit 2 of
+ * its row's slot. Slot bits past the row width, and seats past the cabin capacity in the last row, are
+ * marked occupied up front. Finding {@code n} adjacent seats is {@code n - 1} shift-and-mask steps over
+ * eight rows at a time, after which runs that would start too late in their row are masked out, so a
+ * run never crosses into the next row even when a row fills its whole slot. A second level keeps
+ * one bit per word that still has a free seat, so the next free seat is found with two
+ * {@link Long#numberOfTrailingZeros} calls regardless of how full the cabin is.
+ * <p>
+ * Instances are not thread-safe; {@link SeatAllocator} locks each one while using it.
+ */
+final class SeatMap {
+
+    private static final int ROW_BITS = 8;
+    private static final int ROWS_PER_WORD = Long.SIZE / ROW_BITS;
+    // Bit 0 of every row slot
+    private static final long ROW_STARTS = 0x0101010101010101L;
+    private static final char FIRST_LETTER = 'A';
+
+    private final SeatClass seatClass;
+    private final int firstRow;
+    private final int rows;
+    private final int seatsPerRow;
+    private final int capacity;
+    private final long[] occupied;
+    private final long[] wordsWithFreeSeats;
+    private int available;
+
+    SeatMap(SeatClass seatClass, int firstRow, int seatsPerRow, int capacity) {
+        if (seatsPerRow < 1 || seatsPerRow > ROW_BITS) {
+            throw new IllegalArgumentException("Seats per row must be between 1 and " + ROW_BITS + ": " + seatsPerRow);
+        }
+        this.seatClass = seatClass;
+        this.firstRow = firstRow;
+        this.seatsPerRow = seatsPerRow;
+        this.capacity = Math.max(capacity, 0);
+        this.rows = (this.capacity + seatsPerRow - 1) / seatsPerRow;
+        this.occupied = new long[(rows + ROWS_PER_WORD - 1) / ROWS_PER_WORD];
+        this.wordsWithFreeSeats = new long[(occupied.length + Long.SIZE - 1) / Long.SIZE];
+
+        long padding = -1L << seatsPerRow & 0xFFL;
+        for (int word = 0; word < occupied.length; word++) {
+            long mask = 0;
+            for (int slot = 0; slot < ROWS_PER_WORD; slot++) {
+                int row = word * ROWS_PER_WORD + slot;
+                long rowMask = row < rows ? padding | seatsPastCapacity(row) : 0xFFL;
+                mask |= rowMask << (slot * ROW_BITS);
+            }
+            occupied[word] = mask;
+            updateSummary(word);
+        }
+        this.available = this.capacity;
+    }
+
+    SeatClass seatClass() {
+        return seatClass;
+    }
+
+    int firstRow() {
+        return firstRow;
+    }
+
+    int lastRow() {
+        return firstRow + rows - 1;
+    }
+
+    int seatsPerRow() {
+        return seatsPerRow;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    int available() {
+        return available;
+    }
+
+    /**
+     * Takes the lowest free seat, or returns {@code null} when the cabin is full.
+     */
+    String takeNextFree() {
+        int word = firstWordWithFreeSeat();
+        if (word < 0) {
+            return null;
+        }
+        int bit = Long.numberOfTrailingZeros(~occupied[word]);
+        take(word, 1L << bit);
+        return label(word, bit);
+    }
+
+    /**
+     * Takes {@code count} adjacent seats in one row, front rows first, or returns {@code null} if no row has them.
+     */
+    List<String> takeAdjacent(int count) {
+        if (count < 1 || count > seatsPerRow || count > available) {
+            return null;
+        }
+        for (int summary = 0; summary < wordsWithFreeSeats.length; summary++) {
+            long candidates = wordsWithFreeSeats[summary];
+            while (candidates != 0) {
+                int word = summary * Long.SIZE + Long.numberOfTrailingZeros(candidates);
+                candidates &= candidates - 1;
+                // Bit b of runs is set when seats b .. b + count - 1 are all free
+                long runs = ~occupied[word];
+                for (int i = 1; i < count && runs != 0; i++) {
+                    runs &= runs >>> 1;
+                }
+                // A run has to start early enough in its row to end in it
+                runs &= ((1L << (seatsPerRow - count + 1)) - 1) * ROW_STARTS;
+                if (runs != 0) {
+                    int bit = Long.numberOfTrailingZeros(runs);
+                    long seats = (-1L >>> (Long.SIZE - count)) << bit;
+                    take(word, seats);
+                    List<String> labels = new ArrayList<>(count);
+                    for (int offset = 0; offset < count; offset++) {
+                        labels.add(label(word, bit + offset));
+                    }
+                    return labels;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes a specific seat such as {@code 12C}.
+     *
+     * @return {@code false} if the seat is taken or does not exist in this cabin
+     */
+    boolean take(String seatNumber) {
+        int bit = bitOf(seatNumber);
+        if (bit < 0) {
+            return false;
+        }
+        int word = bit / Long.SIZE;
+        long seat = 1L << (bit % Long.SIZE);
+        if ((occupied[word] & seat) != 0) {
+            return false;
+        }
+        take(word, seat);
+        return true;
+    }
+
+    /**
+     * Frees a seat; unknown or already free seats are ignored.
+     */
+    boolean release(String seatNumber) {
+        int bit = bitOf(seatNumber);
+        if (bit < 0) {
+            return false;
+        }
+        int word = bit / Long.SIZE;
+        long seat = 1L << (bit % Long.SIZE);
+        if ((occupied[word] & seat) == 0) {
+            return false;
+        }
+        occupied[word] &= ~seat;
+        available++;
+        updateSummary(word);
+        return true;
+    }
+
+    List<String> freeSeats() {
+        List<String> seats = new ArrayList<>(available);
+        for (int word = 0; word < occupied.length; word++) {
+            long free = ~occupied[word];
+            while (free != 0) {
+                seats.add(label(word, Long.numberOfTrailingZeros(free)));
+                free &= free - 1;
+            }
+        }
+        return seats;
+    }
+
+    private void take(int word, long seats) {
+        occupied[word] |= seats;
+        available -= Long.bitCount(seats);
+        updateSummary(word);
+    }
+
+    private int firstWordWithFreeSeat() {
+        for (int summary = 0; summary < wordsWithFreeSeats.length; summary++) {
+            if (wordsWithFreeSeats[summary] != 0) {
+                return summary * Long.SIZE + Long.numberOfTrailingZeros(wordsWithFreeSeats[summary]);
+            }
+        }
+        return -1;
+    }
+
+    private void updateSummary(int word) {
+        long bit = 1L << (word % Long.SIZE);
+        if (occupied[word] == -1L) {
+            wordsWithFreeSeats[word / Long.SIZE] &= ~bit;
+        } else {
+            wordsWithFreeSeats[word / Long.SIZE] |= bit;
+        }
+    }
+
+    // Seats of the last row that lie beyond the cabin capacity, as occupied bits of the row slot
+    private long seatsPastCapacity(int row) {
+        int seatsInRow = Math.min(seatsPerRow, capacity - row * seatsPerRow);
+        return seatsInRow >= seatsPerRow ? 0 : ((1L << seatsPerRow) - 1) & (-1L << seatsInRow);
+    }
+
+    private String label(int word, int bit) {
+        int row = word * ROWS_PER_WORD + bit / ROW_BITS;
+        return String.valueOf(firstRow + row) + (char) (FIRST_LETTER + bit % ROW_BITS);
+    }
+
+    // Bit index of a seat label, or -1 if it is malformed or outside this cabin
+    private int bitOf(String seatNumber) {
+        if (seatNumber == null || seatNumber.length() < 2) {
+            return -1;
+        }
+        String normalized = seatNumber.trim().toUpperCase();
+        int letterIndex = normalized.length() - 1;
+        int column = normalized.charAt(letterIndex) - FIRST_LETTER;
+        int row;
+        try {
+            row = Integer.parseInt(normalized.substring(0, letterIndex)) - firstRow;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        if (row < 0 || row >= rows || column < 0 || column >= seatsPerRow || row * seatsPerRow + column >= capacity) {
+            return -1;
+        }
+        return (row / ROWS_PER_WORD) * Long.SIZE + (row % ROWS_PER_WORD) * ROW_BITS + column;
+    }
+}
@@ -0,0 +1,94 @@
+package com.travel360.api.service.booking;
+
+import com.travel360.api.event.FlightChangedEvent;
+import com.travel360.api.model.SeatClass;
+import com.travel360.api.repository.WaitlistEntryRepository;
+import com.travel360.api.service.WaitlistService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Promotes waitlisted customers into seat holds in the background.
+ * <p>
+ * Any committed seat change on a flight (a cancelled booking, an expired or released hold, an operator
+ * edit) marks the flight as pending. A scheduled pass then works through the pending flights, promoting
+ * up to {@code batch-size} entries per run, so cancelling requests never wait for promotions. Flights
+ * left over when the budget runs out stay pending for the next run. On startup every flight with a
+ * waiting entry is marked, which covers changes made while the application was down.
+ */
+@Component
+public class WaitlistPromoter {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistPromoter.class);
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Value("${travel360.booking.waitlist.batch-size:50}")
+    private int batchSize;
+
+    private final Set<Long> pendingFlights = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadWaitingFlights() {
+        pendingFlights.addAll(waitlistEntryRepository.findFlightIdsWithWaiting());
+        logger.info("{} flights with waitlisted customers queued for promotion", pendingFlights.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        if (event.changeType() == FlightChangedEvent.ChangeType.SEATS_CHANGED
+                || event.changeType() == FlightChangedEvent.ChangeType.UPDATED
+                || event.changeType() == FlightChangedEvent.ChangeType.STATUS_CHANGED) {
+            pendingFlights.add(event.flightId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${travel360.booking.waitlist.promotion-interval-ms:2000}")
+    public void promote() {
+        int budget = batchSize;
+        int promoted = 0;
+        Iterator<Long> flights = pendingFlights.iterator();
+        while (budget > 0 && flights.hasNext()) {
+            Long flightId = flights.next();
+            flights.remove();
+            for (SeatClass seatClass : waitlistEntryRepository.findWaitingSeatClasses(flightId)) {
+                while (budget > 0 && promoteNext(flightId, seatClass)) {
+                    budget--;
+                    promoted++;
+                }
+            }
+            if (budget == 0) {
+                // The line may not be exhausted yet
+                pendingFlights.add(flightId);
+            }
+        }
+        if (promoted > 0) {
+            logger.info("Promoted {} waitlist entries", promoted);
+        }
+    }
+
+    private boolean promoteNext(Long flightId, SeatClass seatClass) {
+        try {
+            return waitlistService.promoteNext(flightId, seatClass);
+        } catch (RuntimeException e) {
+            // Typically the seats were taken by a booking between the check and the hold
+            logger.debug("Waitlist promotion for {} on flight {} stopped: {}", seatClass, flightId, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.travel360.api.service.concurrency;
+
+import com.travel360.api.dto.flight.FlightConflictStats;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs flight inventory writes in their own transaction and retries them when they lose a race.
+ * <p>
+ * A {@link ConcurrencyFailureException} covers every way a write can collide with another one: a stale
+ * {@code Flight} version, a deadlock victim or a lock timeout. Each of those rolls the whole transaction
+ * back, so the action is re-run from scratch in a new transaction after an exponential backoff with full
+ * jitter. Conflicts are counted per operation and per flight to show where contention is.
+ * <p>
+ * Inside an existing transaction the action runs once and any conflict is left to the caller, since
+ * only the outermost transaction can be retried.
+ */
+@Component
+public class ConflictRetryTemplate {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConflictRetryTemplate.class);
+
+    private static final int HOTTEST_FLIGHTS = 10;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${travel360.booking.retry.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${travel360.booking.retry.initial-backoff-ms:20}")
+    private long initialBackoffMillis;
+
+    @Value("${travel360.booking.retry.max-backoff-ms:500}")
+    private long maxBackoffMillis;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final Map<String, Counters> countersByOperation = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> conflictsByFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Runs {@code action} in a transaction, retrying on concurrency conflicts.
+     *
+     * @param operation name the attempts are counted under
+     * @param flightIds flights the action writes to, charged with every conflict it hits
+     */
+    public <T> T execute(String operation, Collection<Long> flightIds, Supplier<T> action) {
+        Counters counters = countersByOperation.computeIfAbsent(operation, name -> new Counters());
+        counters.executions.increment();
+        boolean retryable = !TransactionSynchronizationManager.isActualTransactionActive();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (ConcurrencyFailureException e) {
+                counters.conflicts.increment();
+                for (Long flightId : flightIds) {
+                    conflictsByFlight.computeIfAbsent(flightId, id -> new LongAdder()).increment();
+                }
+                if (!retryable) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    counters.exhausted.increment();
+                    logger.warn("{} on flights {} failed after {} attempts: {}", operation, flightIds, attempt, e.getMessage());
+                    throw e;
+                }
+                counters.retries.increment();
+                backOff(attempt);
+            }
+        }
+    }
+
+    public FlightConflictStats getStats() {
+        List<FlightConflictStats.OperationStats> operations = countersByOperation.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getValue().toStats(entry.getKey()))
+                .toList();
+        List<FlightConflictStats.FlightConflicts> hottest = conflictsByFlight.entrySet().stream()
+                .map(entry -> new FlightConflictStats.FlightConflicts(entry.getKey(), entry.getValue().sum()))
+                .sorted(Comparator.comparingLong(FlightConflictStats.FlightConflicts::getConflicts).reversed())
+                .limit(HOTTEST_FLIGHTS)
+                .toList();
+        return new FlightConflictStats(maxAttempts, operations, hottest);
+    }
+
+    // Full jitter: a random pause up to an exponentially growing cap, so colliding writers spread out
+    private void backOff(int attempt) {
+        long cap = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to retry", e);
+        }
+    }
+
+    private static final class Counters {
+
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+
+        private FlightConflictStats.OperationStats toStats(String operation) {
+            return new FlightConflictStats.OperationStats(operation,
+                    executions.sum(), conflicts.sum(), retries.sum(), exhausted.sum());
+        }
+    }
+}
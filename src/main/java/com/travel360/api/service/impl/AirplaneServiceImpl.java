@@ -1,13 +1,13 @@
 package com.travel360.api.service.impl;
 
 import com.travel360.api.dto.flight.AirplaneDto;
-import com.travel360.api.dto.flight.AirportDto;
 import com.travel360.api.model.Airplane;
 import com.travel360.api.model.AirplaneSize;
 import com.travel360.api.model.Airport;
 import com.travel360.api.repository.AirplaneRepository;
 import com.travel360.api.repository.AirportRepository;
 import com.travel360.api.service.AirplaneService;
+import com.travel360.api.service.reference.AirportDtoRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -24,6 +24,9 @@ public class AirplaneServiceImpl implements AirplaneService {
     
     @Autowired
     private AirportRepository airportRepository;
+    
+    @Autowired
+    private AirportDtoRegistry airportRegistry;
 
     @Override
     public List<AirplaneDto> getAllAirplanes() {
@@ -171,19 +174,8 @@ public class AirplaneServiceImpl implements AirplaneService {
         dto.setMaxRangeKm(airplane.getMaxRangeKm());
         dto.setActive(airplane.isActive());
         
-        // Convert current airport to DTO if present
-        if (airplane.getCurrentAirport() != null) {
-            AirportDto airportDto = new AirportDto();
-            airportDto.setId(airplane.getCurrentAirport().getId());
-            airportDto.setCode(airplane.getCurrentAirport().getCode());
-            airportDto.setName(airplane.getCurrentAirport().getName());
-            airportDto.setCity(airplane.getCurrentAirport().getCity());
-            airportDto.setCountry(airplane.getCurrentAirport().getCountry());
-            airportDto.setLatitude(airplane.getCurrentAirport().getLatitude());
-            airportDto.setLongitude(airplane.getCurrentAirport().getLongitude());
-            airportDto.setTimeZone(airplane.getCurrentAirport().getTimeZone());
-            dto.setCurrentAirport(airportDto);
-        }
+        // Current airport is shared reference data
+        dto.setCurrentAirport(airportRegistry.get(airplane.getCurrentAirport()));
         
         return dto;
     }
@@ -1,22 +1,34 @@
 package com.travel360.api.service.impl;
 
 import com.travel360.api.dto.flight.AirportDto;
+import com.travel360.api.event.AirportChangedEvent;
 import com.travel360.api.model.Airport;
 import com.travel360.api.repository.AirportRepository;
 import com.travel360.api.service.AirportService;
+import com.travel360.api.service.reference.AirportSpatialIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class AirportServiceImpl implements AirportService {
 
     @Autowired
     private AirportRepository airportRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private AirportSpatialIndex spatialIndex;
 
     @Override
     public List<AirportDto> getAllAirports() {
@@ -64,6 +76,24 @@ public class AirportServiceImpl implements AirportService {
                 .toList();
     }
 
+    @Override
+    public List<AirportDto> getAirportsNearby(Long airportId, double radiusKm) {
+        if (!airportRepository.existsById(airportId)) {
+            throw new RuntimeException("Airport not found with ID: " + airportId);
+        }
+        List<Long> nearbyIds = spatialIndex.withinRadius(airportId, radiusKm).stream()
+                .map(AirportSpatialIndex.NearbyAirport::airportId)
+                .toList();
+        Map<Long, Airport> airports = airportRepository.findAllById(nearbyIds).stream()
+                .collect(Collectors.toMap(Airport::getId, Function.identity()));
+        // Keep the index order, nearest first
+        return nearbyIds.stream()
+                .map(airports::get)
+                .filter(airport -> airport != null)
+                .map(this::convertToDto)
+                .toList();
+    }
+
     @Override
     public AirportDto createAirport(Airport airport) {
         if (existsByCode(airport.getCode())) {
@@ -72,6 +102,7 @@ public class AirportServiceImpl implements AirportService {
         
         airport.setCode(airport.getCode().toUpperCase());
         Airport savedAirport = airportRepository.save(airport);
+        eventPublisher.publishEvent(AirportChangedEvent.created(savedAirport));
         return convertToDto(savedAirport);
     }
 
@@ -94,6 +125,7 @@ public class AirportServiceImpl implements AirportService {
                     existingAirport.setTimeZone(airport.getTimeZone());
                     
                     Airport updatedAirport = airportRepository.save(existingAirport);
+                    eventPublisher.publishEvent(AirportChangedEvent.updated(updatedAirport));
                     return convertToDto(updatedAirport);
                 })
                 .orElseThrow(() -> new RuntimeException("Airport not found with ID: " + id));
@@ -105,6 +137,7 @@ public class AirportServiceImpl implements AirportService {
             throw new RuntimeException("Airport not found with ID: " + id);
         }
         airportRepository.deleteById(id);
+        eventPublisher.publishEvent(AirportChangedEvent.deleted(id));
     }
 
     @Override
@@ -2,26 +2,386 @@ package com.travel360.api.service.impl;
 
 import com.travel360.api.dto.booking.BookingRequest;
 import com.travel360.api.dto.booking.BookingResponse;
+import com.travel360.api.dto.booking.BookingSummaryDto;
+import com.travel360.api.dto.booking.BookingSummaryPage;
+import com.travel360.api.dto.booking.GroupBookingRequest;
+import com.travel360.api.dto.booking.GroupBookingResponse;
+import com.travel360.api.dto.flight.FlightDto;
+import com.travel360.api.model.Booking;
+import com.travel360.api.model.BookingDetail;
 import com.travel360.api.model.BookingStatus;
+import com.travel360.api.model.Flight;
+import com.travel360.api.model.Role;
+import com.travel360.api.model.SeatClass;
 import com.travel360.api.model.User;
+import com.travel360.api.repository.BookingDetailRepository;
+import com.travel360.api.repository.BookingRepository;
+import com.travel360.api.repository.FlightRepository;
+import com.travel360.api.repository.UserRepository;
 import com.travel360.api.service.BookingService;
+import com.travel360.api.service.SeatHoldService;
+import com.travel360.api.service.booking.BookingReferenceGenerator;
+import com.travel360.api.service.booking.BookingSummaryProjection;
+import com.travel360.api.service.booking.IdempotencyStore;
+import com.travel360.api.service.booking.SeatAllocator;
+import com.travel360.api.service.booking.SeatInventory;
+import com.travel360.api.service.booking.SeatKey;
+import com.travel360.api.service.concurrency.ConflictRetryTemplate;
+import com.travel360.api.service.reference.AirportDtoRegistry;
+import com.travel360.api.service.search.FlightRouteGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 @Service
 public class BookingServiceImpl implements BookingService {
 
+    private static final Logger logger = LoggerFactory.getLogger(BookingServiceImpl.class);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingDetailRepository bookingDetailRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private AirportDtoRegistry airportRegistry;
+
+    @Autowired
+    private SeatAllocator seatAllocator;
+
+    @Autowired
+    private BookingReferenceGenerator referenceGenerator;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private ConflictRetryTemplate conflictRetry;
+
+    @Autowired
+    private BookingSummaryProjection bookingSummaries;
+
+    @Override
+    public BookingResponse createBooking(BookingRequest bookingRequest, User user, String idempotencyKey) {
+        return idempotencyStore.execute(user.getId(), idempotencyKey, "booking", bookingRequest, BookingResponse.class,
+                complete -> conflictRetry.execute("booking", flightIds(bookingRequest.getPassengers()),
+                        () -> complete.apply(convertToResponse(placeBooking(bookingRequest, user.getId(), user)))));
+    }
+
     @Override
-    public BookingResponse createBooking(BookingRequest bookingRequest, User user) {
-        return new BookingResponse();
+    public BookingResponse createBookingForCustomer(BookingRequest bookingRequest, Long customerId, User operator, String idempotencyKey) {
+        // The customer is part of the operation, so one key cannot replay a booking made for someone else
+        return idempotencyStore.execute(operator.getId(), idempotencyKey, "booking:customer:" + customerId, bookingRequest,
+                BookingResponse.class,
+                complete -> conflictRetry.execute("booking", flightIds(bookingRequest.getPassengers()),
+                        () -> complete.apply(convertToResponse(placeBooking(bookingRequest, customerId, operator)))));
     }
 
     @Override
-    public BookingResponse createBookingForCustomer(BookingRequest bookingRequest, Long customerId, User operator) {
-        return new BookingResponse();
+    public GroupBookingResponse createGroupBooking(GroupBookingRequest request, User user) {
+        return conflictRetry.execute("group-booking", flightIds(request.getPassengers()),
+                () -> placeGroupBooking(request, user));
+    }
+
+    /**
+     * Reserves seats for every passenger and stores the booking. Seats of the same class on the same flight
+     * are reserved with one statement; if any reservation fails the transaction rolls back the others.
+     * A booking made from a seat hold takes the held seats instead, and must cover exactly those seats.
+     */
+    private Booking placeBooking(BookingRequest bookingRequest, Long customerId, User createdBy) {
+        Map<SeatKey, Integer> seatsNeeded = new TreeMap<>(SeatKey.LOCK_ORDER);
+        for (BookingRequest.PassengerDetail passenger : bookingRequest.getPassengers()) {
+            seatsNeeded.merge(seatKey(passenger), 1, Integer::sum);
+        }
+
+        if (bookingRequest.getHoldId() != null) {
+            Map<SeatKey, Integer> heldSeats = seatHoldService.convertHold(bookingRequest.getHoldId(), customerId, createdBy.getId());
+            if (!heldSeats.equals(seatsNeeded)) {
+                throw new RuntimeException("Passengers do not match the seats held by hold " + bookingRequest.getHoldId());
+            }
+        } else {
+            reserveSeats(seatsNeeded);
+        }
+
+        // Reservations clear the persistence context, so entities are loaded after them
+        User customer = userRepository.findById(customerId)
+                .orElseThrow(() -> new RuntimeException("Customer not found with ID: " + customerId));
+        Booking booking = newBooking(customer, createdBy, bookingRequest.getContactEmail(), bookingRequest.getContactPhone());
+
+        Map<SeatKey, List<BookingDetail>> detailsBySeatKey = new TreeMap<>(SeatKey.LOCK_ORDER);
+        for (BookingRequest.PassengerDetail passenger : bookingRequest.getPassengers()) {
+            SeatKey seatKey = seatKey(passenger);
+            BookingDetail detail = newDetail(passenger, seatKey);
+            booking.addBookingDetail(detail);
+            detailsBySeatKey.computeIfAbsent(seatKey, key -> new ArrayList<>()).add(detail);
+        }
+        detailsBySeatKey.forEach((seatKey, details) -> assignSeats(seatKey, details, false));
+        Booking savedBooking = saveBooking(booking);
+        bookingSummaries.bookingCreated(savedBooking);
+        return savedBooking;
+    }
+
+    /**
+     * Books a whole group in one transaction. Passengers are grouped by flight and class, so each cabin is
+     * reserved with a single conditional update however large the group is, and the booking details are
+     * inserted in JDBC batches thanks to their pooled sequence ids. Without {@code allowPartial} any
+     * rejected passenger fails the whole group, as for a normal booking.
+     */
+    private GroupBookingResponse placeGroupBooking(GroupBookingRequest request, User user) {
+        List<BookingRequest.PassengerDetail> passengers = request.getPassengers();
+        List<GroupBookingResponse.PassengerOutcome> outcomes = new ArrayList<>(passengers.size());
+        Map<SeatKey, List<Integer>> passengersBySeatKey = new TreeMap<>(SeatKey.LOCK_ORDER);
+        for (int index = 0; index < passengers.size(); index++) {
+            BookingRequest.PassengerDetail passenger = passengers.get(index);
+            GroupBookingResponse.PassengerOutcome outcome = new GroupBookingResponse.PassengerOutcome();
+            outcome.setIndex(index);
+            outcome.setPassengerName(passenger.getPassengerName());
+            outcome.setFlightId(passenger.getFlightId());
+            outcomes.add(outcome);
+            try {
+                SeatKey seatKey = seatKey(passenger);
+                outcome.setSeatClass(seatKey.seatClass());
+                passengersBySeatKey.computeIfAbsent(seatKey, key -> new ArrayList<>()).add(index);
+            } catch (RuntimeException e) {
+                reject(outcome, e.getMessage(), request.isAllowPartial());
+            }
+        }
+
+        // Cabins are reserved in SeatKey.LOCK_ORDER, like single bookings
+        Map<SeatKey, List<Integer>> accepted = new TreeMap<>(SeatKey.LOCK_ORDER);
+        passengersBySeatKey.forEach((seatKey, indexes) -> {
+            int reserved;
+            String reason = "Not enough " + seatKey.seatClass() + " seats available on flight with ID: " + seatKey.flightId();
+            try {
+                reserved = reserveUpTo(seatKey, indexes.size(), request.isAllowPartial());
+            } catch (RuntimeException e) {
+                reserved = 0;
+                reason = e.getMessage();
+            }
+            for (int i = reserved; i < indexes.size(); i++) {
+                reject(outcomes.get(indexes.get(i)), reason, request.isAllowPartial());
+            }
+            if (reserved > 0) {
+                accepted.put(seatKey, indexes.subList(0, reserved));
+            }
+        });
+        if (accepted.isEmpty()) {
+            throw new RuntimeException("None of the " + passengers.size() + " passengers could be booked");
+        }
+
+        User customer = userRepository.findById(user.getId())
+                .orElseThrow(() -> new RuntimeException("Customer not found with ID: " + user.getId()));
+        Booking booking = newBooking(customer, user, request.getContactEmail(), request.getContactPhone());
+        accepted.forEach((seatKey, indexes) -> {
+            List<BookingDetail> details = new ArrayList<>(indexes.size());
+            for (int index : indexes) {
+                BookingDetail detail = newDetail(passengers.get(index), seatKey);
+                booking.addBookingDetail(detail);
+                details.add(detail);
+            }
+            Set<BookingDetail> reassigned = assignSeats(seatKey, details, true);
+            for (int i = 0; i < details.size(); i++) {
+                GroupBookingResponse.PassengerOutcome outcome = outcomes.get(indexes.get(i));
+                BookingDetail detail = details.get(i);
+                outcome.setSeatNumber(detail.getSeatNumber());
+                if (reassigned.contains(detail)) {
+                    outcome.setOutcome(GroupBookingResponse.Outcome.SEAT_REASSIGNED);
+                    outcome.setMessage("Seat " + passengers.get(indexes.get(i)).getSeatNumber() + " was not available");
+                } else {
+                    outcome.setOutcome(GroupBookingResponse.Outcome.BOOKED);
+                }
+            }
+        });
+        Booking savedBooking = saveBooking(booking);
+        bookingSummaries.bookingCreated(savedBooking);
+
+        GroupBookingResponse response = new GroupBookingResponse();
+        response.setBooking(convertToResponse(savedBooking));
+        response.setRequestedPassengers(passengers.size());
+        response.setBookedPassengers(savedBooking.getBookingDetails().size());
+        response.setPassengers(outcomes);
+        return response;
+    }
+
+    /**
+     * Inserts a booking with its details. If the database refuses a seat that another instance assigned
+     * first, the seat maps of the booking's flights are rebuilt and the booking is retried as a conflict,
+     * so it gets the next free seat.
+     */
+    private Booking saveBooking(Booking booking) {
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (!SeatAllocator.isSeatConflict(e)) {
+                throw e;
+            }
+            Set<Long> flightIds = new TreeSet<>();
+            booking.getBookingDetails().forEach(detail -> flightIds.add(detail.getFlight().getId()));
+            flightIds.forEach(seatAllocator::forget);
+            throw new ConcurrencyFailureException("A seat on flights " + flightIds + " was assigned by another booking", e);
+        }
+    }
+
+    private static void reject(GroupBookingResponse.PassengerOutcome outcome, String reason, boolean allowPartial) {
+        if (!allowPartial) {
+            throw new RuntimeException("Passenger " + (outcome.getIndex() + 1) + " (" + outcome.getPassengerName() + "): " + reason);
+        }
+        outcome.setOutcome(GroupBookingResponse.Outcome.REJECTED);
+        outcome.setMessage(reason);
+    }
+
+    /**
+     * Reserves {@code count} seats of a cabin or, with {@code allowPartial}, as many of them as are left.
+     */
+    private int reserveUpTo(SeatKey seatKey, int count, boolean allowPartial) {
+        findBookableFlight(seatKey.flightId());
+        if (seatInventory.reserve(seatKey.flightId(), seatKey.seatClass(), count)) {
+            return count;
+        }
+        if (!allowPartial) {
+            return 0;
+        }
+        // Concurrent bookings may take seats between the read and the reservation, so try a few times
+        for (int attempt = 0; attempt < 3; attempt++) {
+            int available = Math.min(count, findBookableFlight(seatKey.flightId()).getAvailableSeats(seatKey.seatClass()));
+            if (available <= 0) {
+                return 0;
+            }
+            if (seatInventory.reserve(seatKey.flightId(), seatKey.seatClass(), available)) {
+                return available;
+            }
+        }
+        return 0;
+    }
+
+    private Booking newBooking(User customer, User createdBy, String contactEmail, String contactPhone) {
+        Booking booking = new Booking();
+        booking.setBookingReference(referenceGenerator.nextReference());
+        booking.setUser(customer);
+        booking.setCreatedBy(createdBy.getId().equals(customer.getId()) ? customer : userRepository.getReferenceById(createdBy.getId()));
+        booking.setContactEmail(contactEmail != null ? contactEmail : customer.getEmail());
+        booking.setContactPhone(contactPhone != null ? contactPhone : customer.getPhoneNumber());
+        booking.setStatus(BookingStatus.CONFIRMED);
+        return booking;
+    }
+
+    private BookingDetail newDetail(BookingRequest.PassengerDetail passenger, SeatKey seatKey) {
+        Flight flight = flightRepository.getReferenceById(seatKey.flightId());
+        BookingDetail detail = new BookingDetail();
+        detail.setFlight(flight);
+        detail.setPassengerName(passenger.getPassengerName());
+        detail.setPassportNumber(passenger.getPassportNumber());
+        detail.setSeatClass(seatKey.seatClass());
+        detail.setSeatNumber(passenger.getSeatNumber());
+        detail.setAmount(flight.getPriceForClass(seatKey.seatClass()));
+        detail.setSpecialRequirements(passenger.getSpecialRequirements());
+        detail.setTransit(passenger.getConnectingFlightDetailId() != null);
+        return detail;
+    }
+
+    /**
+     * Gives every passenger of one cabin a seat: chosen seats are taken as requested, and everyone
+     * else is seated together. A full seat map leaves the seat unassigned rather than failing the
+     * booking, since the seats themselves are already reserved in the inventory.
+     *
+     * @param reassignUnavailable seat passengers whose chosen seat is taken elsewhere instead of failing
+     * @return the passengers who did not get the seat they chose
+     */
+    private Set<BookingDetail> assignSeats(SeatKey seatKey, List<BookingDetail> details, boolean reassignUnavailable) {
+        Set<BookingDetail> reassigned = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<BookingDetail> unseated = new ArrayList<>();
+        for (BookingDetail detail : details) {
+            if (detail.getSeatNumber() == null) {
+                unseated.add(detail);
+                continue;
+            }
+            String seatNumber = detail.getSeatNumber().trim().toUpperCase();
+            if (seatAllocator.select(seatKey.flightId(), seatKey.seatClass(), seatNumber)) {
+                detail.setSeatNumber(seatNumber);
+            } else if (reassignUnavailable) {
+                detail.setSeatNumber(null);
+                reassigned.add(detail);
+                unseated.add(detail);
+            } else {
+                throw new RuntimeException("Seat " + seatNumber + " is not available on flight with ID: " + seatKey.flightId());
+            }
+        }
+        if (!unseated.isEmpty()) {
+            List<String> seats = seatAllocator.allocateTogether(seatKey.flightId(), seatKey.seatClass(), unseated.size());
+            for (int i = 0; i < seats.size(); i++) {
+                unseated.get(i).setSeatNumber(seats.get(i));
+            }
+        }
+        return reassigned;
+    }
+
+    // Seats are reserved in SeatKey.LOCK_ORDER, so concurrent multi-flight bookings cannot deadlock
+    private void reserveSeats(Map<SeatKey, Integer> seatsNeeded) {
+        for (SeatKey seatKey : seatsNeeded.keySet()) {
+            findBookableFlight(seatKey.flightId());
+        }
+        seatsNeeded.forEach((seatKey, seats) -> {
+            if (!seatInventory.reserve(seatKey.flightId(), seatKey.seatClass(), seats)) {
+                throw new RuntimeException("Not enough " + seatKey.seatClass() + " seats available on flight with ID: " + seatKey.flightId());
+            }
+        });
+    }
+
+    private Flight findBookableFlight(Long flightId) {
+        Flight flight = flightRepository.findById(flightId)
+                .orElseThrow(() -> new RuntimeException("Flight not found with ID: " + flightId));
+        if (!FlightRouteGraph.SEARCHABLE_STATUSES.contains(flight.getStatus())) {
+            throw new RuntimeException("Flight " + flight.getFlightNumber() + " is not open for booking");
+        }
+        return flight;
+    }
+
+    private static Set<Long> flightIds(List<BookingRequest.PassengerDetail> passengers) {
+        Set<Long> flightIds = new TreeSet<>();
+        for (BookingRequest.PassengerDetail passenger : passengers) {
+            if (passenger.getFlightId() != null) {
+                flightIds.add(passenger.getFlightId());
+            }
+        }
+        return flightIds;
+    }
+
+    private SeatKey seatKey(BookingRequest.PassengerDetail passenger) {
+        if (passenger.getFlightId() == null) {
+            throw new RuntimeException("Flight is required for passenger " + passenger.getPassengerName());
+        }
+        SeatClass seatClass = SeatClass.fromString(passenger.getSeatClass());
+        return new SeatKey(passenger.getFlightId(), seatClass != null ? seatClass : SeatClass.ECONOMY_CLASS);
     }
 
     @Override
@@ -34,9 +394,37 @@ public class BookingServiceImpl implements BookingService {
         return Optional.empty();
     }
 
+    /**
+     * Returns all of the user's bookings, newest first. The order comes from the booking summary table,
+     * walked one keyset page at a time; each page of bookings is then loaded with its details in one query.
+     */
     @Override
+    @Transactional(readOnly = true)
     public List<BookingResponse> getBookingsByUser(User user) {
-        return List.of();
+        List<BookingResponse> bookings = new ArrayList<>();
+        String cursor = null;
+        do {
+            BookingSummaryPage page = bookingSummaries.page(user.getId(), cursor, BookingSummaryProjection.MAX_PAGE_SIZE);
+            List<Long> ids = page.getBookings().stream().map(BookingSummaryDto::getId).toList();
+            Map<Long, Booking> bookingsById = new HashMap<>();
+            if (!ids.isEmpty()) {
+                bookingRepository.findAllWithDetailsByIdIn(ids).forEach(booking -> bookingsById.put(booking.getId(), booking));
+            }
+            for (Long id : ids) {
+                Booking booking = bookingsById.get(id);
+                if (booking != null) {
+                    bookings.add(convertToResponse(booking));
+                }
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return bookings;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookingSummaryPage getBookingSummaries(User user, String cursor, int size) {
+        return bookingSummaries.page(user.getId(), cursor, size);
     }
 
     @Override
@@ -59,14 +447,76 @@ public class BookingServiceImpl implements BookingService {
         return List.of();
     }
 
+    /**
+     * Moves a booking to another status. Cancelling goes through the same path as {@link #cancelBooking},
+     * so the seats are given back; a cancelled booking cannot be reopened because its seats may be gone.
+     */
     @Override
     public BookingResponse updateBookingStatus(Long id, BookingStatus status) {
-        return new BookingResponse();
+        if (status == null) {
+            throw new RuntimeException("Booking status is required");
+        }
+        return conflictRetry.execute("booking-status", List.of(), () -> {
+            if (status == BookingStatus.CANCELLED) {
+                releaseBooking(id);
+            } else if (bookingRepository.updateStatus(id, status, LocalDateTime.now()) == 0) {
+                Booking booking = bookingRepository.findById(id)
+                        .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + id));
+                throw new RuntimeException("Booking " + booking.getBookingReference() + " is cancelled and cannot be moved to " + status);
+            } else {
+                bookingSummaries.statusChanged(id, status);
+            }
+            return bookingRepository.findById(id)
+                    .map(this::convertToResponse)
+                    .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + id));
+        });
     }
 
     @Override
-    public void cancelBooking(Long id) {
-        // Stub implementation
+    public void cancelBooking(Long id, User user) {
+        conflictRetry.execute("cancel", List.of(), () -> {
+            bookingRepository.findById(id)
+                    .filter(booking -> canAccess(booking, user))
+                    .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + id));
+            releaseBooking(id);
+            return null;
+        });
+    }
+
+    // Customers only reach their own bookings; staff can reach any
+    private static boolean canAccess(Booking booking, User user) {
+        return booking.getUser().getId().equals(user.getId()) || user.getRole() != Role.CUSTOMER;
+    }
+
+    /**
+     * Cancels a booking and gives its seats back: one conditional release per flight and class, in
+     * SeatKey.LOCK_ORDER, in the same transaction as the status change, which also deactivates the booking
+     * details so their seat numbers can be assigned again. Waitlisted customers are promoted into the freed
+     * seats afterwards by the WaitlistPromoter, not by this request.
+     */
+    private void releaseBooking(Long id) {
+        if (bookingRepository.cancelBooking(id, LocalDateTime.now()) == 0) {
+            Booking booking = bookingRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + id));
+            throw new RuntimeException("Booking " + booking.getBookingReference() + " cannot be cancelled in status " + booking.getStatus());
+        }
+        bookingSummaries.statusChanged(id, BookingStatus.CANCELLED);
+        Booking booking = bookingRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + id));
+
+        Map<SeatKey, Integer> seatsToRelease = new TreeMap<>(SeatKey.LOCK_ORDER);
+        for (BookingDetail detail : booking.getBookingDetails()) {
+            SeatKey seatKey = new SeatKey(detail.getFlight().getId(), detail.getSeatClass());
+            seatsToRelease.merge(seatKey, 1, Integer::sum);
+            seatAllocator.release(seatKey.flightId(), seatKey.seatClass(), detail.getSeatNumber());
+        }
+        seatsToRelease.forEach((seatKey, seats) -> {
+            if (!seatInventory.release(seatKey.flightId(), seatKey.seatClass(), seats)) {
+                logger.warn("Releasing {} {} seats of cancelled booking {} would exceed the capacity of flight {}",
+                        seats, seatKey.seatClass(), booking.getBookingReference(), seatKey.flightId());
+            }
+        });
+        bookingDetailRepository.releaseSeats(id, LocalDateTime.now());
     }
 
     @Override
@@ -83,4 +533,64 @@ public class BookingServiceImpl implements BookingService {
     public byte[] generatePassengerManifest(Long flightId) throws Exception {
         return new byte[0];
     }
+
+    private BookingResponse convertToResponse(Booking booking) {
+        BookingResponse response = new BookingResponse();
+        response.setId(booking.getId());
+        response.setBookingReference(booking.getBookingReference());
+        response.setBookingDate(booking.getBookingDate());
+        response.setTotalAmount(booking.getTotalAmount());
+        response.setStatus(booking.getStatus());
+        response.setContactEmail(booking.getContactEmail());
+        response.setContactPhone(booking.getContactPhone());
+        if (booking.getUser() != null) {
+            response.setCustomerName(booking.getUser().getFirstName() + " " + booking.getUser().getLastName());
+        }
+        response.setBookingDetails(booking.getBookingDetails().stream()
+                .map(this::convertToDetailDto)
+                .toList());
+        return response;
+    }
+
+    private BookingResponse.BookingDetailDto convertToDetailDto(BookingDetail detail) {
+        BookingResponse.BookingDetailDto dto = new BookingResponse.BookingDetailDto();
+        dto.setId(detail.getId());
+        dto.setFlight(convertToFlightDto(detail.getFlight()));
+        dto.setPassengerName(detail.getPassengerName());
+        dto.setPassportNumber(detail.getPassportNumber());
+        dto.setSeatClass(detail.getSeatClass());
+        dto.setSeatNumber(detail.getSeatNumber());
+        dto.setAmount(detail.getAmount());
+        dto.setCheckedIn(detail.isCheckedIn());
+        dto.setTransit(detail.isTransit());
+        dto.setSpecialRequirements(detail.getSpecialRequirements());
+        return dto;
+    }
+
+    private FlightDto convertToFlightDto(Flight flight) {
+        FlightDto dto = new FlightDto();
+        dto.setId(flight.getId());
+        dto.setFlightNumber(flight.getFlightNumber());
+        dto.setDepartureTime(flight.getDepartureTime());
+        dto.setArrivalTime(flight.getArrivalTime());
+        dto.setFirstClassPrice(flight.getFirstClassPrice());
+        dto.setBusinessClassPrice(flight.getBusinessClassPrice());
+        dto.setEconomyClassPrice(flight.getEconomyClassPrice());
+        dto.setFirstClassAvailableSeats(flight.getFirstClassAvailableSeats());
+        dto.setBusinessClassAvailableSeats(flight.getBusinessClassAvailableSeats());
+        dto.setEconomyClassAvailableSeats(flight.getEconomyClassAvailableSeats());
+        dto.setStatus(flight.getStatus());
+        dto.setDistanceKm(flight.getDistanceKm());
+        if (flight.getDepartureTime() != null && flight.getArrivalTime() != null) {
+            dto.setDurationMinutes((int) ChronoUnit.MINUTES.between(flight.getDepartureTime(), flight.getArrivalTime()));
+        }
+        if (flight.getAirplane() != null) {
+            dto.setAirplaneModel(flight.getAirplane().getModel());
+            dto.setAirplaneRegistration(flight.getAirplane().getRegistrationNumber());
+        }
+        // Airports are shared reference data
+        dto.setOriginAirport(airportRegistry.get(flight.getOriginAirport()));
+        dto.setDestinationAirport(airportRegistry.get(flight.getDestinationAirport()));
+        return dto;
+    }
 } 
\ No newline at end of file
@@ -2,10 +2,22 @@ package com.travel360.api.service.impl;
 
 import com.travel360.api.dto.flight.AirportDto;
 import com.travel360.api.dto.flight.DirectFlightDto;
+import com.travel360.api.dto.flight.FareCalendarDayDto;
+import com.travel360.api.dto.flight.FareCalendarRequest;
+import com.travel360.api.dto.flight.FareCalendarResponse;
+import com.travel360.api.dto.flight.FlightConflictStats;
 import com.travel360.api.dto.flight.FlightDto;
 import com.travel360.api.dto.flight.FlightSearchRequest;
 import com.travel360.api.dto.flight.FlightSearchResponse;
+import com.travel360.api.dto.flight.MultiCitySearchRequest;
+import com.travel360.api.dto.flight.MultiCitySearchResponse;
+import com.travel360.api.dto.flight.SearchSortOption;
+import com.travel360.api.dto.flight.TripItineraryDto;
+import com.travel360.api.dto.flight.TripSegmentRequest;
+import com.travel360.api.dto.flight.SearchCacheStats;
+import com.travel360.api.dto.flight.SeatMapDto;
 import com.travel360.api.dto.flight.TransitFlightDto;
+import com.travel360.api.event.FlightChangedEvent;
 import com.travel360.api.model.Airport;
 import com.travel360.api.model.Flight;
 import com.travel360.api.model.FlightStatus;
@@ -13,18 +25,50 @@ import com.travel360.api.model.SeatClass;
 import com.travel360.api.repository.AirplaneRepository;
 import com.travel360.api.repository.AirportRepository;
 import com.travel360.api.repository.FlightRepository;
+import com.travel360.api.repository.projection.FlightView;
 import com.travel360.api.service.FlightService;
+import com.travel360.api.service.booking.SeatAllocator;
+import com.travel360.api.service.concurrency.ConflictRetryTemplate;
+import com.travel360.api.service.reference.AirportDistanceMatrix;
+import com.travel360.api.service.reference.AirportDtoRegistry;
+import com.travel360.api.service.reference.AirportSpatialIndex;
+import com.travel360.api.service.search.ConnectionTimeTable;
+import com.travel360.api.service.search.FlightRouteGraph;
+import com.travel360.api.service.search.FlightSearchCache;
+import com.travel360.api.service.search.FlightSearchKey;
+import com.travel360.api.service.search.ItineraryQuery;
+import com.travel360.api.service.search.ItinerarySearchEngine;
+import com.travel360.api.service.search.RankedItinerary;
+import com.travel360.api.service.search.SearchExecutor;
+import com.travel360.api.service.search.SearchRequestCoalescer;
+import com.travel360.api.service.search.SearchResultCopies;
+import com.travel360.api.service.search.SearchResultListener;
+import com.travel360.api.service.search.SearchResultPager;
+import com.travel360.api.service.search.TopKCollector;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -38,17 +82,84 @@ public class FlightServiceImpl implements FlightService {
     
     @Autowired
     private AirplaneRepository airplaneRepository;
+    
+    @Autowired
+    private FlightRouteGraph routeGraph;
+    
+    @Autowired
+    private ItinerarySearchEngine itinerarySearchEngine;
+    
+    @Autowired
+    private FlightSearchCache searchCache;
+    
+    @Autowired
+    private SearchExecutor searchExecutor;
+    
+    @Autowired
+    private AirportDtoRegistry airportRegistry;
+    
+    @Autowired
+    private ConnectionTimeTable connectionTimes;
+    
+    @Autowired
+    private AirportSpatialIndex spatialIndex;
+    
+    @Autowired
+    private AirportDistanceMatrix distanceMatrix;
+    
+    @Autowired
+    private SearchResultPager searchResultPager;
+
+    @Autowired
+    private ConflictRetryTemplate conflictRetry;
+
+    @Autowired
+    private SeatAllocator seatAllocator;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    // When disabled, searches read from the database: one query for direct flights and one for connections
+    @Value("${travel360.search.route-graph.enabled:true}")
+    private boolean routeGraphEnabled;
+    
+    @Value("${travel360.search.max-itineraries:500}")
+    private int maxItineraries;
+    
+    // Comprehensive searches that run longer return what was found so far, flagged as partial
+    @Value("${travel360.search.deadline-ms:2000}")
+    private long searchDeadlineMillis;
+    
+    // Radius searches use at most this many airports (nearest first) on each end
+    @Value("${travel360.search.nearby.max-airports:5}")
+    private int maxNearbyAirports;
+    
+    // Cheapest options kept per segment of a multi-city search before combining them
+    @Value("${travel360.search.multi-city.options-per-segment:10}")
+    private int optionsPerSegment;
+    
+    // Ranked searches keep at most this many results (or one page, if larger) for paging
+    @Value("${travel360.search.ranking.max-results:200}")
+    private int rankingMaxResults;
+    
+    // Concurrent identical searches share a single in-progress computation
+    private final SearchRequestCoalescer<FlightSearchKey, List<FlightDto>> directSearches =
+            new SearchRequestCoalescer<>(SearchResultCopies::copyFlights);
+    private final SearchRequestCoalescer<FlightSearchKey, List<List<FlightDto>>> connectingSearches =
+            new SearchRequestCoalescer<>(SearchResultCopies::copyConnections);
+    private final SearchRequestCoalescer<FlightSearchKey, FlightSearchResponse> comprehensiveSearches =
+            new SearchRequestCoalescer<>(SearchResultCopies::copy);
 
     @Override
     public List<FlightDto> getAllFlights() {
-        return flightRepository.findAll().stream()
+        return flightRepository.findAllFlightViews().stream()
                 .map(this::convertToDto)
                 .toList();
     }
 
     @Override
     public Page<FlightDto> getAllFlights(Pageable pageable, String search, FlightStatus status, Long originAirportId, Long destinationAirportId) {
-        Page<Flight> flightPage = flightRepository.findBySearchCriteria(pageable, search, status, originAirportId, destinationAirportId);
+        Page<FlightView> flightPage = flightRepository.findViewsBySearchCriteria(pageable, search, status, originAirportId, destinationAirportId);
         return flightPage.map(this::convertToDto);
     }
 
@@ -88,6 +199,8 @@ public class FlightServiceImpl implements FlightService {
                     .orElseThrow(() -> new RuntimeException("Destination airport not found with ID: " + flight.getDestinationAirport().getId())));
         }
         
+        fillMissingDistance(flight);
+        
         // Initialize available seats based on airplane capacity
         if (flight.getAirplane() != null) {
             flight.setFirstClassAvailableSeats(flight.getAirplane().getFirstClassCapacity());
@@ -101,6 +214,7 @@ public class FlightServiceImpl implements FlightService {
         }
         
         Flight savedFlight = flightRepository.save(flight);
+        eventPublisher.publishEvent(FlightChangedEvent.created(savedFlight));
         return convertToDto(savedFlight);
     }
 
@@ -140,68 +254,55 @@ public class FlightServiceImpl implements FlightService {
                                 .orElseThrow(() -> new RuntimeException("Destination airport not found with ID: " + flight.getDestinationAirport().getId())));
                     }
                     
+                    fillMissingDistance(existingFlight);
+                    
                     Flight updatedFlight = flightRepository.save(existingFlight);
+                    eventPublisher.publishEvent(FlightChangedEvent.updated(updatedFlight));
                     return convertToDto(updatedFlight);
                 })
                 .orElseThrow(() -> new RuntimeException("Flight not found with ID: " + id));
     }
 
+    // Operators may leave the distance out; the great-circle distance between the airports is used instead
+    private void fillMissingDistance(Flight flight) {
+        if (flight.getDistanceKm() <= 0 && flight.getOriginAirport() != null && flight.getDestinationAirport() != null) {
+            flight.setDistanceKm((int) Math.round(distanceMatrix.distanceKm(flight.getOriginAirport(), flight.getDestinationAirport())));
+        }
+    }
+
     @Override
     public void deleteFlight(Long id) {
         if (!flightRepository.existsById(id)) {
             throw new RuntimeException("Flight not found with ID: " + id);
         }
         flightRepository.deleteById(id);
+        eventPublisher.publishEvent(FlightChangedEvent.deleted(id));
     }
 
     @Override
     public List<FlightDto> searchDirectFlights(FlightSearchRequest request) {
-        LocalDateTime departureDateTime = request.getDepartureDate().atStartOfDay();
-        List<Flight> flights = flightRepository.findAvailableDirectFlights(
-                request.getOriginAirportId(),
-                request.getDestinationAirportId(),
-                departureDateTime
-        );
-        return flights.stream().map(this::convertToDto).toList();
+        return directSearches.execute(FlightSearchKey.of(request), () -> {
+            LocalDateTime departureDateTime = request.getDepartureDate().atStartOfDay();
+            return routeRequests(request).stream()
+                    .flatMap(route -> flightRepository.findAvailableDirectFlightViews(
+                            route.getOriginAirportId(),
+                            route.getDestinationAirportId(),
+                            departureDateTime
+                    ).stream())
+                    .map(this::convertToDto)
+                    .toList();
+        });
     }
 
     @Override
     public List<List<FlightDto>> searchConnectingFlights(FlightSearchRequest request) {
-        List<List<FlightDto>> connectingFlights = new ArrayList<>();
-        
-        LocalDateTime departureDateTime = request.getDepartureDate().atStartOfDay();
-        
-        // Find all flights from origin
-        List<Flight> firstLegFlights = flightRepository.findAvailableDirectFlights(
-                request.getOriginAirportId(),
-                null, // Any destination for first leg
-                departureDateTime
-        );
-        
-        // For each first leg flight, find connecting flights
-        for (Flight firstFlight : firstLegFlights) {
-            if (!firstFlight.getDestinationAirport().getId().equals(request.getDestinationAirportId())) {
-                // Look for second leg flights from this intermediate airport
-                LocalDateTime minConnectionTime = firstFlight.getArrivalTime().plusMinutes(60); // 1 hour minimum connection
-                List<Flight> secondLegFlights = flightRepository.findAvailableDirectFlights(
-                        firstFlight.getDestinationAirport().getId(),
-                        request.getDestinationAirportId(),
-                        minConnectionTime
-                );
-                
-                for (Flight secondFlight : secondLegFlights) {
-                    if (firstFlight.canConnectTo(secondFlight, 60)) {
-                        List<FlightDto> connection = List.of(
-                                convertToDto(firstFlight),
-                                convertToDto(secondFlight)
-                        );
-                        connectingFlights.add(connection);
-                    }
-                }
-            }
-        }
-        
-        return connectingFlights;
+        return connectingSearches.execute(FlightSearchKey.of(request), () -> {
+            FlightRouteGraph.Snapshot schedule = currentSchedule();
+            return routeRequests(request).stream()
+                    .flatMap(route -> findItineraries(route, schedule).stream())
+                    .map(itinerary -> itinerary.stream().map(this::convertToDto).toList())
+                    .toList();
+        });
     }
 
     @Override
@@ -224,12 +325,16 @@ public class FlightServiceImpl implements FlightService {
 
     @Override
     public FlightDto updateFlightStatus(Long id, FlightStatus status) {
-        Flight flight = flightRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Flight not found with ID: " + id));
-        
-        flight.setStatus(status);
-        Flight updatedFlight = flightRepository.save(flight);
-        return convertToDto(updatedFlight);
+        // Load and save in one transaction, so a concurrent seat change makes this attempt fail and retry
+        return conflictRetry.execute("flight-status", List.of(id), () -> {
+            Flight flight = flightRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Flight not found with ID: " + id));
+            
+            flight.setStatus(status);
+            Flight updatedFlight = flightRepository.save(flight);
+            eventPublisher.publishEvent(FlightChangedEvent.statusChanged(updatedFlight));
+            return convertToDto(updatedFlight);
+        });
     }
 
     @Override
@@ -239,86 +344,587 @@ public class FlightServiceImpl implements FlightService {
 
     @Override
     public FlightSearchResponse searchFlights(FlightSearchRequest request) {
-        // Search for direct flights
-        List<DirectFlightDto> directFlights = searchDirectFlightsEnhanced(request);
+        if (request.getPageSize() != null) {
+            return searchRanked(request);
+        }
         
-        // Search for transit flights if requested
-        List<TransitFlightDto> transitFlights = new ArrayList<>();
+        FlightSearchKey key = FlightSearchKey.of(request);
+        if (!searchCache.isEnabled()) {
+            return comprehensiveSearches.execute(key, () -> executeSearch(request));
+        }
+        
+        FlightSearchResponse cached = searchCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        
+        // Cache misses for the same key are computed once and the result shared with every waiting request
+        return comprehensiveSearches.execute(key, () -> {
+            long cacheVersion = searchCache.version();
+            FlightSearchResponse response = executeSearch(request);
+            if (!response.isPartialResults()) {
+                searchCache.put(key, response, cacheVersion);
+            }
+            return response;
+        });
+    }
+    
+    @Override
+    public FlightSearchResponse getSearchResultPage(String cursor) {
+        return searchResultPager.nextPage(cursor);
+    }
+    
+    @Override
+    public void streamFlights(FlightSearchRequest request, SearchResultListener listener) {
+        FlightSearchResponse cached = searchCache.isEnabled() ? searchCache.get(FlightSearchKey.of(request)) : null;
+        if (cached != null) {
+            cached.getDirectFlights().forEach(listener::onDirectFlight);
+            cached.getTransitFlights().forEach(listener::onTransitFlight);
+            return;
+        }
+        
+        // Results go straight to the listener as they are found; nothing is buffered, so nothing is cached
+        FlightRouteGraph.Snapshot schedule = currentSchedule();
+        List<FlightSearchRequest> routes = routeRequests(request);
+        for (FlightSearchRequest route : routes) {
+            searchDirectFlightsEnhanced(route, schedule).forEach(listener::onDirectFlight);
+        }
         if (request.isIncludeTransits()) {
-            transitFlights = searchTransitFlights(request);
+            for (FlightSearchRequest route : routes) {
+                forEachItinerary(route, schedule,
+                        itinerary -> listener.onTransitFlight(createTransitFlightDto(itinerary, request.getSeatClass())));
+            }
         }
+    }
+    
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public MultiCitySearchResponse searchMultiCity(MultiCitySearchRequest request) {
+        // All segments read the same schedule snapshot; without the route graph they share one
+        // repeatable-read transaction instead, so availability is consistent across the trip
+        FlightRouteGraph.Snapshot schedule = currentSchedule();
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(searchDeadlineMillis);
+        
+        // Identical segments are searched once
+        Map<FlightSearchKey, FutureTask<SegmentOptions>> searches = new LinkedHashMap<>();
+        List<FlightSearchKey> segmentKeys = new ArrayList<>();
+        for (TripSegmentRequest segment : request.getSegments()) {
+            FlightSearchRequest segmentRequest = toSegmentRequest(segment, request);
+            FlightSearchKey key = FlightSearchKey.of(segmentRequest);
+            segmentKeys.add(key);
+            searches.computeIfAbsent(key, k -> {
+                Callable<SegmentOptions> search = () -> findSegmentOptions(segmentRequest, schedule, deadlineNanos);
+                // Database reads must stay on this thread to share the transaction, so they are only run by join
+                return schedule != null ? searchExecutor.submit(search) : new FutureTask<>(search);
+            });
+        }
+        
+        List<List<RankedItinerary>> segmentOptions = new ArrayList<>();
+        List<Integer> segmentOptionCounts = new ArrayList<>();
+        boolean complete = true;
+        for (FlightSearchKey key : segmentKeys) {
+            SegmentOptions options = searchExecutor.join(searches.get(key));
+            segmentOptions.add(options.options());
+            segmentOptionCounts.add(options.options().size());
+            complete &= options.complete();
+        }
+        
+        TopKCollector<TripCombination> cheapest = new TopKCollector<>(request.getMaxResults(),
+                Comparator.comparing(TripCombination::totalPrice));
+        if (segmentOptions.stream().noneMatch(List::isEmpty)) {
+            combineSegments(segmentOptions, 0, new ArrayList<>(), BigDecimal.ZERO, cheapestRemaining(segmentOptions), cheapest);
+        }
+        
+        // Each segment option is converted once, however many trips include it
+        Map<RankedItinerary, TransitFlightDto> converted = new IdentityHashMap<>();
+        List<TripItineraryDto> itineraries = cheapest.toSortedList().stream()
+                .map(trip -> {
+                    TripItineraryDto dto = new TripItineraryDto();
+                    dto.setSegments(trip.segments().stream()
+                            .map(option -> converted.computeIfAbsent(option,
+                                    o -> createTransitFlightDto(o.legs(), request.getSeatClass())))
+                            .toList());
+                    dto.setTotalPrice(trip.totalPrice());
+                    dto.setTotalFlightCount(trip.segments().stream().mapToInt(option -> option.legs().size()).sum());
+                    dto.setTotalDurationMinutes((int) trip.segments().stream().mapToLong(RankedItinerary::durationMinutes).sum());
+                    return dto;
+                })
+                .toList();
         
-        return new FlightSearchResponse(directFlights, transitFlights);
+        MultiCitySearchResponse response = new MultiCitySearchResponse();
+        response.setItineraries(itineraries);
+        response.setTotalItineraries(itineraries.size());
+        response.setSegmentOptionCounts(segmentOptionCounts);
+        response.setPartialResults(!complete);
+        response.setSearchSummary(itineraries.isEmpty()
+                ? "No itineraries found for the requested trip"
+                : String.format("Found %d itineraries for a %d-segment trip", itineraries.size(), request.getSegments().size()));
+        return response;
     }
     
-    private List<DirectFlightDto> searchDirectFlightsEnhanced(FlightSearchRequest request) {
-        LocalDateTime departureDateTime = request.getDepartureDate().atStartOfDay();
-        LocalDateTime endOfDay = departureDateTime.plusDays(1).minusMinutes(1);
+    private FlightSearchRequest toSegmentRequest(TripSegmentRequest segment, MultiCitySearchRequest request) {
+        FlightSearchRequest segmentRequest = new FlightSearchRequest();
+        segmentRequest.setOriginAirportId(segment.getOriginAirportId());
+        segmentRequest.setDestinationAirportId(segment.getDestinationAirportId());
+        segmentRequest.setDepartureDate(segment.getDepartureDate());
+        segmentRequest.setSeatClass(request.getSeatClass());
+        segmentRequest.setPassengerCount(request.getPassengerCount());
+        segmentRequest.setIncludeTransits(request.isIncludeTransits());
+        segmentRequest.setMaxStops(request.getMaxStops());
+        return segmentRequest;
+    }
+    
+    /**
+     * The cheapest direct flights and transit itineraries for one segment, cheapest first.
+     */
+    private SegmentOptions findSegmentOptions(FlightSearchRequest request, FlightRouteGraph.Snapshot schedule, long deadlineNanos) {
+        SeatClass seatClass = request.getSeatClass();
+        TopKCollector<RankedItinerary> cheapest = new TopKCollector<>(optionsPerSegment,
+                RankedItinerary.comparator(SearchSortOption.PRICE));
+        for (Flight flight : findDirectFlights(request, schedule)) {
+            cheapest.offer(RankedItinerary.of(List.of(flight), seatClass));
+        }
         
-        List<Flight> flights = flightRepository.findAvailableDirectFlights(
-                request.getOriginAirportId(),
-                request.getDestinationAirportId(),
-                departureDateTime
-        );
+        boolean complete = true;
+        if (request.isIncludeTransits()) {
+            Consumer<List<Flight>> offer = itinerary -> cheapest.offer(RankedItinerary.of(itinerary, seatClass));
+            ItineraryQuery query = toItineraryQuery(request);
+            if (schedule == null) {
+                findConnectionsInDatabase(query).forEach(offer);
+            } else {
+                complete = itinerarySearchEngine.search(schedule, query, offer, Integer.MAX_VALUE, deadlineNanos).isComplete();
+            }
+        }
+        return new SegmentOptions(cheapest.toSortedList(), complete);
+    }
+    
+    /**
+     * Depth-first enumeration of segment combinations in price order. Options within a segment are sorted
+     * by price, so once a prefix plus the cheapest completion cannot beat the worst trip kept, the remaining
+     * options of that segment are skipped.
+     */
+    private void combineSegments(List<List<RankedItinerary>> segmentOptions, int index, List<RankedItinerary> chosen,
+                                 BigDecimal price, BigDecimal[] cheapestRemaining, TopKCollector<TripCombination> cheapest) {
+        if (index == segmentOptions.size()) {
+            cheapest.offer(new TripCombination(List.copyOf(chosen), price));
+            return;
+        }
         
-        return flights.stream()
-                .filter(flight -> flight.getDepartureTime().isBefore(endOfDay))
-                .filter(flight -> hasAvailableSeats(flight, request.getSeatClass(), request.getPassengerCount()))
+        for (RankedItinerary option : segmentOptions.get(index)) {
+            BigDecimal candidatePrice = price.add(option.totalPrice());
+            if (cheapest.isFull()
+                    && candidatePrice.add(cheapestRemaining[index + 1]).compareTo(cheapest.worst().totalPrice()) >= 0) {
+                break;
+            }
+            if (!chosen.isEmpty() && !canFollow(chosen.get(chosen.size() - 1), option)) {
+                continue;
+            }
+            chosen.add(option);
+            combineSegments(segmentOptions, index + 1, chosen, candidatePrice, cheapestRemaining, cheapest);
+            chosen.remove(chosen.size() - 1);
+        }
+    }
+    
+    // cheapestRemaining[i] is the lowest possible price of segments i..n-1
+    private static BigDecimal[] cheapestRemaining(List<List<RankedItinerary>> segmentOptions) {
+        BigDecimal[] cheapestRemaining = new BigDecimal[segmentOptions.size() + 1];
+        cheapestRemaining[segmentOptions.size()] = BigDecimal.ZERO;
+        for (int i = segmentOptions.size() - 1; i >= 0; i--) {
+            cheapestRemaining[i] = cheapestRemaining[i + 1].add(segmentOptions.get(i).get(0).totalPrice());
+        }
+        return cheapestRemaining;
+    }
+    
+    // A segment must depart after the previous one arrives, with at least the minimum connection time at a shared airport
+    private boolean canFollow(RankedItinerary previous, RankedItinerary next) {
+        Flight arriving = previous.legs().get(previous.legs().size() - 1);
+        Flight departing = next.legs().get(0);
+        LocalDateTime earliestDeparture = arriving.getArrivalTime();
+        Long airportId = arriving.getDestinationAirport().getId();
+        if (airportId.equals(departing.getOriginAirport().getId())) {
+            earliestDeparture = earliestDeparture.plusMinutes(connectionTimes.loosest(airportId).minMinutes());
+        }
+        return departing.getDepartureTime().isAfter(earliestDeparture);
+    }
+    
+    private record SegmentOptions(List<RankedItinerary> options, boolean complete) {}
+    
+    private record TripCombination(List<RankedItinerary> segments, BigDecimal totalPrice) {}
+    
+    @Override
+    public FareCalendarResponse getFareCalendar(FareCalendarRequest request) {
+        LocalDate startDate = request.getDepartureDate().minusDays(request.getFlexDays());
+        LocalDate endDate = request.getDepartureDate().plusDays(request.getFlexDays());
+        LocalDateTime windowStart = startDate.atStartOfDay();
+        LocalDateTime windowEnd = endDate.plusDays(1).atStartOfDay();
+        SeatClass seatClass = request.getSeatClass();
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(searchDeadlineMillis);
+        
+        Map<LocalDate, FareCalendarDayDto> days = new LinkedHashMap<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            FareCalendarDayDto day = new FareCalendarDayDto();
+            day.setDate(date);
+            days.put(date, day);
+        }
+        
+        // One pass over the whole window instead of one search per day
+        FlightRouteGraph.Snapshot schedule = currentSchedule();
+        List<Flight> directCandidates = schedule != null
+                ? schedule.departures(request.getOriginAirportId(), windowStart, windowEnd)
+                : flightRepository.findAvailableDirectFlights(request.getOriginAirportId(), request.getDestinationAirportId(), windowStart);
+        for (Flight flight : directCandidates) {
+            if (!flight.getDepartureTime().isBefore(windowEnd)
+                    || !flight.getDestinationAirport().getId().equals(request.getDestinationAirportId())
+                    || !flight.hasAvailableSeats(seatClass, request.getPassengerCount())) {
+                continue;
+            }
+            FareCalendarDayDto day = days.get(flight.getDepartureTime().toLocalDate());
+            day.setDirectFlightCount(day.getDirectFlightCount() + 1);
+            day.setLowestDirectPrice(lowerOf(day.getLowestDirectPrice(), flight.getPriceForClass(seatClass)));
+        }
+        
+        boolean complete = true;
+        if (request.isIncludeTransits()) {
+            ItineraryQuery query = new ItineraryQuery(
+                    request.getOriginAirportId(),
+                    request.getDestinationAirportId(),
+                    windowStart,
+                    windowEnd,
+                    seatClass,
+                    request.getPassengerCount(),
+                    request.getMaxStops()
+            );
+            Consumer<List<Flight>> lowestTransitPerDay = itinerary -> {
+                FareCalendarDayDto day = days.get(itinerary.get(0).getDepartureTime().toLocalDate());
+                BigDecimal totalPrice = itinerary.stream()
+                        .map(flight -> flight.getPriceForClass(seatClass))
+                        .reduce(BigDecimal.ZERO, BigDecimal::add);
+                day.setTransitOptionCount(day.getTransitOptionCount() + 1);
+                day.setLowestTransitPrice(lowerOf(day.getLowestTransitPrice(), totalPrice));
+            };
+            if (schedule != null) {
+                // Only the per-day minimum is kept, so every itinerary can be visited until the deadline
+                complete = itinerarySearchEngine.search(schedule, query, lowestTransitPerDay, Integer.MAX_VALUE, deadlineNanos)
+                        .isComplete();
+            } else {
+                findConnectionsInDatabase(query).forEach(lowestTransitPerDay);
+            }
+        }
+        
+        FareCalendarResponse response = new FareCalendarResponse();
+        response.setOriginAirportId(request.getOriginAirportId());
+        response.setDestinationAirportId(request.getDestinationAirportId());
+        response.setSeatClass(seatClass);
+        response.setStartDate(startDate);
+        response.setEndDate(endDate);
+        response.setPartialResults(!complete);
+        for (FareCalendarDayDto day : days.values()) {
+            day.setLowestPrice(lowerOf(day.getLowestDirectPrice(), day.getLowestTransitPrice()));
+            if (day.getLowestPrice() != null
+                    && (response.getCheapestPrice() == null || day.getLowestPrice().compareTo(response.getCheapestPrice()) < 0)) {
+                response.setCheapestDate(day.getDate());
+                response.setCheapestPrice(day.getLowestPrice());
+            }
+        }
+        response.setDays(new ArrayList<>(days.values()));
+        return response;
+    }
+    
+    private static BigDecimal lowerOf(BigDecimal current, BigDecimal candidate) {
+        if (current == null) {
+            return candidate;
+        }
+        if (candidate == null) {
+            return current;
+        }
+        return candidate.compareTo(current) < 0 ? candidate : current;
+    }
+    
+    @Override
+    public SeatMapDto getSeatMap(Long flightId) {
+        Flight flight = flightRepository.findById(flightId)
+                .orElseThrow(() -> new RuntimeException("Flight not found with ID: " + flightId));
+        
+        List<SeatMapDto.CabinDto> cabins = new ArrayList<>();
+        for (SeatClass seatClass : SeatClass.values()) {
+            SeatAllocator.CabinLayout layout = seatAllocator.layout(flightId, seatClass);
+            if (layout.capacity() == 0) {
+                continue;
+            }
+            SeatMapDto.CabinDto cabin = new SeatMapDto.CabinDto();
+            cabin.setSeatClass(seatClass);
+            cabin.setFirstRow(layout.firstRow());
+            cabin.setLastRow(layout.lastRow());
+            cabin.setSeatsPerRow(layout.seatsPerRow());
+            cabin.setCapacity(layout.capacity());
+            cabin.setAvailableSeats(layout.freeSeats());
+            cabins.add(cabin);
+        }
+        
+        SeatMapDto seatMap = new SeatMapDto();
+        seatMap.setFlightId(flightId);
+        seatMap.setFlightNumber(flight.getFlightNumber());
+        seatMap.setCabins(cabins);
+        return seatMap;
+    }
+    
+    @Override
+    public SearchCacheStats getSearchCacheStats() {
+        return searchCache.getStats();
+    }
+    
+    @Override
+    public FlightConflictStats getConflictStats() {
+        return conflictRetry.getStats();
+    }
+    
+    private FlightSearchResponse executeSearch(FlightSearchRequest request) {
+        // Both legs of the search read from the same in-memory schedule snapshot
+        FlightRouteGraph.Snapshot schedule = currentSchedule();
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(searchDeadlineMillis);
+        
+        // Direct and transit searches run concurrently on the search executor
+        List<FlightSearchRequest> routes = routeRequests(request);
+        FutureTask<List<DirectFlightDto>> directTask = searchExecutor.submit(() -> routes.stream()
+                .flatMap(route -> searchDirectFlightsEnhanced(route, schedule).stream())
+                .collect(Collectors.toList()));
+        FutureTask<TransitSearchResult> transitTask = request.isIncludeTransits()
+                ? searchExecutor.submit(() -> searchTransitFlights(routes, schedule, deadlineNanos))
+                : null;
+        
+        List<DirectFlightDto> directFlights = searchExecutor.join(directTask);
+        TransitSearchResult transitResult = transitTask != null
+                ? searchExecutor.join(transitTask)
+                : new TransitSearchResult(List.of(), true);
+        
+        FlightSearchResponse response = new FlightSearchResponse(directFlights, transitResult.transitFlights());
+        if (!transitResult.complete()) {
+            response.setPartialResults(true);
+            response.setSearchSummary(response.getSearchSummary() + " (search time limit reached, results may be incomplete)");
+        }
+        return response;
+    }
+    
+    /**
+     * Ranked search: direct flights and transit itineraries are offered to bounded top-K heaps as they are
+     * found, and only the best {@code rankingMaxResults} are converted to DTOs and kept for paging.
+     */
+    private FlightSearchResponse searchRanked(FlightSearchRequest request) {
+        FlightRouteGraph.Snapshot schedule = currentSchedule();
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(searchDeadlineMillis);
+        SeatClass seatClass = request.getSeatClass();
+        Comparator<RankedItinerary> order = RankedItinerary.comparator(request.getSortBy());
+        int k = Math.max(request.getPageSize(), rankingMaxResults);
+        List<FlightSearchRequest> routes = routeRequests(request);
+        
+        FutureTask<TopKCollector<RankedItinerary>> directTask = searchExecutor.submit(() -> {
+            TopKCollector<RankedItinerary> best = new TopKCollector<>(k, order);
+            for (FlightSearchRequest route : routes) {
+                for (Flight flight : findDirectFlights(route, schedule)) {
+                    best.offer(RankedItinerary.of(List.of(flight), seatClass));
+                }
+            }
+            return best;
+        });
+        FutureTask<RankedTransits> transitTask = !request.isIncludeTransits() ? null : searchExecutor.submit(() -> {
+            TopKCollector<RankedItinerary> best = new TopKCollector<>(k, order);
+            Consumer<List<Flight>> offer = itinerary -> best.offer(RankedItinerary.of(itinerary, seatClass));
+            boolean complete = true;
+            for (FlightSearchRequest route : routes) {
+                ItineraryQuery query = toItineraryQuery(route);
+                if (schedule == null) {
+                    findConnectionsInDatabase(query).forEach(offer);
+                    continue;
+                }
+                // No result limit: the heap bounds memory, the deadline bounds time
+                ItinerarySearchEngine.Completion completion =
+                        itinerarySearchEngine.search(schedule, query, offer, Integer.MAX_VALUE, deadlineNanos);
+                complete &= completion.isComplete();
+                if (completion == ItinerarySearchEngine.Completion.DEADLINE_EXCEEDED) {
+                    break;
+                }
+            }
+            return new RankedTransits(best, complete);
+        });
+        
+        TopKCollector<RankedItinerary> best = searchExecutor.join(directTask);
+        boolean complete = true;
+        if (transitTask != null) {
+            RankedTransits transits = searchExecutor.join(transitTask);
+            best.offerAll(transits.best());
+            complete = transits.complete();
+        }
+        
+        List<SearchResultPager.PagedResult> results = best.toSortedList().stream()
+                .map(option -> option.isDirect()
+                        ? new SearchResultPager.PagedResult(convertToDirectFlightDto(option.legs().get(0), seatClass), null)
+                        : new SearchResultPager.PagedResult(null, createTransitFlightDto(option.legs(), seatClass)))
+                .toList();
+        return searchResultPager.firstPage(results, request.getPageSize(), !complete);
+    }
+    
+    private record RankedTransits(TopKCollector<RankedItinerary> best, boolean complete) {}
+    
+    private List<DirectFlightDto> searchDirectFlightsEnhanced(FlightSearchRequest request, FlightRouteGraph.Snapshot schedule) {
+        if (schedule == null) {
+            // Without the route graph, read only the columns the results need instead of full entities
+            LocalDateTime departureDateTime = request.getDepartureDate().atStartOfDay();
+            LocalDateTime endOfDay = departureDateTime.plusDays(1).minusMinutes(1);
+            return flightRepository.findAvailableDirectFlightViews(request.getOriginAirportId(), request.getDestinationAirportId(), departureDateTime).stream()
+                    .filter(flight -> flight.departureTime().isBefore(endOfDay))
+                    .filter(flight -> flight.hasAvailableSeats(request.getSeatClass(), request.getPassengerCount()))
+                    .map(flight -> convertToDirectFlightDto(flight, request.getSeatClass()))
+                    .collect(Collectors.toList());
+        }
+        
+        return findDirectFlights(request, schedule).stream()
                 .map(flight -> convertToDirectFlightDto(flight, request.getSeatClass()))
                 .collect(Collectors.toList());
     }
     
-    private List<TransitFlightDto> searchTransitFlights(FlightSearchRequest request) {
-        List<TransitFlightDto> transitFlights = new ArrayList<>();
+    private List<Flight> findDirectFlights(FlightSearchRequest request, FlightRouteGraph.Snapshot schedule) {
         LocalDateTime departureDateTime = request.getDepartureDate().atStartOfDay();
         LocalDateTime endOfDay = departureDateTime.plusDays(1).minusMinutes(1);
         
-        // Find all flights from origin on the departure date
-        List<Flight> firstLegFlights = flightRepository.findAvailableDirectFlights(
-                request.getOriginAirportId(),
-                null, // Any destination for first leg
-                departureDateTime
-        ).stream()
+        List<Flight> candidates = schedule != null
+                ? schedule.departures(request.getOriginAirportId(), departureDateTime, endOfDay)
+                : flightRepository.findAvailableDirectFlights(request.getOriginAirportId(), request.getDestinationAirportId(), departureDateTime);
+        
+        return candidates.stream()
                 .filter(flight -> flight.getDepartureTime().isBefore(endOfDay))
-                .filter(flight -> !flight.getDestinationAirport().getId().equals(request.getDestinationAirportId()))
-                .filter(flight -> hasAvailableSeats(flight, request.getSeatClass(), request.getPassengerCount()))
+                .filter(flight -> flight.getDestinationAirport().getId().equals(request.getDestinationAirportId()))
+                .filter(flight -> flight.hasAvailableSeats(request.getSeatClass(), request.getPassengerCount()))
                 .collect(Collectors.toList());
-        
-        // For each first leg flight, find connecting flights
-        for (Flight firstFlight : firstLegFlights) {
-            // Look for second leg flights from this intermediate airport
-            LocalDateTime minConnectionTime = firstFlight.getArrivalTime().plusMinutes(60); // 1 hour minimum connection
-            LocalDateTime maxConnectionTime = firstFlight.getArrivalTime().plusHours(6); // 6 hours maximum connection
-            
-            List<Flight> secondLegFlights = flightRepository.findAvailableDirectFlights(
-                    firstFlight.getDestinationAirport().getId(),
-                    request.getDestinationAirportId(),
-                    minConnectionTime
-            ).stream()
-                    .filter(flight -> flight.getDepartureTime().isBefore(maxConnectionTime))
-                    .filter(flight -> hasAvailableSeats(flight, request.getSeatClass(), request.getPassengerCount()))
-                    .collect(Collectors.toList());
+    }
+    
+    private TransitSearchResult searchTransitFlights(List<FlightSearchRequest> routes, FlightRouteGraph.Snapshot schedule, long deadlineNanos) {
+        List<TransitFlightDto> transitFlights = new ArrayList<>();
+        boolean complete = true;
+        for (FlightSearchRequest route : routes) {
+            if (schedule == null) {
+                // The connection query is a single statement, so it always completes
+                findConnectionsInDatabase(toItineraryQuery(route)).stream()
+                        .map(itinerary -> createTransitFlightDto(itinerary, route.getSeatClass()))
+                        .forEach(transitFlights::add);
+                continue;
+            }
             
-            for (Flight secondFlight : secondLegFlights) {
-                if (firstFlight.canConnectTo(secondFlight, 60)) {
-                    TransitFlightDto transitFlight = createTransitFlightDto(
-                            List.of(firstFlight, secondFlight), 
-                            request.getSeatClass()
-                    );
-                    transitFlights.add(transitFlight);
+            ItinerarySearchEngine.Completion completion = itinerarySearchEngine.search(schedule, toItineraryQuery(route),
+                    itinerary -> transitFlights.add(createTransitFlightDto(itinerary, route.getSeatClass())),
+                    maxItineraries, deadlineNanos);
+            if (completion == ItinerarySearchEngine.Completion.DEADLINE_EXCEEDED) {
+                return new TransitSearchResult(transitFlights, false);
+            }
+            complete &= completion.isComplete();
+        }
+        return new TransitSearchResult(transitFlights, complete);
+    }
+    
+    private record TransitSearchResult(List<TransitFlightDto> transitFlights, boolean complete) {}
+    
+    /**
+     * The routes a request covers: its own origin and destination, or every pair of airports within the
+     * requested radii of them.
+     */
+    private List<FlightSearchRequest> routeRequests(FlightSearchRequest request) {
+        if (request.getOriginRadiusKm() == null && request.getDestinationRadiusKm() == null) {
+            return List.of(request);
+        }
+        
+        List<Long> origins = nearbyAirportIds(request.getOriginAirportId(), request.getOriginRadiusKm());
+        List<Long> destinations = nearbyAirportIds(request.getDestinationAirportId(), request.getDestinationRadiusKm());
+        List<FlightSearchRequest> routes = new ArrayList<>(origins.size() * destinations.size());
+        for (Long originId : origins) {
+            for (Long destinationId : destinations) {
+                if (!originId.equals(destinationId)) {
+                    routes.add(forRoute(request, originId, destinationId));
                 }
             }
         }
+        return routes;
+    }
+    
+    private List<Long> nearbyAirportIds(Long airportId, Integer radiusKm) {
+        if (radiusKm == null || radiusKm == 0) {
+            return List.of(airportId);
+        }
+        List<Long> nearby = spatialIndex.withinRadius(airportId, radiusKm).stream()
+                .limit(maxNearbyAirports)
+                .map(AirportSpatialIndex.NearbyAirport::airportId)
+                .toList();
+        return nearby.isEmpty() ? List.of(airportId) : nearby;
+    }
+    
+    private static FlightSearchRequest forRoute(FlightSearchRequest request, Long originAirportId, Long destinationAirportId) {
+        FlightSearchRequest route = new FlightSearchRequest();
+        route.setOriginAirportId(originAirportId);
+        route.setDestinationAirportId(destinationAirportId);
+        route.setDepartureDate(request.getDepartureDate());
+        route.setSeatClass(request.getSeatClass());
+        route.setIncludeTransits(request.isIncludeTransits());
+        route.setPassengerCount(request.getPassengerCount());
+        route.setMaxStops(request.getMaxStops());
+        route.setSortBy(request.getSortBy());
+        route.setPageSize(request.getPageSize());
+        return route;
+    }
+    
+    private FlightRouteGraph.Snapshot currentSchedule() {
+        return routeGraphEnabled ? routeGraph.snapshot() : null;
+    }
+    
+    private void forEachItinerary(FlightSearchRequest request, FlightRouteGraph.Snapshot schedule, Consumer<List<Flight>> sink) {
+        ItineraryQuery query = toItineraryQuery(request);
+        if (schedule != null) {
+            itinerarySearchEngine.search(schedule, query, sink);
+        } else {
+            findConnectionsInDatabase(query).forEach(sink);
+        }
+    }
+    
+    private List<List<Flight>> findItineraries(FlightSearchRequest request, FlightRouteGraph.Snapshot schedule) {
+        ItineraryQuery query = toItineraryQuery(request);
+        if (schedule != null) {
+            // Round-based search: one-stop itineraries first, then up to request.getMaxStops() stops
+            return itinerarySearchEngine.search(schedule, query);
+        }
         
-        return transitFlights;
+        return findConnectionsInDatabase(query);
     }
     
-    private boolean hasAvailableSeats(Flight flight, SeatClass seatClass, int passengerCount) {
-        return switch (seatClass) {
-            case FIRST_CLASS -> flight.getFirstClassAvailableSeats() >= passengerCount;
-            case BUSINESS_CLASS -> flight.getBusinessClassAvailableSeats() >= passengerCount;
-            case ECONOMY_CLASS -> flight.getEconomyClassAvailableSeats() >= passengerCount;
-        };
+    // Without the route graph only one-stop connections are searched, in a single self-join query.
+    // The query uses the widest layover window of any airport; per-airport limits are applied afterwards.
+    private List<List<Flight>> findConnectionsInDatabase(ItineraryQuery query) {
+        int seats = query.passengerCount();
+        ConnectionTimeTable.ConnectionWindow envelope = connectionTimes.loosest();
+        return flightRepository.findTwoLegConnections(
+                query.originAirportId(),
+                query.destinationAirportId(),
+                query.departureFrom(),
+                query.departureTo(),
+                envelope.minMinutes(),
+                envelope.maxMinutes(),
+                query.seatClass() == SeatClass.FIRST_CLASS ? seats : 0,
+                query.seatClass() == SeatClass.BUSINESS_CLASS ? seats : 0,
+                query.seatClass() == SeatClass.ECONOMY_CLASS ? seats : 0
+        ).stream()
+                .filter(connection -> connectionTimes.allows(connection.firstLeg(), connection.secondLeg()))
+                .map(connection -> List.of(connection.firstLeg(), connection.secondLeg()))
+                .collect(Collectors.toList());
+    }
+    
+    private ItineraryQuery toItineraryQuery(FlightSearchRequest request) {
+        LocalDateTime departureDateTime = request.getDepartureDate().atStartOfDay();
+        LocalDateTime endOfDay = departureDateTime.plusDays(1).minusMinutes(1);
+        return new ItineraryQuery(
+                request.getOriginAirportId(),
+                request.getDestinationAirportId(),
+                departureDateTime,
+                endOfDay,
+                request.getSeatClass(),
+                request.getPassengerCount(),
+                request.getMaxStops()
+        );
     }
     
     private DirectFlightDto convertToDirectFlightDto(Flight flight, SeatClass seatClass) {
@@ -344,7 +950,7 @@ public class FlightServiceImpl implements FlightService {
         
         // Set pricing and availability for requested seat class
         dto.setPrice(flight.getPriceForClass(seatClass));
-        dto.setAvailableSeats(getAvailableSeatsForClass(flight, seatClass));
+        dto.setAvailableSeats(flight.getAvailableSeats(seatClass));
         
         // Set all pricing information
         dto.setFirstClassPrice(flight.getFirstClassPrice());
@@ -380,7 +986,7 @@ public class FlightServiceImpl implements FlightService {
         
         // Calculate total duration and distance
         dto.setTotalDurationMinutes((int) ChronoUnit.MINUTES.between(dto.getDepartureTime(), dto.getArrivalTime()));
-        dto.setTotalDistanceKm(flights.stream().mapToInt(Flight::getDistanceKm).sum());
+        dto.setTotalDistanceKm(flights.stream().mapToInt(this::legDistanceKm).sum());
         
         // Set number of stops and transit airports
         dto.setNumberOfStops(flights.size() - 1);
@@ -399,7 +1005,7 @@ public class FlightServiceImpl implements FlightService {
         
         // Calculate minimum available seats across all segments
         int minSeats = flights.stream()
-                .mapToInt(flight -> getAvailableSeatsForClass(flight, seatClass))
+                .mapToInt(flight -> flight.getAvailableSeats(seatClass))
                 .min()
                 .orElse(0);
         dto.setMinAvailableSeats(minSeats);
@@ -435,29 +1041,80 @@ public class FlightServiceImpl implements FlightService {
         return dto;
     }
     
-    private int getAvailableSeatsForClass(Flight flight, SeatClass seatClass) {
-        return switch (seatClass) {
-            case FIRST_CLASS -> flight.getFirstClassAvailableSeats();
-            case BUSINESS_CLASS -> flight.getBusinessClassAvailableSeats();
-            case ECONOMY_CLASS -> flight.getEconomyClassAvailableSeats();
-        };
+    // Flights stored before distances were filled in automatically may still have none
+    private int legDistanceKm(Flight flight) {
+        if (flight.getDistanceKm() > 0) {
+            return flight.getDistanceKm();
+        }
+        double distanceKm = distanceMatrix.distanceKm(flight.getOriginAirport().getId(), flight.getDestinationAirport().getId());
+        return Double.isNaN(distanceKm) ? 0 : (int) Math.round(distanceKm);
     }
     
     private AirportDto convertToAirportDto(Airport airport) {
-        if (airport == null) return null;
-        
-        AirportDto dto = new AirportDto();
-        dto.setId(airport.getId());
-        dto.setCode(airport.getCode());
-        dto.setName(airport.getName());
-        dto.setCity(airport.getCity());
-        dto.setCountry(airport.getCountry());
-        dto.setLatitude(airport.getLatitude());
-        dto.setLongitude(airport.getLongitude());
-        dto.setTimeZone(airport.getTimeZone());
-        return dto;
+        return airportRegistry.get(airport);
     }
 
+    private FlightDto convertToDto(FlightView flight) {
+        FlightDto dto = new FlightDto();
+        dto.setId(flight.id());
+        dto.setFlightNumber(flight.flightNumber());
+        dto.setDepartureTime(flight.departureTime());
+        dto.setArrivalTime(flight.arrivalTime());
+        dto.setFirstClassPrice(flight.firstClassPrice());
+        dto.setBusinessClassPrice(flight.businessClassPrice());
+        dto.setEconomyClassPrice(flight.economyClassPrice());
+        dto.setFirstClassAvailableSeats(flight.firstClassAvailableSeats());
+        dto.setBusinessClassAvailableSeats(flight.businessClassAvailableSeats());
+        dto.setEconomyClassAvailableSeats(flight.economyClassAvailableSeats());
+        dto.setStatus(flight.status());
+        dto.setDistanceKm(flight.distanceKm());
+        dto.setDurationMinutes((int) ChronoUnit.MINUTES.between(flight.departureTime(), flight.arrivalTime()));
+        dto.setAirplaneModel(flight.airplaneModel());
+        dto.setAirplaneRegistration(flight.airplaneRegistration());
+        dto.setOriginAirport(originAirportDto(flight));
+        dto.setDestinationAirport(destinationAirportDto(flight));
+        return dto;
+    }
+    
+    private DirectFlightDto convertToDirectFlightDto(FlightView flight, SeatClass seatClass) {
+        DirectFlightDto dto = new DirectFlightDto();
+        dto.setId(flight.id());
+        dto.setFlightNumber(flight.flightNumber());
+        dto.setDepartureTime(flight.departureTime());
+        dto.setArrivalTime(flight.arrivalTime());
+        dto.setStatus(flight.status());
+        dto.setDistanceKm(flight.distanceKm());
+        dto.setSeatClass(seatClass);
+        dto.setDurationMinutes((int) ChronoUnit.MINUTES.between(flight.departureTime(), flight.arrivalTime()));
+        dto.setAirplaneModel(flight.airplaneModel());
+        dto.setAirplaneRegistration(flight.airplaneRegistration());
+        
+        dto.setPrice(flight.getPriceForClass(seatClass));
+        dto.setAvailableSeats(flight.getAvailableSeats(seatClass));
+        
+        dto.setFirstClassPrice(flight.firstClassPrice());
+        dto.setBusinessClassPrice(flight.businessClassPrice());
+        dto.setEconomyClassPrice(flight.economyClassPrice());
+        dto.setFirstClassAvailableSeats(flight.firstClassAvailableSeats());
+        dto.setBusinessClassAvailableSeats(flight.businessClassAvailableSeats());
+        dto.setEconomyClassAvailableSeats(flight.economyClassAvailableSeats());
+        
+        dto.setOriginAirport(originAirportDto(flight));
+        dto.setDestinationAirport(destinationAirportDto(flight));
+        return dto;
+    }
+    
+    private AirportDto originAirportDto(FlightView flight) {
+        return airportRegistry.get(flight.originAirportId(), flight.originCode(), flight.originName(), flight.originCity(),
+                flight.originCountry(), flight.originLatitude(), flight.originLongitude(), flight.originTimeZone());
+    }
+    
+    private AirportDto destinationAirportDto(FlightView flight) {
+        return airportRegistry.get(flight.destinationAirportId(), flight.destinationCode(), flight.destinationName(),
+                flight.destinationCity(), flight.destinationCountry(), flight.destinationLatitude(),
+                flight.destinationLongitude(), flight.destinationTimeZone());
+    }
+    
     private FlightDto convertToDto(Flight flight) {
         FlightDto dto = new FlightDto();
         dto.setId(flight.getId());
@@ -484,33 +1141,9 @@ public class FlightServiceImpl implements FlightService {
             dto.setAirplaneRegistration(flight.getAirplane().getRegistrationNumber());
         }
         
-        // Convert origin airport
-        if (flight.getOriginAirport() != null) {
-            AirportDto originDto = new AirportDto();
-            originDto.setId(flight.getOriginAirport().getId());
-            originDto.setCode(flight.getOriginAirport().getCode());
-            originDto.setName(flight.getOriginAirport().getName());
-            originDto.setCity(flight.getOriginAirport().getCity());
-            originDto.setCountry(flight.getOriginAirport().getCountry());
-            originDto.setLatitude(flight.getOriginAirport().getLatitude());
-            originDto.setLongitude(flight.getOriginAirport().getLongitude());
-            originDto.setTimeZone(flight.getOriginAirport().getTimeZone());
-            dto.setOriginAirport(originDto);
-        }
-        
-        // Convert destination airport
-        if (flight.getDestinationAirport() != null) {
-            AirportDto destinationDto = new AirportDto();
-            destinationDto.setId(flight.getDestinationAirport().getId());
-            destinationDto.setCode(flight.getDestinationAirport().getCode());
-            destinationDto.setName(flight.getDestinationAirport().getName());
-            destinationDto.setCity(flight.getDestinationAirport().getCity());
-            destinationDto.setCountry(flight.getDestinationAirport().getCountry());
-            destinationDto.setLatitude(flight.getDestinationAirport().getLatitude());
-            destinationDto.setLongitude(flight.getDestinationAirport().getLongitude());
-            destinationDto.setTimeZone(flight.getDestinationAirport().getTimeZone());
-            dto.setDestinationAirport(destinationDto);
-        }
+        // Airports are shared reference data
+        dto.setOriginAirport(airportRegistry.get(flight.getOriginAirport()));
+        dto.setDestinationAirport(airportRegistry.get(flight.getDestinationAirport()));
         
         return dto;
     }
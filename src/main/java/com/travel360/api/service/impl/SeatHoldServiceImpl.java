@@ -0,0 +1,214 @@
+package com.travel360.api.service.impl;
+
+import com.travel360.api.dto.booking.SeatHoldRequest;
+import com.travel360.api.dto.booking.SeatHoldResponse;
+import com.travel360.api.model.Flight;
+import com.travel360.api.model.Role;
+import com.travel360.api.model.SeatHold;
+import com.travel360.api.model.SeatHoldItem;
+import com.travel360.api.model.SeatHoldStatus;
+import com.travel360.api.model.User;
+import com.travel360.api.repository.FlightRepository;
+import com.travel360.api.repository.SeatHoldRepository;
+import com.travel360.api.repository.UserRepository;
+import com.travel360.api.service.SeatHoldService;
+import com.travel360.api.service.booking.SeatHoldExpiryQueue;
+import com.travel360.api.service.booking.SeatInventory;
+import com.travel360.api.service.booking.SeatKey;
+import com.travel360.api.service.concurrency.ConflictRetryTemplate;
+import com.travel360.api.service.search.FlightRouteGraph;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+@Service
+public class SeatHoldServiceImpl implements SeatHoldService {
+
+    @Autowired
+    private SeatHoldRepository seatHoldRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private SeatHoldExpiryQueue expiryQueue;
+
+    @Autowired
+    private ConflictRetryTemplate conflictRetry;
+
+    @Value("${travel360.booking.hold.ttl-seconds:600}")
+    private long holdTtlSeconds;
+
+    @Value("${travel360.booking.hold.max-active-per-user:3}")
+    private int maxActiveHoldsPerUser;
+
+    @Value("${travel360.booking.hold.max-seats-per-user:20}")
+    private int maxHeldSeatsPerUser;
+
+    @Override
+    public SeatHoldResponse createHold(SeatHoldRequest request, User user) {
+        Map<SeatKey, Integer> seatsNeeded = new TreeMap<>(SeatKey.LOCK_ORDER);
+        for (SeatHoldRequest.Item item : request.getItems()) {
+            seatsNeeded.merge(new SeatKey(item.getFlightId(), item.getSeatClass()), item.getSeatCount(), Integer::sum);
+        }
+        Set<Long> flightIds = new TreeSet<>();
+        seatsNeeded.keySet().forEach(seatKey -> flightIds.add(seatKey.flightId()));
+        return conflictRetry.execute("hold", flightIds, () -> placeHold(seatsNeeded, user));
+    }
+
+    private SeatHoldResponse placeHold(Map<SeatKey, Integer> seatsNeeded, User user) {
+        checkHoldLimits(seatsNeeded, user);
+        for (SeatKey seatKey : seatsNeeded.keySet()) {
+            Flight flight = flightRepository.findById(seatKey.flightId())
+                    .orElseThrow(() -> new RuntimeException("Flight not found with ID: " + seatKey.flightId()));
+            if (!FlightRouteGraph.SEARCHABLE_STATUSES.contains(flight.getStatus())) {
+                throw new RuntimeException("Flight " + flight.getFlightNumber() + " is not open for booking");
+            }
+        }
+        seatsNeeded.forEach((seatKey, seats) -> {
+            if (!seatInventory.reserve(seatKey.flightId(), seatKey.seatClass(), seats)) {
+                throw new RuntimeException("Not enough " + seatKey.seatClass() + " seats available on flight with ID: " + seatKey.flightId());
+            }
+        });
+
+        // Reservations clear the persistence context, so entities are loaded after them
+        SeatHold hold = new SeatHold();
+        hold.setUser(userRepository.getReferenceById(user.getId()));
+        hold.setStatus(SeatHoldStatus.ACTIVE);
+        hold.setExpiresAt(LocalDateTime.now().plusSeconds(holdTtlSeconds));
+        seatsNeeded.forEach((seatKey, seats) -> {
+            SeatHoldItem item = new SeatHoldItem();
+            item.setFlight(flightRepository.getReferenceById(seatKey.flightId()));
+            item.setSeatClass(seatKey.seatClass());
+            item.setSeatCount(seats);
+            hold.addItem(item);
+        });
+        SeatHold savedHold = seatHoldRepository.save(hold);
+        expiryQueue.scheduleAfterCommit(savedHold.getHoldId(), savedHold.getExpiresAt());
+        return convertToResponse(savedHold);
+    }
+
+    /**
+     * Caps the active holds and held seats of one user, so nobody can take a flight's seats out of sale
+     * with holds. The user's row is locked first, so concurrent holds by the same user are counted one
+     * after the other in their own transactions.
+     */
+    private void checkHoldLimits(Map<SeatKey, Integer> seatsNeeded, User user) {
+        userRepository.lockById(user.getId())
+                .orElseThrow(() -> new RuntimeException("User not found with ID: " + user.getId()));
+        LocalDateTime now = LocalDateTime.now();
+        if (seatHoldRepository.countActiveHolds(user.getId(), now) >= maxActiveHoldsPerUser) {
+            throw new RuntimeException("At most " + maxActiveHoldsPerUser + " seat holds can be active at once");
+        }
+        int seats = seatsNeeded.values().stream().mapToInt(Integer::intValue).sum();
+        if (seatHoldRepository.countActiveHeldSeats(user.getId(), now) + seats > maxHeldSeatsPerUser) {
+            throw new RuntimeException("At most " + maxHeldSeatsPerUser + " seats can be held at once");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SeatHoldResponse> getHold(String holdId, User user) {
+        return seatHoldRepository.findByHoldId(holdId)
+                .filter(hold -> canAccess(hold, user))
+                .map(this::convertToResponse);
+    }
+
+    @Override
+    @Transactional
+    public void releaseHold(String holdId, User user) {
+        SeatHold hold = seatHoldRepository.findByHoldId(holdId)
+                .filter(candidate -> canAccess(candidate, user))
+                .orElseThrow(() -> new RuntimeException("Seat hold not found with ID: " + holdId));
+        Map<SeatKey, Integer> heldSeats = heldSeats(hold);
+
+        LocalDateTime now = LocalDateTime.now();
+        // An expired hold is left to the sweeper, which returns its seats
+        if (seatHoldRepository.transitionActiveHold(holdId, SeatHoldStatus.RELEASED, now, now) == 0) {
+            throw new RuntimeException("Seat hold is no longer active: " + holdId);
+        }
+        heldSeats.forEach((seatKey, seats) -> seatInventory.release(seatKey.flightId(), seatKey.seatClass(), seats));
+    }
+
+    @Override
+    @Transactional
+    public Map<SeatKey, Integer> convertHold(String holdId, Long customerId, Long createdById) {
+        LocalDateTime now = LocalDateTime.now();
+        if (seatHoldRepository.transitionActiveHold(holdId, SeatHoldStatus.CONVERTED, now, now) == 0) {
+            throw new RuntimeException("Seat hold not found or expired: " + holdId);
+        }
+        SeatHold hold = seatHoldRepository.findByHoldId(holdId)
+                .orElseThrow(() -> new RuntimeException("Seat hold not found with ID: " + holdId));
+        Long ownerId = hold.getUser().getId();
+        if (!ownerId.equals(customerId) && !ownerId.equals(createdById)) {
+            throw new RuntimeException("Seat hold " + holdId + " does not belong to this customer");
+        }
+        return heldSeats(hold);
+    }
+
+    @Override
+    @Transactional
+    public int expireHolds(Collection<String> holdIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<SeatKey, Integer> seatsToRelease = new TreeMap<>(SeatKey.LOCK_ORDER);
+        int expired = 0;
+        for (String holdId : holdIds) {
+            // Holds converted or released in the meantime are skipped
+            if (seatHoldRepository.expireHold(holdId, now) == 0) {
+                continue;
+            }
+            expired++;
+            seatHoldRepository.findByHoldId(holdId)
+                    .ifPresent(hold -> heldSeats(hold).forEach((seatKey, seats) -> seatsToRelease.merge(seatKey, seats, Integer::sum)));
+        }
+        // One release per flight and class for the whole batch
+        seatsToRelease.forEach((seatKey, seats) -> seatInventory.release(seatKey.flightId(), seatKey.seatClass(), seats));
+        return expired;
+    }
+
+    private Map<SeatKey, Integer> heldSeats(SeatHold hold) {
+        Map<SeatKey, Integer> seats = new TreeMap<>(SeatKey.LOCK_ORDER);
+        for (SeatHoldItem item : hold.getItems()) {
+            seats.merge(new SeatKey(item.getFlight().getId(), item.getSeatClass()), item.getSeatCount(), Integer::sum);
+        }
+        return seats;
+    }
+
+    // Customers only see their own holds; staff can see any
+    private boolean canAccess(SeatHold hold, User user) {
+        return hold.getUser().getId().equals(user.getId()) || user.getRole() != Role.CUSTOMER;
+    }
+
+    private SeatHoldResponse convertToResponse(SeatHold hold) {
+        SeatHoldResponse response = new SeatHoldResponse();
+        response.setHoldId(hold.getHoldId());
+        response.setStatus(hold.getStatus());
+        response.setExpiresAt(hold.getExpiresAt());
+        response.setItems(hold.getItems().stream()
+                .map(item -> {
+                    SeatHoldResponse.HeldSeatsDto dto = new SeatHoldResponse.HeldSeatsDto();
+                    dto.setFlightId(item.getFlight().getId());
+                    dto.setFlightNumber(item.getFlight().getFlightNumber());
+                    dto.setSeatClass(item.getSeatClass());
+                    dto.setSeatCount(item.getSeatCount());
+                    return dto;
+                })
+                .toList());
+        return response;
+    }
+}
@@ -0,0 +1,151 @@
+package com.travel360.api.service.impl;
+
+import com.travel360.api.dto.booking.SeatHoldRequest;
+import com.travel360.api.dto.booking.SeatHoldResponse;
+import com.travel360.api.dto.booking.WaitlistEntryResponse;
+import com.travel360.api.dto.booking.WaitlistRequest;
+import com.travel360.api.model.Flight;
+import com.travel360.api.model.SeatClass;
+import com.travel360.api.model.User;
+import com.travel360.api.model.WaitlistEntry;
+import com.travel360.api.model.WaitlistStatus;
+import com.travel360.api.repository.FlightRepository;
+import com.travel360.api.repository.UserRepository;
+import com.travel360.api.repository.WaitlistEntryRepository;
+import com.travel360.api.service.SeatHoldService;
+import com.travel360.api.service.WaitlistService;
+import com.travel360.api.service.search.FlightRouteGraph;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class WaitlistServiceImpl implements WaitlistService {
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Override
+    @Transactional
+    public WaitlistEntryResponse joinWaitlist(WaitlistRequest request, User user) {
+        Flight flight = flightRepository.findById(request.getFlightId())
+                .orElseThrow(() -> new RuntimeException("Flight not found with ID: " + request.getFlightId()));
+        if (!FlightRouteGraph.SEARCHABLE_STATUSES.contains(flight.getStatus())) {
+            throw new RuntimeException("Flight " + flight.getFlightNumber() + " is not open for booking");
+        }
+        if (flight.hasAvailableSeats(request.getSeatClass(), request.getSeatCount())) {
+            throw new RuntimeException("Seats are available on flight " + flight.getFlightNumber() + "; hold or book them directly");
+        }
+        if (waitlistEntryRepository.existsByUserIdAndFlightIdAndSeatClassAndStatus(
+                user.getId(), flight.getId(), request.getSeatClass(), WaitlistStatus.WAITING)) {
+            throw new RuntimeException("Already on the " + request.getSeatClass() + " waitlist for flight " + flight.getFlightNumber());
+        }
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setUser(userRepository.getReferenceById(user.getId()));
+        entry.setFlight(flight);
+        entry.setSeatClass(request.getSeatClass());
+        entry.setSeatCount(request.getSeatCount());
+        entry.setStatus(WaitlistStatus.WAITING);
+        return convertToResponse(waitlistEntryRepository.save(entry));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryResponse> getWaitlistEntries(User user) {
+        return waitlistEntryRepository.findByUserIdOrderByCreatedAtDesc(user.getId()).stream()
+                .map(this::convertToResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void leaveWaitlist(Long id, User user) {
+        WaitlistEntry entry = waitlistEntryRepository.findById(id)
+                .filter(candidate -> candidate.getUser().getId().equals(user.getId()))
+                .orElseThrow(() -> new RuntimeException("Waitlist entry not found with ID: " + id));
+        // An entry promoted in the meantime keeps its hold; the customer releases that through the hold instead
+        if (waitlistEntryRepository.transitionWaiting(entry.getId(), WaitlistStatus.CANCELLED, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Waitlist entry " + id + " is no longer waiting");
+        }
+    }
+
+    /**
+     * Strictly first come, first served: if the head of the line needs more seats than are free, nobody
+     * behind it is promoted either. The entry is claimed with a conditional update before its hold is
+     * created, so concurrent promoters never promote it twice, and a hold that cannot get the seats rolls
+     * the claim back.
+     */
+    @Override
+    @Transactional
+    public boolean promoteNext(Long flightId, SeatClass seatClass) {
+        List<WaitlistEntry> head = waitlistEntryRepository.findWaiting(flightId, seatClass, PageRequest.of(0, 1));
+        if (head.isEmpty()) {
+            return false;
+        }
+        WaitlistEntry entry = head.get(0);
+        LocalDateTime now = LocalDateTime.now();
+        Flight flight = entry.getFlight();
+        if (!FlightRouteGraph.SEARCHABLE_STATUSES.contains(flight.getStatus())) {
+            // Nobody can be seated on this flight any more
+            waitlistEntryRepository.transitionWaiting(entry.getId(), WaitlistStatus.CANCELLED, now);
+            return true;
+        }
+        if (!flight.hasAvailableSeats(seatClass, entry.getSeatCount())) {
+            return false;
+        }
+
+        Long entryId = entry.getId();
+        User user = entry.getUser();
+        SeatHoldRequest.Item item = new SeatHoldRequest.Item();
+        item.setFlightId(flightId);
+        item.setSeatClass(seatClass);
+        item.setSeatCount(entry.getSeatCount());
+        SeatHoldRequest holdRequest = new SeatHoldRequest();
+        holdRequest.setItems(List.of(item));
+
+        if (waitlistEntryRepository.transitionWaiting(entryId, WaitlistStatus.PROMOTED, now) == 0) {
+            return true;
+        }
+        SeatHoldResponse hold = seatHoldService.createHold(holdRequest, user);
+
+        // The conditional update cleared the persistence context, so the entry is loaded again
+        WaitlistEntry promoted = waitlistEntryRepository.findById(entryId)
+                .orElseThrow(() -> new RuntimeException("Waitlist entry not found with ID: " + entryId));
+        promoted.setHoldId(hold.getHoldId());
+        promoted.setPromotedAt(now);
+        waitlistEntryRepository.save(promoted);
+        return true;
+    }
+
+    private WaitlistEntryResponse convertToResponse(WaitlistEntry entry) {
+        WaitlistEntryResponse response = new WaitlistEntryResponse();
+        response.setId(entry.getId());
+        response.setFlightId(entry.getFlight().getId());
+        response.setFlightNumber(entry.getFlight().getFlightNumber());
+        response.setSeatClass(entry.getSeatClass());
+        response.setSeatCount(entry.getSeatCount());
+        response.setStatus(entry.getStatus());
+        response.setHoldId(entry.getHoldId());
+        response.setCreatedAt(entry.getCreatedAt());
+        response.setPromotedAt(entry.getPromotedAt());
+        if (entry.getStatus() == WaitlistStatus.WAITING && entry.getCreatedAt() != null) {
+            response.setPosition(waitlistEntryRepository.countAhead(entry.getFlight().getId(), entry.getSeatClass(),
+                    entry.getCreatedAt(), entry.getId()) + 1);
+        }
+        return response;
+    }
+}
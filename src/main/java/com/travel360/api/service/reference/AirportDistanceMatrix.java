@@ -0,0 +1,181 @@
+package com.travel360.api.service.reference;
+
+import com.travel360.api.event.AirportChangedEvent;
+import com.travel360.api.model.Airport;
+import com.travel360.api.repository.AirportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precomputed great-circle (haversine) distances between every pair of airports.
+ * <p>
+ * Distances are stored as a lower-triangular matrix: the row of the {@code i}-th airport holds its
+ * distance to airports {@code 0..i-1}. Adding an airport therefore only appends one new row and leaves
+ * every existing row untouched, so the matrix grows incrementally on {@link AirportChangedEvent#created}.
+ * Moving an airport rebuilds the matrix; a deleted airport's slot is simply no longer addressable.
+ */
+@Component
+public class AirportDistanceMatrix {
+
+    private static final Logger logger = LoggerFactory.getLogger(AirportDistanceMatrix.class);
+
+    @Autowired
+    private AirportRepository airportRepository;
+
+    private volatile Matrix matrix;
+
+    /**
+     * Great-circle distance between two airports in kilometres, or {@code NaN} if either is unknown.
+     */
+    public double distanceKm(Long fromAirportId, Long toAirportId) {
+        return matrix().distanceKm(fromAirportId, toAirportId);
+    }
+
+    /**
+     * Great-circle distance between two airports, computed from their coordinates if they are not indexed yet.
+     */
+    public double distanceKm(Airport from, Airport to) {
+        double distance = distanceKm(from.getId(), to.getId());
+        return Double.isNaN(distance)
+                ? haversineKm(from.getLatitude(), from.getLongitude(), to.getLatitude(), to.getLongitude())
+                : distance;
+    }
+
+    public int size() {
+        return matrix().indexById.size();
+    }
+
+    public static double haversineKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double lat1 = Math.toRadians(latitude1);
+        double lat2 = Math.toRadians(latitude2);
+        double sinLat = Math.sin((lat2 - lat1) / 2);
+        double sinLon = Math.sin(Math.toRadians(longitude2 - longitude1) / 2);
+        double a = sinLat * sinLat + Math.cos(lat1) * Math.cos(lat2) * sinLon * sinLon;
+        return 2 * AirportSpatialIndex.EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Rebuilds the whole matrix from the database.
+     */
+    public synchronized void reload() {
+        long start = System.nanoTime();
+        Matrix rebuilt = Matrix.of(airportRepository.findAll());
+        matrix = rebuilt;
+        logger.info("Airport distance matrix built over {} airports in {} ms",
+                rebuilt.indexById.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAirportChanged(AirportChangedEvent event) {
+        Matrix current = matrix;
+        if (current == null) {
+            return;
+        }
+        Airport airport = event.airport();
+        if (event.changeType() == AirportChangedEvent.ChangeType.DELETED || airport == null) {
+            matrix = current.withoutAirport(event.airportId());
+        } else if (!current.indexById.containsKey(airport.getId())) {
+            matrix = current.withAirport(airport.getId(), airport.getLatitude(), airport.getLongitude());
+        } else if (current.isMoved(airport.getId(), airport.getLatitude(), airport.getLongitude())) {
+            // Every row referring to a moved airport changes, so start over
+            reload();
+        }
+    }
+
+    private Matrix matrix() {
+        Matrix current = matrix;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (matrix == null) {
+                reload();
+            }
+            return matrix;
+        }
+    }
+
+    /**
+     * Immutable matrix version. Rows are shared between versions, since a row never changes once written.
+     */
+    private static final class Matrix {
+
+        private final Map<Long, Integer> indexById;
+        private final double[][] coordinates;
+        private final float[][] rows;
+
+        private Matrix(Map<Long, Integer> indexById, double[][] coordinates, float[][] rows) {
+            this.indexById = indexById;
+            this.coordinates = coordinates;
+            this.rows = rows;
+        }
+
+        private static Matrix of(List<Airport> airports) {
+            Map<Long, Integer> indexById = new HashMap<>(airports.size() * 2);
+            double[][] coordinates = new double[airports.size()][];
+            float[][] rows = new float[airports.size()][];
+            for (int index = 0; index < airports.size(); index++) {
+                Airport airport = airports.get(index);
+                indexById.put(airport.getId(), index);
+                coordinates[index] = new double[] {airport.getLatitude(), airport.getLongitude()};
+                rows[index] = row(coordinates, index);
+            }
+            return new Matrix(indexById, coordinates, rows);
+        }
+
+        // Distances from the airport at index to every airport before it
+        private static float[] row(double[][] coordinates, int index) {
+            float[] row = new float[index];
+            for (int other = 0; other < index; other++) {
+                row[other] = (float) haversineKm(coordinates[index][0], coordinates[index][1],
+                        coordinates[other][0], coordinates[other][1]);
+            }
+            return row;
+        }
+
+        private double distanceKm(Long fromAirportId, Long toAirportId) {
+            Integer from = indexById.get(fromAirportId);
+            Integer to = indexById.get(toAirportId);
+            if (from == null || to == null) {
+                return Double.NaN;
+            }
+            if (from.equals(to)) {
+                return 0;
+            }
+            return from > to ? rows[from][to] : rows[to][from];
+        }
+
+        private boolean isMoved(Long airportId, double latitude, double longitude) {
+            double[] position = coordinates[indexById.get(airportId)];
+            return position[0] != latitude || position[1] != longitude;
+        }
+
+        private Matrix withAirport(Long airportId, double latitude, double longitude) {
+            int index = rows.length;
+            Map<Long, Integer> indexes = new HashMap<>(indexById);
+            indexes.put(airportId, index);
+            double[][] positions = Arrays.copyOf(coordinates, index + 1);
+            positions[index] = new double[] {latitude, longitude};
+            float[][] extended = Arrays.copyOf(rows, index + 1);
+            extended[index] = row(positions, index);
+            return new Matrix(indexes, positions, extended);
+        }
+
+        private Matrix withoutAirport(Long airportId) {
+            if (!indexById.containsKey(airportId)) {
+                return this;
+            }
+            Map<Long, Integer> indexes = new HashMap<>(indexById);
+            indexes.remove(airportId);
+            return new Matrix(indexes, coordinates, rows);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.travel360.api.service.reference;
+
+import com.travel360.api.dto.flight.AirportDto;
+import com.travel360.api.event.AirportChangedEvent;
+import com.travel360.api.model.Airport;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonical, immutable {@link AirportDto} per airport id, shared by every DTO that embeds an airport.
+ * <p>
+ * The airport set is small and rarely changes, so flight, transit and booking conversions hand out the
+ * same instance instead of allocating new DTOs for every flight. Entries are replaced when an
+ * {@link AirportChangedEvent} arrives, and a lookup whose source data no longer matches the canonical
+ * instance (for example after a direct database edit) replaces it on the spot.
+ */
+@Component
+public class AirportDtoRegistry {
+
+    private final Map<Long, AirportDto> airports = new ConcurrentHashMap<>();
+
+    public AirportDto get(Airport airport) {
+        if (airport == null) {
+            return null;
+        }
+        return get(airport.getId(), airport.getCode(), airport.getName(), airport.getCity(), airport.getCountry(),
+                airport.getLatitude(), airport.getLongitude(), airport.getTimeZone());
+    }
+
+    /**
+     * Returns the canonical DTO for the given airport columns, creating or replacing it if needed.
+     */
+    public AirportDto get(Long id, String code, String name, String city, String country,
+                          double latitude, double longitude, String timeZone) {
+        AirportDto current = airports.get(id);
+        if (current != null && matches(current, code, name, city, country, latitude, longitude, timeZone)) {
+            return current;
+        }
+        AirportDto canonical = new ImmutableAirportDto(id, code, name, city, country, latitude, longitude, timeZone);
+        airports.put(id, canonical);
+        return canonical;
+    }
+
+    public int size() {
+        return airports.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAirportChanged(AirportChangedEvent event) {
+        if (event.changeType() == AirportChangedEvent.ChangeType.DELETED || event.airport() == null) {
+            airports.remove(event.airportId());
+        } else {
+            get(event.airport());
+        }
+    }
+
+    private static boolean matches(AirportDto dto, String code, String name, String city, String country,
+                                   double latitude, double longitude, String timeZone) {
+        return Objects.equals(dto.getCode(), code)
+                && Objects.equals(dto.getName(), name)
+                && Objects.equals(dto.getCity(), city)
+                && Objects.equals(dto.getCountry(), country)
+                && dto.getLatitude() == latitude
+                && dto.getLongitude() == longitude
+                && Objects.equals(dto.getTimeZone(), timeZone);
+    }
+
+    /**
+     * Shared instance: every setter throws, since a change would leak into unrelated responses.
+     */
+    private static final class ImmutableAirportDto extends AirportDto {
+
+        private ImmutableAirportDto(Long id, String code, String name, String city, String country,
+                                    double latitude, double longitude, String timeZone) {
+            super.setId(id);
+            super.setCode(code);
+            super.setName(name);
+            super.setCity(city);
+            super.setCountry(country);
+            super.setLatitude(latitude);
+            super.setLongitude(longitude);
+            super.setTimeZone(timeZone);
+        }
+
+        @Override
+        public void setId(Long id) {
+            throw immutable();
+        }
+
+        @Override
+        public void setCode(String code) {
+            throw immutable();
+        }
+
+        @Override
+        public void setName(String name) {
+            throw immutable();
+        }
+
+        @Override
+        public void setCity(String city) {
+            throw immutable();
+        }
+
+        @Override
+        public void setCountry(String country) {
+            throw immutable();
+        }
+
+        @Override
+        public void setLatitude(double latitude) {
+            throw immutable();
+        }
+
+        @Override
+        public void setLongitude(double longitude) {
+            throw immutable();
+        }
+
+        @Override
+        public void setTimeZone(String timeZone) {
+            throw immutable();
+        }
+
+        private static UnsupportedOperationException immutable() {
+            return new UnsupportedOperationException("Shared airport reference data cannot be modified");
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.travel360.api.service.reference;
+
+import com.travel360.api.event.AirportChangedEvent;
+import com.travel360.api.model.Airport;
+import com.travel360.api.repository.AirportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spatial index over airport coordinates answering "which airports lie within N km of here".
+ * <p>
+ * Airports are placed on the unit sphere and stored in an immutable 3-d tree, so a radius query is a
+ * range search on straight-line (chord) distance. Chord length grows monotonically with great-circle
+ * distance, which keeps the search exact without special cases at the poles or the antimeridian, and
+ * a query only visits the tree nodes near the search point. The tree is rebuilt from memory whenever
+ * an {@link AirportChangedEvent} arrives.
+ */
+@Component
+public class AirportSpatialIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AirportSpatialIndex.class);
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    @Autowired
+    private AirportRepository airportRepository;
+
+    // Writer-side copy of every indexed airport's position, used to rebuild the tree on changes
+    private final Map<Long, double[]> positions = new HashMap<>();
+
+    private volatile Tree tree;
+
+    /**
+     * An airport found by a radius query and its great-circle distance from the query point.
+     */
+    public record NearbyAirport(Long airportId, double distanceKm) {}
+
+    /**
+     * Airports within {@code radiusKm} of the given airport, nearest first, starting with the airport itself.
+     * Returns an empty list for an unknown airport.
+     */
+    public List<NearbyAirport> withinRadius(Long airportId, double radiusKm) {
+        Tree current = tree();
+        double[] point = current.pointsById.get(airportId);
+        return point == null ? List.of() : current.withinRadius(point, radiusKm);
+    }
+
+    /**
+     * Airports within {@code radiusKm} of a coordinate, nearest first.
+     */
+    public List<NearbyAirport> withinRadius(double latitude, double longitude, double radiusKm) {
+        return tree().withinRadius(toUnitVector(latitude, longitude), radiusKm);
+    }
+
+    public int size() {
+        return tree().ids.length;
+    }
+
+    /**
+     * Reloads every airport from the database.
+     */
+    public synchronized void reload() {
+        positions.clear();
+        for (Airport airport : airportRepository.findAll()) {
+            positions.put(airport.getId(), toUnitVector(airport.getLatitude(), airport.getLongitude()));
+        }
+        tree = new Tree(positions);
+        logger.info("Airport spatial index built over {} airports", positions.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAirportChanged(AirportChangedEvent event) {
+        if (tree == null) {
+            return;
+        }
+        if (event.changeType() == AirportChangedEvent.ChangeType.DELETED || event.airport() == null) {
+            positions.remove(event.airportId());
+        } else {
+            positions.put(event.airportId(), toUnitVector(event.airport().getLatitude(), event.airport().getLongitude()));
+        }
+        tree = new Tree(positions);
+    }
+
+    private Tree tree() {
+        Tree current = tree;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (tree == null) {
+                reload();
+            }
+            return tree;
+        }
+    }
+
+    private static double[] toUnitVector(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        return new double[] {cosLat * Math.cos(lon), cosLat * Math.sin(lon), Math.sin(lat)};
+    }
+
+    /**
+     * Balanced 3-d tree stored implicitly in arrays: the median of every sub-range is its root,
+     * split on axis {@code depth % 3}.
+     */
+    private static final class Tree {
+
+        private final Long[] ids;
+        private final double[][] points;
+        private final Map<Long, double[]> pointsById;
+
+        private Tree(Map<Long, double[]> positions) {
+            int size = positions.size();
+            this.ids = new Long[size];
+            this.points = new double[size][];
+            this.pointsById = Map.copyOf(positions);
+            int index = 0;
+            for (Map.Entry<Long, double[]> entry : positions.entrySet()) {
+                ids[index] = entry.getKey();
+                points[index] = entry.getValue();
+                index++;
+            }
+            build(0, size, 0);
+        }
+
+        private void build(int from, int to, int axis) {
+            if (to - from <= 1) {
+                return;
+            }
+            Integer[] order = new Integer[to - from];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = from + i;
+            }
+            Arrays.sort(order, Comparator.comparingDouble(i -> points[i][axis]));
+            Long[] sortedIds = new Long[order.length];
+            double[][] sortedPoints = new double[order.length][];
+            for (int i = 0; i < order.length; i++) {
+                sortedIds[i] = ids[order[i]];
+                sortedPoints[i] = points[order[i]];
+            }
+            System.arraycopy(sortedIds, 0, ids, from, order.length);
+            System.arraycopy(sortedPoints, 0, points, from, order.length);
+
+            int median = (from + to) >>> 1;
+            build(from, median, (axis + 1) % 3);
+            build(median + 1, to, (axis + 1) % 3);
+        }
+
+        private List<NearbyAirport> withinRadius(double[] center, double radiusKm) {
+            if (radiusKm < 0 || ids.length == 0) {
+                return List.of();
+            }
+            // Chord length of the great-circle arc; beyond half the circumference every airport matches
+            double angle = Math.min(radiusKm / EARTH_RADIUS_KM, Math.PI);
+            double chord = 2 * Math.sin(angle / 2);
+            List<NearbyAirport> found = new ArrayList<>();
+            search(0, ids.length, 0, center, chord * chord, found);
+            found.sort(Comparator.comparingDouble(NearbyAirport::distanceKm));
+            return found;
+        }
+
+        private void search(int from, int to, int axis, double[] center, double maxSquaredChord, List<NearbyAirport> found) {
+            if (from >= to) {
+                return;
+            }
+            int median = (from + to) >>> 1;
+            double[] point = points[median];
+            double squaredChord = squaredDistance(point, center);
+            if (squaredChord <= maxSquaredChord) {
+                double chord = Math.sqrt(squaredChord);
+                found.add(new NearbyAirport(ids[median], 2 * Math.asin(Math.min(1, chord / 2)) * EARTH_RADIUS_KM));
+            }
+
+            double offset = center[axis] - point[axis];
+            int nextAxis = (axis + 1) % 3;
+            // Always search the side the center is on; the other side only if the splitting plane is within range
+            if (offset <= 0) {
+                search(from, median, nextAxis, center, maxSquaredChord, found);
+                if (offset * offset <= maxSquaredChord) {
+                    search(median + 1, to, nextAxis, center, maxSquaredChord, found);
+                }
+            } else {
+                search(median + 1, to, nextAxis, center, maxSquaredChord, found);
+                if (offset * offset <= maxSquaredChord) {
+                    search(from, median, nextAxis, center, maxSquaredChord, found);
+                }
+            }
+        }
+
+        private static double squaredDistance(double[] a, double[] b) {
+            double dx = a[0] - b[0];
+            double dy = a[1] - b[1];
+            double dz = a[2] - b[2];
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+}
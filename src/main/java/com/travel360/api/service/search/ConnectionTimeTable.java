@@ -0,0 +1,156 @@
+package com.travel360.api.service.search;
+
+import com.travel360.api.model.AirportConnectionTime;
+import com.travel360.api.model.ConnectionType;
+import com.travel360.api.model.Flight;
+import com.travel360.api.repository.AirportConnectionTimeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Minimum and maximum connection times per airport, loaded from {@code airport_connection_times}.
+ * <p>
+ * Every airport with a row is resolved at load time into one {@link Windows} holding its domestic,
+ * international and loosest window (a {@code DOMESTIC} or {@code INTERNATIONAL} row overrides the
+ * {@code ALL} row, which overrides the configured default), so a lookup is a single hash map read.
+ * A connection is international when the inbound origin, the connecting airport and the outbound
+ * destination are not all in the same country.
+ */
+@Component
+public class ConnectionTimeTable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionTimeTable.class);
+
+    @Autowired
+    private AirportConnectionTimeRepository connectionTimeRepository;
+
+    @Value("${travel360.search.connection.default-min-minutes:60}")
+    private int defaultMinMinutes;
+
+    @Value("${travel360.search.connection.default-max-minutes:360}")
+    private int defaultMaxMinutes;
+
+    private volatile Table table;
+
+    /**
+     * Layover limits for one kind of connection at one airport; the next departure must be strictly
+     * later than {@code minMinutes} and strictly earlier than {@code maxMinutes} after the arrival.
+     */
+    public record ConnectionWindow(int minMinutes, int maxMinutes) {
+
+        public boolean allows(LocalDateTime arrival, LocalDateTime departure) {
+            return departure.isAfter(arrival.plusMinutes(minMinutes))
+                    && departure.isBefore(arrival.plusMinutes(maxMinutes));
+        }
+    }
+
+    public ConnectionWindow window(Long airportId, boolean international) {
+        Table current = table();
+        Windows windows = current.byAirport.get(airportId);
+        if (windows == null) {
+            return current.defaults;
+        }
+        return international ? windows.international : windows.domestic;
+    }
+
+    /**
+     * The widest window at an airport across domestic and international connections, for scanning departures.
+     */
+    public ConnectionWindow loosest(Long airportId) {
+        Table current = table();
+        Windows windows = current.byAirport.get(airportId);
+        return windows == null ? current.defaults : windows.loosest;
+    }
+
+    /**
+     * The widest window over all airports, for queries that cannot evaluate per-airport limits.
+     */
+    public ConnectionWindow loosest() {
+        return table().envelope;
+    }
+
+    /**
+     * Whether {@code outbound} can be taken after {@code inbound} at the airport where they meet.
+     */
+    public boolean allows(Flight inbound, Flight outbound) {
+        Long airportId = inbound.getDestinationAirport().getId();
+        if (!airportId.equals(outbound.getOriginAirport().getId())) {
+            return false;
+        }
+        return window(airportId, isInternational(inbound, outbound))
+                .allows(inbound.getArrivalTime(), outbound.getDepartureTime());
+    }
+
+    public static boolean isInternational(Flight inbound, Flight outbound) {
+        String country = inbound.getDestinationAirport().getCountry();
+        return !Objects.equals(inbound.getOriginAirport().getCountry(), country)
+                || !Objects.equals(outbound.getDestinationAirport().getCountry(), country);
+    }
+
+    @Scheduled(fixedDelayString = "${travel360.search.connection.refresh-interval-ms:300000}",
+               initialDelayString = "${travel360.search.connection.refresh-interval-ms:300000}")
+    public void reload() {
+        ConnectionWindow defaults = new ConnectionWindow(defaultMinMinutes, defaultMaxMinutes);
+        Map<Long, Map<ConnectionType, ConnectionWindow>> rows = new HashMap<>();
+        for (AirportConnectionTime row : connectionTimeRepository.findAllActive()) {
+            rows.computeIfAbsent(row.getAirport().getId(), id -> new HashMap<>())
+                    .put(row.getConnectionType(), new ConnectionWindow(row.getMinConnectionMinutes(), row.getMaxConnectionMinutes()));
+        }
+
+        Map<Long, Windows> byAirport = new HashMap<>(rows.size());
+        int envelopeMin = defaults.minMinutes();
+        int envelopeMax = defaults.maxMinutes();
+        for (Map.Entry<Long, Map<ConnectionType, ConnectionWindow>> entry : rows.entrySet()) {
+            Map<ConnectionType, ConnectionWindow> types = entry.getValue();
+            ConnectionWindow all = types.getOrDefault(ConnectionType.ALL, defaults);
+            Windows windows = new Windows(
+                    types.getOrDefault(ConnectionType.DOMESTIC, all),
+                    types.getOrDefault(ConnectionType.INTERNATIONAL, all));
+            byAirport.put(entry.getKey(), windows);
+            envelopeMin = Math.min(envelopeMin, windows.loosest.minMinutes());
+            envelopeMax = Math.max(envelopeMax, windows.loosest.maxMinutes());
+        }
+
+        table = new Table(byAirport, defaults, new ConnectionWindow(envelopeMin, envelopeMax));
+        logger.info("Loaded connection times for {} airports", byAirport.size());
+    }
+
+    private Table table() {
+        Table current = table;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (table == null) {
+                reload();
+            }
+            return table;
+        }
+    }
+
+    private static final class Windows {
+
+        private final ConnectionWindow domestic;
+        private final ConnectionWindow international;
+        private final ConnectionWindow loosest;
+
+        private Windows(ConnectionWindow domestic, ConnectionWindow international) {
+            this.domestic = domestic;
+            this.international = international;
+            this.loosest = new ConnectionWindow(
+                    Math.min(domestic.minMinutes(), international.minMinutes()),
+                    Math.max(domestic.maxMinutes(), international.maxMinutes()));
+        }
+    }
+
+    private record Table(Map<Long, Windows> byAirport, ConnectionWindow defaults, ConnectionWindow envelope) {}
+}
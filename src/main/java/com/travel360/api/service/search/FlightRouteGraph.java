@@ -0,0 +1,282 @@
+package com.travel360.api.service.search;
+
+import com.travel360.api.event.FlightChangedEvent;
+import com.travel360.api.model.Flight;
+import com.travel360.api.model.FlightStatus;
+import com.travel360.api.repository.FlightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory time-expanded view of the bookable flight schedule.
+ * <p>
+ * Departures are grouped by origin airport and kept sorted by departure time, so finding
+ * every onward flight from an airport inside a time window is a binary search instead of
+ * a database round trip. Readers work on an immutable {@link Snapshot}; writers replace
+ * the affected origin list copy-on-write and publish a new snapshot.
+ * <p>
+ * Change events can arrive out of order, so an update carrying an older {@link Flight#getVersion()}
+ * than the state already applied is ignored; flights taken out of the graph leave their last version
+ * behind for the same check. Flights that have departed are dropped on every rebuild and update.
+ */
+@Component
+public class FlightRouteGraph {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRouteGraph.class);
+
+    /**
+     * Same statuses accepted by {@link FlightRepository#findAvailableDirectFlights}.
+     */
+    public static final Set<FlightStatus> SEARCHABLE_STATUSES =
+            EnumSet.of(FlightStatus.SCHEDULED, FlightStatus.BOARDING, FlightStatus.DELAYED);
+
+    private static final Comparator<Flight> BY_DEPARTURE =
+            Comparator.comparing(Flight::getDepartureTime).thenComparing(Flight::getId);
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    private volatile Snapshot snapshot;
+
+    // Writer-side lookup used to find the origin list a flight currently lives in
+    private final Map<Long, Flight> indexedFlights = new ConcurrentHashMap<>();
+
+    // Last version of flights taken out of the graph, so a late event cannot put an older state back
+    private final Map<Long, Removal> removedFlights = new HashMap<>();
+
+    /**
+     * Returns the current schedule snapshot, loading it from the database on first use.
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                reload();
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Rebuilds the whole graph from the database.
+     */
+    public synchronized void reload() {
+        long start = System.nanoTime();
+        List<Flight> flights = flightRepository.findSearchableFlights();
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, List<Flight>> grouped = new HashMap<>();
+        indexedFlights.clear();
+        removedFlights.clear();
+        for (Flight flight : flights) {
+            if (!isIndexable(flight, now)) {
+                continue;
+            }
+            grouped.computeIfAbsent(flight.getOriginAirport().getId(), id -> new ArrayList<>()).add(flight);
+            indexedFlights.put(flight.getId(), flight);
+        }
+
+        Map<Long, List<Flight>> departures = new HashMap<>(grouped.size());
+        grouped.forEach((originId, list) -> {
+            list.sort(BY_DEPARTURE);
+            departures.put(originId, List.copyOf(list));
+        });
+
+        snapshot = new Snapshot(departures, indexedFlights.size());
+        logger.info("Route graph loaded {} flights from {} origins in {} ms",
+                indexedFlights.size(), departures.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Inserts or replaces a flight unless a newer version of it was already applied. Flights that are
+     * no longer bookable are removed, and so is every flight that has departed.
+     */
+    public synchronized void upsert(Flight flight) {
+        if (snapshot == null || flight == null || flight.getId() == null || isOutdated(flight)) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, List<Flight>> departures = new HashMap<>(snapshot.departuresByOrigin);
+        removeDeparted(departures, now);
+        Flight previous = indexedFlights.remove(flight.getId());
+        if (previous != null) {
+            removeFrom(departures, previous);
+        }
+        removedFlights.remove(flight.getId());
+
+        if (!isIndexable(flight, now)) {
+            removedFlights.put(flight.getId(), new Removal(flight.getVersion(), flight.getDepartureTime()));
+        } else {
+            Long originId = flight.getOriginAirport().getId();
+            List<Flight> list = new ArrayList<>(departures.getOrDefault(originId, List.of()));
+            int index = Collections.binarySearch(list, flight, BY_DEPARTURE);
+            list.add(index < 0 ? -index - 1 : index, flight);
+            departures.put(originId, List.copyOf(list));
+            indexedFlights.put(flight.getId(), flight);
+        }
+
+        snapshot = new Snapshot(departures, indexedFlights.size());
+    }
+
+    /**
+     * Removes a flight from the graph if it is present.
+     */
+    public synchronized void remove(Long flightId) {
+        if (snapshot == null || flightId == null) {
+            return;
+        }
+        Flight previous = indexedFlights.remove(flightId);
+        if (previous == null) {
+            return;
+        }
+        // A removed flight never comes back through a late update
+        removedFlights.put(flightId, new Removal(Long.MAX_VALUE, previous.getDepartureTime()));
+        Map<Long, List<Flight>> departures = new HashMap<>(snapshot.departuresByOrigin);
+        removeFrom(departures, previous);
+        snapshot = new Snapshot(departures, indexedFlights.size());
+    }
+
+    // Runs before other listeners so that caches invalidated afterwards are recomputed from the new schedule
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        if (event.changeType() == FlightChangedEvent.ChangeType.DELETED || event.flight() == null) {
+            remove(event.flightId());
+        } else {
+            upsert(event.flight());
+        }
+    }
+
+    private void removeFrom(Map<Long, List<Flight>> departures, Flight flight) {
+        Long originId = flight.getOriginAirport().getId();
+        List<Flight> list = departures.get(originId);
+        if (list == null) {
+            return;
+        }
+        List<Flight> updated = new ArrayList<>(list.size());
+        for (Flight candidate : list) {
+            if (!candidate.getId().equals(flight.getId())) {
+                updated.add(candidate);
+            }
+        }
+        if (updated.isEmpty()) {
+            departures.remove(originId);
+        } else {
+            departures.put(originId, List.copyOf(updated));
+        }
+    }
+
+    private boolean isOutdated(Flight flight) {
+        Long version = flight.getVersion();
+        if (version == null) {
+            return false;
+        }
+        Flight indexed = indexedFlights.get(flight.getId());
+        if (indexed != null) {
+            return indexed.getVersion() != null && version < indexed.getVersion();
+        }
+        Removal removal = removedFlights.get(flight.getId());
+        return removal != null && removal.version() != null && version < removal.version();
+    }
+
+    /**
+     * Drops flights that departed before {@code now} from the front of every origin list.
+     */
+    private void removeDeparted(Map<Long, List<Flight>> departures, LocalDateTime now) {
+        departures.entrySet().removeIf(entry -> {
+            List<Flight> list = entry.getValue();
+            int departed = Snapshot.firstDepartureAtOrAfter(list, now);
+            if (departed == 0) {
+                return false;
+            }
+            list.subList(0, departed).forEach(flight -> indexedFlights.remove(flight.getId()));
+            if (departed == list.size()) {
+                return true;
+            }
+            entry.setValue(List.copyOf(list.subList(departed, list.size())));
+            return false;
+        });
+        removedFlights.values().removeIf(removal ->
+                removal.departureTime() != null && removal.departureTime().isBefore(now));
+    }
+
+    private boolean isIndexable(Flight flight, LocalDateTime now) {
+        return flight.getStatus() != null
+                && SEARCHABLE_STATUSES.contains(flight.getStatus())
+                && flight.getOriginAirport() != null
+                && flight.getDestinationAirport() != null
+                && flight.getDepartureTime() != null
+                && flight.getArrivalTime() != null
+                && !flight.getDepartureTime().isBefore(now);
+    }
+
+    private record Removal(Long version, LocalDateTime departureTime) {}
+
+    /**
+     * Immutable, point-in-time view of the schedule.
+     */
+    public static final class Snapshot {
+
+        private final Map<Long, List<Flight>> departuresByOrigin;
+        private final int flightCount;
+
+        private Snapshot(Map<Long, List<Flight>> departuresByOrigin, int flightCount) {
+            this.departuresByOrigin = departuresByOrigin;
+            this.flightCount = flightCount;
+        }
+
+        /**
+         * Departures from an airport with {@code from <= departureTime < to}, in departure order.
+         */
+        public List<Flight> departures(Long originId, LocalDateTime from, LocalDateTime to) {
+            List<Flight> list = departuresByOrigin.get(originId);
+            if (list == null || !from.isBefore(to)) {
+                return List.of();
+            }
+            int start = firstDepartureAtOrAfter(list, from);
+            int end = firstDepartureAtOrAfter(list, to);
+            return list.subList(start, end);
+        }
+
+        public Set<Long> origins() {
+            return Collections.unmodifiableSet(departuresByOrigin.keySet());
+        }
+
+        public int flightCount() {
+            return flightCount;
+        }
+
+        private static int firstDepartureAtOrAfter(List<Flight> list, LocalDateTime time) {
+            int low = 0;
+            int high = list.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (list.get(mid).getDepartureTime().isBefore(time)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
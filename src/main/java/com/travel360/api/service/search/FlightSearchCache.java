@@ -0,0 +1,300 @@
+package com.travel360.api.service.search;
+
+import com.travel360.api.dto.flight.DirectFlightDto;
+import com.travel360.api.dto.flight.FlightSearchResponse;
+import com.travel360.api.dto.flight.SearchCacheStats;
+import com.travel360.api.dto.flight.TransitFlightDto;
+import com.travel360.api.event.FlightChangedEvent;
+import com.travel360.api.model.Flight;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of {@link FlightSearchResponse}s keyed by {@link FlightSearchKey}.
+ * <p>
+ * Entries expire after a fixed TTL and the least recently used entry is evicted once the cache is full.
+ * Every entry remembers the flights it contains, so a change to any of them (seats, price, schedule,
+ * status, deletion) drops exactly the affected entries through that index. A flight that is created,
+ * rescheduled or becomes searchable again may also join results it was not in. Entries are indexed by
+ * departure date as well, so only searches on or before the flight's departure date are checked, and of
+ * those only the ones it can be part of: searches without transits on its own route and date, and searches
+ * with transits whose origin reaches the flight and whose destination is reachable from it within the stop
+ * limit, according to the {@link HubConnectivityIndex}. Seat changes only use the flight index; a flight
+ * whose freed seats would let it join other results shows up there once those entries expire.
+ * <p>
+ * Entries are copies, and so is every response handed out, so callers never share a mutable result.
+ * Callers read {@link #version()} before computing a result and pass it to {@link #put}; a result is not
+ * stored if one of its flights, or the whole cache, was invalidated in the meantime.
+ */
+@Component
+public class FlightSearchCache {
+
+    @Autowired
+    private HubConnectivityIndex hubIndex;
+
+    @Value("${travel360.search.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${travel360.search.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${travel360.search.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private final LinkedHashMap<FlightSearchKey, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<Long, Set<FlightSearchKey>> keysByFlight = new HashMap<>();
+    private final TreeMap<LocalDate, Set<FlightSearchKey>> keysByDate = new TreeMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    // Version of the latest invalidation that may have affected any result
+    private long sharedInvalidationVersion;
+    // Version of the latest invalidation of each recently changed flight, oldest first
+    private final LinkedHashMap<Long, Long> flightInvalidationVersions = new LinkedHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Current invalidation version; increases every time entries are invalidated.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    public synchronized FlightSearchResponse get(FlightSearchKey key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            removeEntry(key, entry);
+            expirations.incrementAndGet();
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return SearchResultCopies.copy(entry.response);
+    }
+
+    /**
+     * Stores a copy of a result unless an invalidation that may affect it happened after
+     * {@code versionAtStart} was read.
+     */
+    public synchronized void put(FlightSearchKey key, FlightSearchResponse response, long versionAtStart) {
+        Set<Long> flightIds = flightIdsOf(response);
+        if (!enabled || invalidatedSince(flightIds, versionAtStart)) {
+            return;
+        }
+
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            unindex(key, previous);
+        }
+
+        Entry entry = new Entry(SearchResultCopies.copy(response), flightIds, System.currentTimeMillis() + ttlSeconds * 1000);
+        entries.put(key, entry);
+        for (Long flightId : entry.flightIds) {
+            keysByFlight.computeIfAbsent(flightId, id -> new HashSet<>()).add(key);
+        }
+        keysByDate.computeIfAbsent(key.departureDate(), date -> new HashSet<>()).add(key);
+
+        evictOverflow();
+    }
+
+    public synchronized void invalidateFlight(Long flightId) {
+        flightInvalidationVersions.remove(flightId);
+        flightInvalidationVersions.put(flightId, version.incrementAndGet());
+        if (flightInvalidationVersions.size() > Math.max(maxEntries, 1)) {
+            // Forgetting a flight's invalidation is safe once every result started before it is rejected
+            Iterator<Long> eldest = flightInvalidationVersions.values().iterator();
+            sharedInvalidationVersion = Math.max(sharedInvalidationVersion, eldest.next());
+            eldest.remove();
+        }
+        Set<FlightSearchKey> keys = keysByFlight.remove(flightId);
+        if (keys == null) {
+            return;
+        }
+        for (FlightSearchKey key : keys) {
+            Entry entry = entries.remove(key);
+            if (entry != null) {
+                unindex(key, entry);
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Drops the entries a searchable flight may join, checking only the searches on or before its
+     * departure date.
+     */
+    public synchronized void invalidateReachable(Flight flight) {
+        sharedInvalidationVersion = version.incrementAndGet();
+        Long originAirportId = flight.getOriginAirport().getId();
+        Long destinationAirportId = flight.getDestinationAirport().getId();
+        LocalDate departureDate = flight.getDepartureTime().toLocalDate();
+        List<FlightSearchKey> affected = new ArrayList<>();
+        for (Set<FlightSearchKey> keys : keysByDate.headMap(departureDate, true).values()) {
+            for (FlightSearchKey key : keys) {
+                if (mayJoin(key, originAirportId, destinationAirportId, departureDate)) {
+                    affected.add(key);
+                }
+            }
+        }
+        for (FlightSearchKey key : affected) {
+            Entry entry = entries.remove(key);
+            if (entry != null) {
+                unindex(key, entry);
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        sharedInvalidationVersion = version.incrementAndGet();
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+        keysByFlight.clear();
+        keysByDate.clear();
+    }
+
+    public synchronized SearchCacheStats getStats() {
+        long hitCount = hits.get();
+        long lookups = hitCount + misses.get();
+        return new SearchCacheStats(
+                entries.size(),
+                maxEntries,
+                ttlSeconds,
+                hitCount,
+                misses.get(),
+                evictions.get(),
+                expirations.get(),
+                invalidations.get(),
+                lookups == 0 ? 0.0 : (double) hitCount / lookups
+        );
+    }
+
+    @Order(10)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        // Entries that contain the flight are found through the index, whatever changed
+        invalidateFlight(event.flightId());
+        Flight flight = event.flight();
+        // Seat changes do not move the flight into other results
+        boolean mayJoinResults = event.changeType() == FlightChangedEvent.ChangeType.CREATED
+                || event.changeType() == FlightChangedEvent.ChangeType.UPDATED
+                || event.changeType() == FlightChangedEvent.ChangeType.STATUS_CHANGED;
+        if (mayJoinResults && isSearchable(flight)) {
+            invalidateReachable(flight);
+        }
+    }
+
+    /**
+     * Whether a flight may be part of the result for {@code key}. A search over a radius may start or end
+     * at any nearby airport, so that side always matches.
+     */
+    private boolean mayJoin(FlightSearchKey key, Long originAirportId, Long destinationAirportId, LocalDate departureDate) {
+        boolean fromOrigin = key.originRadiusKm() > 0 || key.originAirportId().equals(originAirportId);
+        boolean toDestination = key.destinationRadiusKm() > 0 || key.destinationAirportId().equals(destinationAirportId);
+        if (!key.includeTransits()) {
+            return fromOrigin && toDestination && key.departureDate().equals(departureDate);
+        }
+        // Fewest legs before and after the flight, which must leave room for it within maxStops + 1 legs
+        long legsBefore = fromOrigin ? 0 : hubIndex.hopsToDestination(key.originAirportId(), originAirportId);
+        long legsAfter = toDestination ? 0 : hubIndex.hopsToDestination(destinationAirportId, key.destinationAirportId());
+        return legsBefore + 1 + legsAfter <= key.maxStops() + 1L;
+    }
+
+    private static boolean isSearchable(Flight flight) {
+        return flight != null
+                && flight.getStatus() != null
+                && FlightRouteGraph.SEARCHABLE_STATUSES.contains(flight.getStatus())
+                && flight.getOriginAirport() != null
+                && flight.getDestinationAirport() != null
+                && flight.getDepartureTime() != null;
+    }
+
+    private boolean invalidatedSince(Set<Long> flightIds, long versionAtStart) {
+        if (sharedInvalidationVersion > versionAtStart) {
+            return true;
+        }
+        for (Long flightId : flightIds) {
+            Long invalidatedAt = flightInvalidationVersions.get(flightId);
+            if (invalidatedAt != null && invalidatedAt > versionAtStart) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<FlightSearchKey, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            Map.Entry<FlightSearchKey, Entry> eldest = iterator.next();
+            iterator.remove();
+            unindex(eldest.getKey(), eldest.getValue());
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void removeEntry(FlightSearchKey key, Entry entry) {
+        entries.remove(key);
+        unindex(key, entry);
+    }
+
+    private void unindex(FlightSearchKey key, Entry entry) {
+        for (Long flightId : entry.flightIds) {
+            Set<FlightSearchKey> keys = keysByFlight.get(flightId);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByFlight.remove(flightId);
+                }
+            }
+        }
+        Set<FlightSearchKey> keys = keysByDate.get(key.departureDate());
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByDate.remove(key.departureDate());
+            }
+        }
+    }
+
+    private static Set<Long> flightIdsOf(FlightSearchResponse response) {
+        Set<Long> flightIds = new HashSet<>();
+        for (DirectFlightDto flight : response.getDirectFlights()) {
+            flightIds.add(flight.getId());
+        }
+        for (TransitFlightDto transit : response.getTransitFlights()) {
+            for (DirectFlightDto segment : transit.getSegments()) {
+                flightIds.add(segment.getId());
+            }
+        }
+        return flightIds;
+    }
+
+    private record Entry(FlightSearchResponse response, Set<Long> flightIds, long expiresAt) {}
+}
@@ -0,0 +1,38 @@
+package com.travel360.api.service.search;
+
+import com.travel360.api.dto.flight.FlightSearchRequest;
+import com.travel360.api.model.SeatClass;
+
+import java.time.LocalDate;
+
+/**
+ * Normalized identity of a {@link FlightSearchRequest}: two requests with the same key
+ * always produce the same search result for the same schedule.
+ */
+public record FlightSearchKey(
+        Long originAirportId,
+        Long destinationAirportId,
+        LocalDate departureDate,
+        int originRadiusKm,
+        int destinationRadiusKm,
+        SeatClass seatClass,
+        int passengerCount,
+        boolean includeTransits,
+        int maxStops
+) {
+
+    public static FlightSearchKey of(FlightSearchRequest request) {
+        return new FlightSearchKey(
+                request.getOriginAirportId(),
+                request.getDestinationAirportId(),
+                request.getDepartureDate(),
+                request.getOriginRadiusKm() == null ? 0 : request.getOriginRadiusKm(),
+                request.getDestinationRadiusKm() == null ? 0 : request.getDestinationRadiusKm(),
+                request.getSeatClass(),
+                request.getPassengerCount(),
+                request.isIncludeTransits(),
+                // maxStops only matters when transits are searched
+                request.isIncludeTransits() ? request.getMaxStops() : 0
+        );
+    }
+}
@@ -0,0 +1,221 @@
+package com.travel360.api.service.search;
+
+import com.travel360.api.event.FlightChangedEvent;
+import com.travel360.api.model.Flight;
+import com.travel360.api.repository.FlightRepository;
+import com.travel360.api.repository.projection.FlightRoute;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Airport-level connectivity of the bookable schedule, ignoring departure times.
+ * <p>
+ * Keeps the number of searchable flights on every (origin, destination) route. From that it answers,
+ * per airport pair, which intermediate airports have service from the origin and onward service to the
+ * destination, and how many legs at least separate an airport from a destination. Since a route exists
+ * whenever at least one flight flies it, these answers over-approximate what the timetable allows, which
+ * makes them safe for pruning: an itinerary through an airport that cannot reach the destination in the
+ * remaining legs can never be completed.
+ * <p>
+ * Route counts are updated from {@link FlightChangedEvent}s. The derived lookups live in an immutable
+ * {@link Topology} that is replaced only when a route appears or disappears, and the whole index is
+ * rebuilt from the database periodically to correct any drift.
+ */
+@Component
+public class HubConnectivityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(HubConnectivityIndex.class);
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    // Writer-side state, guarded by this
+    private final Map<Long, FlightRoute> routesByFlight = new HashMap<>();
+    private final Map<Long, Map<Long, Integer>> flightCounts = new HashMap<>();
+
+    private volatile Topology topology;
+
+    /**
+     * Airports X with at least one flight origin → X and one flight X → destination.
+     */
+    public Set<Long> intermediates(Long originAirportId, Long destinationAirportId) {
+        return topology().intermediates(originAirportId, destinationAirportId);
+    }
+
+    /**
+     * Fewest legs from {@code airportId} to {@code destinationAirportId}, or {@link #UNREACHABLE}.
+     */
+    public int hopsToDestination(Long airportId, Long destinationAirportId) {
+        return topology().hopsToDestination(destinationAirportId).getOrDefault(airportId, UNREACHABLE);
+    }
+
+    /**
+     * Whether {@code destinationAirportId} can be reached from {@code airportId} in at most {@code maxLegs} legs.
+     */
+    public boolean canReach(Long airportId, Long destinationAirportId, int maxLegs) {
+        return hopsToDestination(airportId, destinationAirportId) <= maxLegs;
+    }
+
+    /**
+     * Rebuilds the route counts from the database.
+     */
+    @Scheduled(fixedDelayString = "${travel360.search.hub-index.rebuild-interval-ms:3600000}",
+               initialDelayString = "${travel360.search.hub-index.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        routesByFlight.clear();
+        flightCounts.clear();
+        for (FlightRoute route : flightRepository.findSearchableRoutes()) {
+            routesByFlight.put(route.flightId(), route);
+            increment(route);
+        }
+        topology = new Topology(flightCounts);
+        logger.info("Hub connectivity index built with {} routes in {} ms",
+                topology.routeCount, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Runs after the route graph, before the search cache
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onFlightChanged(FlightChangedEvent event) {
+        if (topology == null) {
+            return;
+        }
+
+        boolean topologyChanged = false;
+        FlightRoute previous = routesByFlight.remove(event.flightId());
+        if (previous != null) {
+            topologyChanged = decrement(previous);
+        }
+
+        Flight flight = event.flight();
+        if (event.changeType() != FlightChangedEvent.ChangeType.DELETED && isSearchable(flight)) {
+            FlightRoute route = new FlightRoute(flight.getId(), flight.getOriginAirport().getId(), flight.getDestinationAirport().getId());
+            routesByFlight.put(route.flightId(), route);
+            topologyChanged |= increment(route);
+        }
+
+        if (topologyChanged) {
+            topology = new Topology(flightCounts);
+        }
+    }
+
+    private Topology topology() {
+        Topology current = topology;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (topology == null) {
+                rebuild();
+            }
+            return topology;
+        }
+    }
+
+    // Returns true if this was the first flight on the route
+    private boolean increment(FlightRoute route) {
+        Map<Long, Integer> counts = flightCounts.computeIfAbsent(route.originAirportId(), id -> new HashMap<>());
+        return counts.merge(route.destinationAirportId(), 1, Integer::sum) == 1;
+    }
+
+    // Returns true if this was the last flight on the route
+    private boolean decrement(FlightRoute route) {
+        Map<Long, Integer> counts = flightCounts.get(route.originAirportId());
+        if (counts == null || !counts.containsKey(route.destinationAirportId())) {
+            return false;
+        }
+        int remaining = counts.merge(route.destinationAirportId(), -1, Integer::sum);
+        if (remaining > 0) {
+            return false;
+        }
+        counts.remove(route.destinationAirportId());
+        if (counts.isEmpty()) {
+            flightCounts.remove(route.originAirportId());
+        }
+        return true;
+    }
+
+    private static boolean isSearchable(Flight flight) {
+        return flight != null
+                && flight.getId() != null
+                && flight.getStatus() != null
+                && FlightRouteGraph.SEARCHABLE_STATUSES.contains(flight.getStatus())
+                && flight.getOriginAirport() != null
+                && flight.getDestinationAirport() != null;
+    }
+
+    /**
+     * Immutable route adjacency with lazily computed, memoized per-pair and per-destination lookups.
+     */
+    private static final class Topology {
+
+        private final Map<Long, Set<Long>> successors = new HashMap<>();
+        private final Map<Long, Set<Long>> predecessors = new HashMap<>();
+        private final int routeCount;
+
+        private final Map<Long, Map<Long, Set<Long>>> intermediatesByPair = new ConcurrentHashMap<>();
+        private final Map<Long, Map<Long, Integer>> hopsByDestination = new ConcurrentHashMap<>();
+
+        private Topology(Map<Long, Map<Long, Integer>> flightCounts) {
+            int routes = 0;
+            for (Map.Entry<Long, Map<Long, Integer>> entry : flightCounts.entrySet()) {
+                for (Long destinationId : entry.getValue().keySet()) {
+                    successors.computeIfAbsent(entry.getKey(), id -> new HashSet<>()).add(destinationId);
+                    predecessors.computeIfAbsent(destinationId, id -> new HashSet<>()).add(entry.getKey());
+                    routes++;
+                }
+            }
+            this.routeCount = routes;
+        }
+
+        private Set<Long> intermediates(Long originId, Long destinationId) {
+            return intermediatesByPair
+                    .computeIfAbsent(originId, id -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(destinationId, id -> {
+                        Set<Long> result = new HashSet<>(successors.getOrDefault(originId, Set.of()));
+                        result.retainAll(predecessors.getOrDefault(destinationId, Set.of()));
+                        result.remove(originId);
+                        result.remove(destinationId);
+                        return Collections.unmodifiableSet(result);
+                    });
+        }
+
+        // Breadth-first search backwards from the destination over the reversed routes
+        private Map<Long, Integer> hopsToDestination(Long destinationId) {
+            return hopsByDestination.computeIfAbsent(destinationId, id -> {
+                Map<Long, Integer> hops = new HashMap<>();
+                Deque<Long> queue = new ArrayDeque<>();
+                hops.put(destinationId, 0);
+                queue.add(destinationId);
+                while (!queue.isEmpty()) {
+                    Long airportId = queue.poll();
+                    int distance = hops.get(airportId);
+                    for (Long previous : predecessors.getOrDefault(airportId, Set.of())) {
+                        if (!hops.containsKey(previous)) {
+                            hops.put(previous, distance + 1);
+                            queue.add(previous);
+                        }
+                    }
+                }
+                return Collections.unmodifiableMap(hops);
+            });
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.travel360.api.service.search;
+
+import com.travel360.api.model.SeatClass;
+
+import java.time.LocalDateTime;
+
+/**
+ * Parameters for a connecting-itinerary search over the {@link FlightRouteGraph}.
+ * Layover limits come from the {@link ConnectionTimeTable} of each connecting airport.
+ *
+ * @param originAirportId        airport the first leg departs from
+ * @param destinationAirportId   airport the last leg arrives at
+ * @param departureFrom          earliest first-leg departure (inclusive)
+ * @param departureTo            latest first-leg departure (exclusive)
+ * @param seatClass              seat class every leg must have capacity in
+ * @param passengerCount         seats required on every leg
+ * @param maxStops               maximum number of intermediate airports
+ */
+public record ItineraryQuery(
+        Long originAirportId,
+        Long destinationAirportId,
+        LocalDateTime departureFrom,
+        LocalDateTime departureTo,
+        SeatClass seatClass,
+        int passengerCount,
+        int maxStops
+) {}
@@ -0,0 +1,443 @@
+package com.travel360.api.service.search;
+
+import com.travel360.api.model.Flight;
+import com.travel360.api.service.reference.AirportDistanceMatrix;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Round-based (RAPTOR-style) connecting itinerary search over a {@link FlightRouteGraph.Snapshot}.
+ * <p>
+ * Round {@code k} extends every partial itinerary ending at an intermediate airport by one more leg,
+ * so itineraries with {@code k} stops are found in round {@code k}. First legs are always expanded
+ * in full, which keeps one-stop results exhaustive. From the second round on, a partial itinerary waiting
+ * at an airport is dropped only when another one is at least as good in every way that matters for what
+ * it can still become: the same onward flights pass the connection windows and seat checks for both, both
+ * left the origin at the same time, and the other is no dearer, has flown no further and has visited no
+ * airport this one has not. What is left is capped per airport, so the work per round stays bounded even on
+ * very dense schedules; a search that hits the cap reports itself as {@link Completion#TRUNCATED}.
+ * <p>
+ * Partial itineraries are only kept at airports from which the {@link HubConnectivityIndex} says the
+ * destination is reachable in the legs that remain, and only while the great-circle distance flown so
+ * far plus the remaining distance to the destination stays within the detour budget, so connections
+ * through hubs far off the direct line are dropped before they are expanded.
+ * <p>
+ * Large rounds are split into chunks that are expanded in parallel on the {@link SearchExecutor};
+ * results are still handed to the sink in the same order as a sequential search.
+ */
+@Component
+public class ItinerarySearchEngine {
+
+    /**
+     * Deadline value meaning the search may run to completion.
+     */
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private static final Comparator<Label> BY_ARRIVAL_THEN_PRICE =
+            Comparator.comparing((Label label) -> label.flight.getArrivalTime())
+                    .thenComparing(label -> label.totalPrice);
+
+    private static final Comparator<Label> BY_PRICE_THEN_DISTANCE =
+            Comparator.comparing((Label label) -> label.totalPrice)
+                    .thenComparingDouble(label -> label.flownKm);
+
+    /**
+     * How much of the search space a search covered.
+     */
+    public enum Completion {
+        // Every itinerary was considered
+        COMPLETE,
+        // The per-airport cap dropped partial itineraries that were not dominated by others
+        TRUNCATED,
+        // The deadline stopped the search
+        DEADLINE_EXCEEDED;
+
+        public boolean isComplete() {
+            return this == COMPLETE;
+        }
+    }
+
+    @Autowired
+    private SearchExecutor searchExecutor;
+
+    @Autowired
+    private HubConnectivityIndex hubIndex;
+
+    @Autowired
+    private ConnectionTimeTable connectionTimes;
+
+    @Autowired
+    private AirportDistanceMatrix distances;
+
+    @Value("${travel360.search.max-itineraries:500}")
+    private int maxItineraries;
+
+    @Value("${travel360.search.max-labels-per-airport:32}")
+    private int maxLabelsPerAirport;
+
+    // An itinerary may fly at most ratio * direct distance + allowance
+    @Value("${travel360.search.max-detour-ratio:2.0}")
+    private double maxDetourRatio;
+
+    @Value("${travel360.search.detour-allowance-km:300}")
+    private double detourAllowanceKm;
+
+    // Rounds with more partial itineraries than this are expanded in parallel chunks of this size
+    @Value("${travel360.search.parallel-chunk-size:64}")
+    private int parallelChunkSize;
+
+    /**
+     * Collects every connecting itinerary (at least one stop) matching the query.
+     */
+    public List<List<Flight>> search(FlightRouteGraph.Snapshot schedule, ItineraryQuery query) {
+        List<List<Flight>> itineraries = new ArrayList<>();
+        search(schedule, query, itineraries::add);
+        return itineraries;
+    }
+
+    /**
+     * Streams connecting itineraries to {@code sink} as they are found, fewest stops first.
+     */
+    public void search(FlightRouteGraph.Snapshot schedule, ItineraryQuery query, Consumer<List<Flight>> sink) {
+        search(schedule, query, sink, maxItineraries, NO_DEADLINE);
+    }
+
+    /**
+     * Same as {@link #search(FlightRouteGraph.Snapshot, ItineraryQuery, Consumer)} with an explicit
+     * result limit, for callers that aggregate itineraries instead of collecting them.
+     */
+    public void search(FlightRouteGraph.Snapshot schedule, ItineraryQuery query, Consumer<List<Flight>> sink, int limit) {
+        search(schedule, query, sink, limit, NO_DEADLINE);
+    }
+
+    /**
+     * Searches until done or until {@link System#nanoTime()} passes {@code deadlineNanos}. Reaching
+     * {@code limit} ends the search early but still counts as complete, since the caller asked for no more.
+     *
+     * @return whether every itinerary was considered; otherwise only part of them were emitted
+     */
+    public Completion search(FlightRouteGraph.Snapshot schedule, ItineraryQuery query, Consumer<List<Flight>> sink,
+                             int limit, long deadlineNanos) {
+        if (query.maxStops() < 1) {
+            return Completion.COMPLETE;
+        }
+
+        // First legs to airports that cannot reach the destination in the remaining legs are never expanded
+        Set<Long> oneStopHubs = query.maxStops() == 1
+                ? hubIndex.intermediates(query.originAirportId(), query.destinationAirportId())
+                : null;
+        double detourBudgetKm = detourBudgetKm(query);
+        List<Label> current = new ArrayList<>();
+        for (Flight flight : schedule.departures(query.originAirportId(), query.departureFrom(), query.departureTo())) {
+            if (!isUsable(flight, query) || arrivesAt(flight, query.destinationAirportId())) {
+                continue;
+            }
+            Long hubId = flight.getDestinationAirport().getId();
+            boolean mayConnect = oneStopHubs != null
+                    ? oneStopHubs.contains(hubId)
+                    : hubIndex.canReach(hubId, query.destinationAirportId(), query.maxStops());
+            double flownKm = legKm(flight);
+            if (mayConnect && withinDetour(flownKm, hubId, query, detourBudgetKm)) {
+                current.add(new Label(flight, null, query, flownKm, null));
+            }
+        }
+
+        Emitter emitter = new Emitter(sink, limit);
+        boolean truncated = false;
+        for (int round = 1; round <= query.maxStops() && !current.isEmpty(); round++) {
+            boolean expandFurther = round < query.maxStops();
+            Map<Long, List<Label>> next = new HashMap<>();
+
+            Outcome outcome = current.size() > parallelChunkSize
+                    ? expandInParallel(schedule, query, current, expandFurther, detourBudgetKm, deadlineNanos, emitter, next)
+                    : expand(schedule, query, current, expandFurther, detourBudgetKm, deadlineNanos, emitter, next);
+            if (outcome == Outcome.DEADLINE_EXCEEDED) {
+                return Completion.DEADLINE_EXCEEDED;
+            }
+            if (outcome == Outcome.LIMIT_REACHED) {
+                break;
+            }
+
+            current = new ArrayList<>();
+            for (List<Label> labels : next.values()) {
+                List<Label> front = paretoFront(labels);
+                if (front.size() > maxLabelsPerAirport) {
+                    front.sort(BY_ARRIVAL_THEN_PRICE);
+                    front = front.subList(0, maxLabelsPerAirport);
+                    truncated = true;
+                }
+                current.addAll(front);
+            }
+        }
+        return truncated ? Completion.TRUNCATED : Completion.COMPLETE;
+    }
+
+    /**
+     * Expands chunks of {@code labels} concurrently into chunk-local buffers, then replays the buffers in
+     * chunk order so the sink sees the same sequence as a sequential expansion.
+     */
+    private Outcome expandInParallel(FlightRouteGraph.Snapshot schedule, ItineraryQuery query, List<Label> labels,
+                                     boolean expandFurther, double detourBudgetKm, long deadlineNanos,
+                                     Emitter emitter, Map<Long, List<Label>> next) {
+        List<FutureTask<ChunkResult>> chunks = new ArrayList<>();
+        for (int from = 0; from < labels.size(); from += parallelChunkSize) {
+            List<Label> chunk = labels.subList(from, Math.min(from + parallelChunkSize, labels.size()));
+            chunks.add(searchExecutor.submit(() -> {
+                ChunkResult result = new ChunkResult();
+                result.outcome = expand(schedule, query, chunk, expandFurther, detourBudgetKm, deadlineNanos,
+                        result.itineraries::add, result.next);
+                return result;
+            }));
+        }
+
+        Outcome outcome = Outcome.COMPLETED;
+        for (FutureTask<ChunkResult> chunk : chunks) {
+            ChunkResult result = searchExecutor.join(chunk);
+            if (outcome != Outcome.COMPLETED) {
+                continue;
+            }
+            for (List<Flight> itinerary : result.itineraries) {
+                if (!emitter.test(itinerary)) {
+                    outcome = Outcome.LIMIT_REACHED;
+                    break;
+                }
+            }
+            if (outcome == Outcome.COMPLETED && result.outcome == Outcome.DEADLINE_EXCEEDED) {
+                outcome = Outcome.DEADLINE_EXCEEDED;
+            }
+            result.next.forEach((airportId, waiting) ->
+                    next.computeIfAbsent(airportId, id -> new ArrayList<>()).addAll(waiting));
+        }
+        return outcome;
+    }
+
+    /**
+     * Extends every label by one leg. Itineraries reaching the destination go to {@code found}, which returns
+     * {@code false} to stop; partial itineraries to continue from are added to {@code next}.
+     */
+    private Outcome expand(FlightRouteGraph.Snapshot schedule, ItineraryQuery query, List<Label> labels,
+                           boolean expandFurther, double detourBudgetKm, long deadlineNanos,
+                           Predicate<List<Flight>> found, Map<Long, List<Label>> next) {
+        for (Label label : labels) {
+            if (deadlineNanos != NO_DEADLINE && System.nanoTime() - deadlineNanos > 0) {
+                return Outcome.DEADLINE_EXCEEDED;
+            }
+
+            List<Flight> connections = label.connections != null ? label.connections : connections(schedule, query, label.flight);
+            for (Flight onward : connections) {
+                if (arrivesAt(onward, query.destinationAirportId())) {
+                    if (!found.test(label.toItinerary(onward))) {
+                        return Outcome.LIMIT_REACHED;
+                    }
+                } else if (expandFurther && !label.visits(onward.getDestinationAirport().getId())
+                        && hubIndex.canReach(onward.getDestinationAirport().getId(), query.destinationAirportId(),
+                                query.maxStops() - label.legs)) {
+                    double flownKm = label.flownKm + legKm(onward);
+                    if (withinDetour(flownKm, onward.getDestinationAirport().getId(), query, detourBudgetKm)) {
+                        // Computed here so it runs in the parallel chunk and is reused by pruning and the next round
+                        List<Flight> onwardConnections = connections(schedule, query, onward);
+                        if (!onwardConnections.isEmpty()) {
+                            next.computeIfAbsent(onward.getDestinationAirport().getId(), id -> new ArrayList<>())
+                                    .add(new Label(onward, label, query, flownKm, onwardConnections));
+                        }
+                    }
+                }
+            }
+        }
+        return Outcome.COMPLETED;
+    }
+
+    /**
+     * Flights that can be taken after {@code inbound}: within the connecting airport's domestic or
+     * international window and with enough seats. Scans the airport's widest window, then applies the
+     * limits that fit each flight.
+     */
+    private List<Flight> connections(FlightRouteGraph.Snapshot schedule, ItineraryQuery query, Flight inbound) {
+        Long airportId = inbound.getDestinationAirport().getId();
+        LocalDateTime arrival = inbound.getArrivalTime();
+        ConnectionTimeTable.ConnectionWindow scan = connectionTimes.loosest(airportId);
+        List<Flight> connections = new ArrayList<>();
+        for (Flight onward : schedule.departures(airportId, arrival.plusMinutes(scan.minMinutes()), arrival.plusMinutes(scan.maxMinutes()))) {
+            if (connectionTimes.allows(inbound, onward) && isUsable(onward, query)) {
+                connections.add(onward);
+            }
+        }
+        return connections;
+    }
+
+    /**
+     * Drops the labels at one airport that another label dominates. Only labels with the same onward
+     * connections and the same first departure are compared, since anything else changes which
+     * itineraries a label can still produce or how they rank; among those, a label is dominated by one
+     * that is no dearer, has flown no further and has visited no airport it has not.
+     */
+    private List<Label> paretoFront(List<Label> labels) {
+        Map<DominanceKey, List<Label>> groups = new HashMap<>();
+        for (Label label : labels) {
+            groups.computeIfAbsent(DominanceKey.of(label), key -> new ArrayList<>()).add(label);
+        }
+
+        List<Label> front = new ArrayList<>();
+        for (List<Label> group : groups.values()) {
+            group.sort(BY_PRICE_THEN_DISTANCE);
+            List<Label> kept = new ArrayList<>();
+            for (Label label : group) {
+                if (kept.stream().noneMatch(better -> better.dominates(label))) {
+                    kept.add(label);
+                }
+            }
+            front.addAll(kept);
+        }
+        return front;
+    }
+
+    // Unknown airports (not in the distance matrix yet) never cause pruning
+    private double detourBudgetKm(ItineraryQuery query) {
+        double directKm = distances.distanceKm(query.originAirportId(), query.destinationAirportId());
+        return Double.isNaN(directKm) ? Double.POSITIVE_INFINITY : directKm * maxDetourRatio + detourAllowanceKm;
+    }
+
+    private double legKm(Flight flight) {
+        double legKm = distances.distanceKm(flight.getOriginAirport().getId(), flight.getDestinationAirport().getId());
+        return Double.isNaN(legKm) ? 0 : legKm;
+    }
+
+    // The shortest possible itinerary through this airport must still fit in the budget
+    private boolean withinDetour(double flownKm, Long airportId, ItineraryQuery query, double detourBudgetKm) {
+        double remainingKm = distances.distanceKm(airportId, query.destinationAirportId());
+        return Double.isNaN(remainingKm) || flownKm + remainingKm <= detourBudgetKm;
+    }
+
+    private boolean isUsable(Flight flight, ItineraryQuery query) {
+        return flight.hasAvailableSeats(query.seatClass(), query.passengerCount());
+    }
+
+    private boolean arrivesAt(Flight flight, Long airportId) {
+        return flight.getDestinationAirport().getId().equals(airportId);
+    }
+
+    private enum Outcome {
+        COMPLETED,
+        LIMIT_REACHED,
+        DEADLINE_EXCEEDED
+    }
+
+    /**
+     * Passes itineraries to the caller's sink and reports when the result limit has been reached.
+     */
+    private static final class Emitter implements Predicate<List<Flight>> {
+
+        private final Consumer<List<Flight>> sink;
+        private final int limit;
+        private int emitted;
+
+        private Emitter(Consumer<List<Flight>> sink, int limit) {
+            this.sink = sink;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean test(List<Flight> itinerary) {
+            sink.accept(itinerary);
+            return ++emitted < limit;
+        }
+    }
+
+    /**
+     * Labels are only compared with labels that have the same key.
+     */
+    private record DominanceKey(LocalDateTime firstDeparture, List<Long> connectionIds) {
+
+        private static DominanceKey of(Label label) {
+            Label first = label;
+            while (first.previous != null) {
+                first = first.previous;
+            }
+            return new DominanceKey(first.flight.getDepartureTime(),
+                    label.connections.stream().map(Flight::getId).toList());
+        }
+    }
+
+    private static final class ChunkResult {
+
+        private final List<List<Flight>> itineraries = new ArrayList<>();
+        private final Map<Long, List<Label>> next = new HashMap<>();
+        private Outcome outcome;
+    }
+
+    /**
+     * A partial itinerary ending with {@code flight}, linked back to its previous leg.
+     */
+    private static final class Label {
+
+        private final Flight flight;
+        private final Label previous;
+        private final int legs;
+        private final BigDecimal totalPrice;
+        private final double flownKm;
+        // Flights that can follow this one; null for first legs, which look them up when expanded
+        private final List<Flight> connections;
+
+        private Label(Flight flight, Label previous, ItineraryQuery query, double flownKm, List<Flight> connections) {
+            this.flight = flight;
+            this.previous = previous;
+            this.legs = previous == null ? 1 : previous.legs + 1;
+            this.flownKm = flownKm;
+            this.connections = connections;
+            BigDecimal price = flight.getPriceForClass(query.seatClass());
+            BigDecimal base = previous == null ? BigDecimal.ZERO : previous.totalPrice;
+            this.totalPrice = price == null ? base : base.add(price);
+        }
+
+        private Long airportId() {
+            return flight.getDestinationAirport().getId();
+        }
+
+        // Callers only compare labels with the same DominanceKey
+        private boolean dominates(Label other) {
+            if (totalPrice.compareTo(other.totalPrice) > 0 || flownKm > other.flownKm) {
+                return false;
+            }
+            for (Label label = this; label != null; label = label.previous) {
+                if (!other.visits(label.flight.getOriginAirport().getId())
+                        || !other.visits(label.flight.getDestinationAirport().getId())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean visits(Long airportId) {
+            for (Label label = this; label != null; label = label.previous) {
+                if (label.flight.getOriginAirport().getId().equals(airportId)
+                        || label.flight.getDestinationAirport().getId().equals(airportId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private List<Flight> toItinerary(Flight lastLeg) {
+            Flight[] flights = new Flight[legs + 1];
+            flights[legs] = lastLeg;
+            int index = legs - 1;
+            for (Label label = this; label != null; label = label.previous) {
+                flights[index--] = label.flight;
+            }
+            return List.of(flights);
+        }
+    }
+}
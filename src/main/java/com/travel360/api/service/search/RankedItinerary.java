@@ -0,0 +1,62 @@
+package com.travel360.api.service.search;
+
+import com.travel360.api.dto.flight.SearchSortOption;
+import com.travel360.api.model.Flight;
+import com.travel360.api.model.SeatClass;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A direct flight (one leg) or transit itinerary with the values it is ranked by, computed once
+ * so candidates can be compared without converting them to DTOs first.
+ */
+public record RankedItinerary(List<Flight> legs, BigDecimal totalPrice, LocalDateTime departureTime, long durationMinutes) {
+
+    public static RankedItinerary of(List<Flight> legs, SeatClass seatClass) {
+        BigDecimal totalPrice = BigDecimal.ZERO;
+        for (Flight leg : legs) {
+            BigDecimal price = leg.getPriceForClass(seatClass);
+            if (price != null) {
+                totalPrice = totalPrice.add(price);
+            }
+        }
+        LocalDateTime departure = legs.get(0).getDepartureTime();
+        LocalDateTime arrival = legs.get(legs.size() - 1).getArrivalTime();
+        return new RankedItinerary(legs, totalPrice, departure, Duration.between(departure, arrival).toMinutes());
+    }
+
+    public boolean isDirect() {
+        return legs.size() == 1;
+    }
+
+    public int stops() {
+        return legs.size() - 1;
+    }
+
+    /**
+     * Best-first ordering for a sort option; ties are broken by price, then departure time, then flight ids.
+     */
+    public static Comparator<RankedItinerary> comparator(SearchSortOption sortBy) {
+        Comparator<RankedItinerary> byPrice = Comparator.comparing(RankedItinerary::totalPrice);
+        Comparator<RankedItinerary> byDeparture = Comparator.comparing(RankedItinerary::departureTime);
+        Comparator<RankedItinerary> primary = switch (sortBy) {
+            case PRICE -> byPrice;
+            case DURATION -> Comparator.comparingLong(RankedItinerary::durationMinutes);
+            case DEPARTURE_TIME -> byDeparture;
+            case STOPS -> Comparator.comparingInt(RankedItinerary::stops);
+        };
+        return primary.thenComparing(byPrice).thenComparing(byDeparture).thenComparing(RankedItinerary::legIds);
+    }
+
+    private String legIds() {
+        StringBuilder ids = new StringBuilder();
+        for (Flight leg : legs) {
+            ids.append(leg.getId()).append('/');
+        }
+        return ids.toString();
+    }
+}
@@ -0,0 +1,131 @@
+package com.travel360.api.service.search;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded executor for flight search work.
+ * <p>
+ * At most {@code max-concurrency} tasks run at once, on threads named {@code flight-search-N}: virtual
+ * threads when the runtime has them (Java 21+) and daemon platform threads on older runtimes, such as the
+ * Java 17 the application is built for. Submitting never blocks: a task that does not fit in the
+ * queue is simply left unstarted, and {@link #join} runs any unstarted task on the calling thread.
+ * Because a caller never waits on a task nobody has picked up, nested fan-out (a search task that
+ * itself submits tasks) cannot deadlock the pool.
+ */
+@Component
+public class SearchExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchExecutor.class);
+
+    @Value("${travel360.search.executor.max-concurrency:32}")
+    private int maxConcurrency;
+
+    @Value("${travel360.search.executor.queue-capacity:256}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        ThreadFactory threadFactory = virtualThreadFactory();
+        boolean virtual = threadFactory != null;
+        if (!virtual) {
+            threadFactory = platformThreadFactory();
+        }
+
+        executor = new ThreadPoolExecutor(
+                maxConcurrency,
+                maxConcurrency,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory,
+                new ThreadPoolExecutor.DiscardPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        logger.info("Flight search executor started with {} {} threads", maxConcurrency, virtual ? "virtual" : "platform");
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Schedules {@code task}; the returned future must be passed to {@link #join} to obtain the result.
+     */
+    public <T> FutureTask<T> submit(Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        executor.execute(future);
+        return future;
+    }
+
+    /**
+     * Waits for a submitted task, running it on the calling thread if no worker has started it yet.
+     */
+    public <T> T join(FutureTask<T> future) {
+        // No-op if a worker already started (or finished) the task
+        future.run();
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Flight search was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Builds {@code Thread.ofVirtual().name("flight-search-", 1).factory()} reflectively, so the class still
+     * compiles for Java 17. The builder methods are looked up on the public {@code Thread.Builder}
+     * interfaces, not on the JDK-internal builder class, which reflection may not access.
+     *
+     * @return {@code null} if the runtime has no virtual threads
+     */
+    static ThreadFactory virtualThreadFactory() {
+        Method ofVirtual;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Class<?> virtualBuilderType = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            Object builder = ofVirtual.invoke(null);
+            builder = virtualBuilderType.getMethod("name", String.class, long.class).invoke(builder, "flight-search-", 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads are available but could not be configured", e);
+        }
+    }
+
+    private static ThreadFactory platformThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "flight-search-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
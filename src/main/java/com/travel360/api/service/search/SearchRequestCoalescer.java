@@ -0,0 +1,66 @@
+package com.travel360.api.service.search;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Single-flight execution: concurrent calls with an equal key share one in-progress computation.
+ * <p>
+ * The first caller for a key runs the computation on its own thread; callers arriving while it is
+ * still running wait for the same result (or rethrow the same exception). Each waiter gets its own
+ * copy of the result, so a mutable result is never shared between callers. Once the computation
+ * finishes the key is released, so later calls compute afresh.
+ */
+public class SearchRequestCoalescer<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final UnaryOperator<V> copier;
+
+    /**
+     * @param copier copies the result for each waiting caller
+     */
+    public SearchRequestCoalescer(UnaryOperator<V> copier) {
+        this.copier = copier;
+    }
+
+    public V execute(K key, Supplier<V> computation) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            return copier.apply(await(existing));
+        }
+
+        try {
+            V result = computation.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.travel360.api.service.search;
+
+import com.travel360.api.dto.flight.AirportDto;
+import com.travel360.api.dto.flight.DirectFlightDto;
+import com.travel360.api.dto.flight.FlightDto;
+import com.travel360.api.dto.flight.FlightSearchResponse;
+import com.travel360.api.dto.flight.TransitFlightDto;
+
+import java.util.List;
+
+/**
+ * Deep copies of search result DTOs.
+ * <p>
+ * The DTOs are mutable, so a result kept in {@link FlightSearchCache} or shared by
+ * {@link SearchRequestCoalescer} is copied before it is handed to another caller; one caller changing
+ * its result can then never change what another caller, or a later cache hit, sees.
+ */
+public final class SearchResultCopies {
+
+    private SearchResultCopies() {
+    }
+
+    public static FlightSearchResponse copy(FlightSearchResponse response) {
+        FlightSearchResponse copy = new FlightSearchResponse();
+        copy.setDirectFlights(response.getDirectFlights().stream().map(SearchResultCopies::copy).toList());
+        copy.setTransitFlights(response.getTransitFlights().stream().map(SearchResultCopies::copy).toList());
+        copy.setTotalDirectFlights(response.getTotalDirectFlights());
+        copy.setTotalTransitFlights(response.getTotalTransitFlights());
+        copy.setSearchSummary(response.getSearchSummary());
+        copy.setPartialResults(response.isPartialResults());
+        copy.setTotalResults(response.getTotalResults());
+        copy.setNextCursor(response.getNextCursor());
+        return copy;
+    }
+
+    public static List<FlightDto> copyFlights(List<FlightDto> flights) {
+        return flights.stream().map(SearchResultCopies::copy).toList();
+    }
+
+    public static List<List<FlightDto>> copyConnections(List<List<FlightDto>> connections) {
+        return connections.stream().map(SearchResultCopies::copyFlights).toList();
+    }
+
+    public static TransitFlightDto copy(TransitFlightDto transit) {
+        TransitFlightDto copy = new TransitFlightDto();
+        copy.setSegments(transit.getSegments() == null ? null
+                : transit.getSegments().stream().map(SearchResultCopies::copy).toList());
+        copy.setOriginAirport(copy(transit.getOriginAirport()));
+        copy.setDestinationAirport(copy(transit.getDestinationAirport()));
+        copy.setDepartureTime(transit.getDepartureTime());
+        copy.setArrivalTime(transit.getArrivalTime());
+        copy.setTotalDurationMinutes(transit.getTotalDurationMinutes());
+        copy.setTotalDistanceKm(transit.getTotalDistanceKm());
+        copy.setNumberOfStops(transit.getNumberOfStops());
+        copy.setTransitAirports(transit.getTransitAirports() == null ? null
+                : transit.getTransitAirports().stream().map(SearchResultCopies::copy).toList());
+        copy.setTotalPrice(transit.getTotalPrice());
+        copy.setSeatClass(transit.getSeatClass());
+        copy.setMinAvailableSeats(transit.getMinAvailableSeats());
+        copy.setConnectionTimeMinutes(transit.getConnectionTimeMinutes() == null ? null
+                : List.copyOf(transit.getConnectionTimeMinutes()));
+        copy.setTotalConnectionTimeMinutes(transit.getTotalConnectionTimeMinutes());
+        copy.setRouteSummary(transit.getRouteSummary());
+        copy.setAirlinesSummary(transit.getAirlinesSummary());
+        return copy;
+    }
+
+    public static DirectFlightDto copy(DirectFlightDto flight) {
+        DirectFlightDto copy = new DirectFlightDto();
+        copy.setId(flight.getId());
+        copy.setFlightNumber(flight.getFlightNumber());
+        copy.setOriginAirport(copy(flight.getOriginAirport()));
+        copy.setDestinationAirport(copy(flight.getDestinationAirport()));
+        copy.setDepartureTime(flight.getDepartureTime());
+        copy.setArrivalTime(flight.getArrivalTime());
+        copy.setDurationMinutes(flight.getDurationMinutes());
+        copy.setDistanceKm(flight.getDistanceKm());
+        copy.setStatus(flight.getStatus());
+        copy.setAirplaneModel(flight.getAirplaneModel());
+        copy.setAirplaneRegistration(flight.getAirplaneRegistration());
+        copy.setPrice(flight.getPrice());
+        copy.setAvailableSeats(flight.getAvailableSeats());
+        copy.setSeatClass(flight.getSeatClass());
+        copy.setFirstClassPrice(flight.getFirstClassPrice());
+        copy.setBusinessClassPrice(flight.getBusinessClassPrice());
+        copy.setEconomyClassPrice(flight.getEconomyClassPrice());
+        copy.setFirstClassAvailableSeats(flight.getFirstClassAvailableSeats());
+        copy.setBusinessClassAvailableSeats(flight.getBusinessClassAvailableSeats());
+        copy.setEconomyClassAvailableSeats(flight.getEconomyClassAvailableSeats());
+        return copy;
+    }
+
+    public static FlightDto copy(FlightDto flight) {
+        FlightDto copy = new FlightDto();
+        copy.setId(flight.getId());
+        copy.setFlightNumber(flight.getFlightNumber());
+        copy.setOriginAirport(copy(flight.getOriginAirport()));
+        copy.setDestinationAirport(copy(flight.getDestinationAirport()));
+        copy.setDepartureTime(flight.getDepartureTime());
+        copy.setArrivalTime(flight.getArrivalTime());
+        copy.setFirstClassPrice(flight.getFirstClassPrice());
+        copy.setBusinessClassPrice(flight.getBusinessClassPrice());
+        copy.setEconomyClassPrice(flight.getEconomyClassPrice());
+        copy.setFirstClassAvailableSeats(flight.getFirstClassAvailableSeats());
+        copy.setBusinessClassAvailableSeats(flight.getBusinessClassAvailableSeats());
+        copy.setEconomyClassAvailableSeats(flight.getEconomyClassAvailableSeats());
+        copy.setStatus(flight.getStatus());
+        copy.setAirplaneModel(flight.getAirplaneModel());
+        copy.setAirplaneRegistration(flight.getAirplaneRegistration());
+        copy.setDistanceKm(flight.getDistanceKm());
+        copy.setDurationMinutes(flight.getDurationMinutes());
+        return copy;
+    }
+
+    public static AirportDto copy(AirportDto airport) {
+        if (airport == null) {
+            return null;
+        }
+        AirportDto copy = new AirportDto();
+        copy.setId(airport.getId());
+        copy.setCode(airport.getCode());
+        copy.setName(airport.getName());
+        copy.setCity(airport.getCity());
+        copy.setCountry(airport.getCountry());
+        copy.setLatitude(airport.getLatitude());
+        copy.setLongitude(airport.getLongitude());
+        copy.setTimeZone(airport.getTimeZone());
+        return copy;
+    }
+}
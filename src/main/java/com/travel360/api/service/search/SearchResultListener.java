@@ -0,0 +1,16 @@
+package com.travel360.api.service.search;
+
+import com.travel360.api.dto.flight.DirectFlightDto;
+import com.travel360.api.dto.flight.TransitFlightDto;
+
+/**
+ * Receives comprehensive search results one at a time, direct flights first.
+ * <p>
+ * An exception thrown from a callback (for example because the client disconnected) stops the search.
+ */
+public interface SearchResultListener {
+
+    void onDirectFlight(DirectFlightDto flight);
+
+    void onTransitFlight(TransitFlightDto transitFlight);
+}
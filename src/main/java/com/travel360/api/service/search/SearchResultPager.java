@@ -0,0 +1,145 @@
+package com.travel360.api.service.search;
+
+import com.travel360.api.dto.flight.DirectFlightDto;
+import com.travel360.api.dto.flight.FlightSearchResponse;
+import com.travel360.api.dto.flight.TransitFlightDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Serves ranked search results one page at a time.
+ * <p>
+ * The ranked results of a search are kept as an immutable snapshot for a short TTL and addressed by an
+ * opaque cursor that encodes the snapshot id and the offset of the next page, so following pages are
+ * read from the snapshot instead of running the search again. The oldest snapshots are dropped once
+ * the store is full. Every page is built from copies of the snapshot's DTOs, so a caller changing its
+ * page cannot change the pages served later.
+ * <p>
+ * Snapshots live in the memory of this instance only. With several instances, requests for following
+ * pages must be routed to the instance that ran the search (sticky sessions); any other instance
+ * answers the cursor as expired and the client repeats the search.
+ */
+@Component
+public class SearchResultPager {
+
+    @Value("${travel360.search.cursor.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${travel360.search.cursor.max-snapshots:1000}")
+    private int maxSnapshots;
+
+    private final LinkedHashMap<String, Snapshot> snapshots = new LinkedHashMap<>();
+
+    /**
+     * Returns the first page of {@code results} and, if there are more, stores them behind a cursor.
+     */
+    public FlightSearchResponse firstPage(List<PagedResult> results, int pageSize, boolean partialResults) {
+        Snapshot snapshot = new Snapshot(List.copyOf(results), pageSize, partialResults,
+                System.currentTimeMillis() + ttlSeconds * 1000);
+        String snapshotId = null;
+        if (results.size() > pageSize) {
+            snapshotId = UUID.randomUUID().toString();
+            store(snapshotId, snapshot);
+        }
+        return page(snapshotId, snapshot, 0);
+    }
+
+    /**
+     * Returns the page a cursor from a previous response points to.
+     */
+    public FlightSearchResponse nextPage(String cursor) {
+        String[] parts = decode(cursor);
+        String snapshotId = parts[0];
+        int offset;
+        try {
+            offset = Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid search cursor");
+        }
+
+        Snapshot snapshot;
+        synchronized (this) {
+            snapshot = snapshots.get(snapshotId);
+            if (snapshot != null && snapshot.expiresAt <= System.currentTimeMillis()) {
+                snapshots.remove(snapshotId);
+                snapshot = null;
+            }
+        }
+        if (snapshot == null) {
+            throw new RuntimeException("Search cursor has expired, please repeat the search");
+        }
+        if (offset < 0 || offset >= snapshot.results.size()) {
+            throw new RuntimeException("Invalid search cursor");
+        }
+        return page(snapshotId, snapshot, offset);
+    }
+
+    private synchronized void store(String snapshotId, Snapshot snapshot) {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, Snapshot>> iterator = snapshots.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Snapshot existing = iterator.next().getValue();
+            // Insertion order is also expiry order, since every snapshot has the same TTL
+            if (existing.expiresAt > now && snapshots.size() < maxSnapshots) {
+                break;
+            }
+            iterator.remove();
+        }
+        snapshots.put(snapshotId, snapshot);
+    }
+
+    private FlightSearchResponse page(String snapshotId, Snapshot snapshot, int offset) {
+        int end = Math.min(offset + snapshot.pageSize, snapshot.results.size());
+        List<DirectFlightDto> directFlights = new ArrayList<>();
+        List<TransitFlightDto> transitFlights = new ArrayList<>();
+        for (PagedResult result : snapshot.results.subList(offset, end)) {
+            if (result.directFlight() != null) {
+                directFlights.add(SearchResultCopies.copy(result.directFlight()));
+            } else {
+                transitFlights.add(SearchResultCopies.copy(result.transitFlight()));
+            }
+        }
+
+        FlightSearchResponse response = new FlightSearchResponse(directFlights, transitFlights);
+        response.setPartialResults(snapshot.partialResults);
+        response.setTotalResults(snapshot.results.size());
+        if (end < snapshot.results.size()) {
+            response.setNextCursor(encode(snapshotId, end));
+        }
+        return response;
+    }
+
+    private static String encode(String snapshotId, int offset) {
+        String raw = snapshotId + ":" + offset;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 2) {
+                throw new RuntimeException("Invalid search cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid search cursor");
+        }
+    }
+
+    /**
+     * One ranked result: exactly one of the two fields is set.
+     */
+    public record PagedResult(DirectFlightDto directFlight, TransitFlightDto transitFlight) {}
+
+    private record Snapshot(List<PagedResult> results, int pageSize, boolean partialResults, long expiresAt) {}
+}
@@ -0,0 +1,60 @@
+package com.travel360.api.service.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the {@code k} best elements offered to it according to a comparator (smallest first).
+ * <p>
+ * Backed by a bounded heap whose head is the worst element kept, so each offer is {@code O(log k)}
+ * and memory stays at {@code k} elements however many candidates are offered. Not thread-safe.
+ */
+public class TopKCollector<T> {
+
+    private final int k;
+    private final Comparator<? super T> comparator;
+    private final PriorityQueue<T> heap;
+
+    public TopKCollector(int k, Comparator<? super T> comparator) {
+        this.k = k;
+        this.comparator = comparator;
+        this.heap = new PriorityQueue<>(Math.min(k, 1024) + 1, comparator.reversed());
+    }
+
+    public void offer(T element) {
+        if (heap.size() < k) {
+            heap.add(element);
+        } else if (comparator.compare(element, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(element);
+        }
+    }
+
+    public void offerAll(TopKCollector<? extends T> other) {
+        for (T element : other.heap) {
+            offer(element);
+        }
+    }
+
+    public boolean isFull() {
+        return heap.size() >= k;
+    }
+
+    /**
+     * The worst element kept so far, or {@code null} if nothing was offered yet.
+     */
+    public T worst() {
+        return heap.peek();
+    }
+
+    /**
+     * The kept elements, best first.
+     */
+    public List<T> toSortedList() {
+        List<T> sorted = new ArrayList<>(heap);
+        sorted.sort(comparator);
+        return sorted;
+    }
+}
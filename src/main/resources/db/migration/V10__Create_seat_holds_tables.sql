@@ -0,0 +1,48 @@
+-- Create seat holds tables
+-- A hold takes seats out of flight inventory for a limited time while a customer completes checkout.
+-- It is either converted into a booking, released by the customer, or expired by the background sweeper.
+CREATE TABLE seat_holds (
+    id BIGSERIAL PRIMARY KEY,
+    hold_id VARCHAR(36) NOT NULL UNIQUE,
+    user_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE'
+        CHECK (status IN ('ACTIVE', 'CONVERTED', 'RELEASED', 'EXPIRED')),
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    active BOOLEAN NOT NULL DEFAULT true,
+    
+    -- Foreign key constraints
+    CONSTRAINT fk_seat_holds_user 
+        FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+CREATE TABLE seat_hold_items (
+    id BIGSERIAL PRIMARY KEY,
+    seat_hold_id BIGINT NOT NULL,
+    flight_id BIGINT NOT NULL,
+    seat_class VARCHAR(20) NOT NULL 
+        CHECK (seat_class IN ('FIRST_CLASS', 'BUSINESS_CLASS', 'ECONOMY_CLASS')),
+    seat_count INTEGER NOT NULL CHECK (seat_count > 0),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    active BOOLEAN NOT NULL DEFAULT true,
+    
+    -- Foreign key constraints
+    CONSTRAINT fk_seat_hold_items_hold 
+        FOREIGN KEY (seat_hold_id) REFERENCES seat_holds(id) ON DELETE CASCADE,
+    CONSTRAINT fk_seat_hold_items_flight 
+        FOREIGN KEY (flight_id) REFERENCES flights(id)
+);
+
+-- Create indexes for better performance
+CREATE INDEX idx_seat_holds_user ON seat_holds(user_id);
+-- Active holds are reloaded into the expiry queue on startup
+CREATE INDEX idx_seat_holds_active_expiry ON seat_holds(expires_at) WHERE status = 'ACTIVE';
+CREATE INDEX idx_seat_hold_items_hold ON seat_hold_items(seat_hold_id);
+
+-- Add comments for documentation
+COMMENT ON TABLE seat_holds IS 'Temporary seat reservations made during checkout';
+COMMENT ON COLUMN seat_holds.hold_id IS 'Public hold identifier returned to the client and passed back when booking';
+COMMENT ON COLUMN seat_holds.status IS 'Hold status: ACTIVE, CONVERTED (into a booking), RELEASED, or EXPIRED';
+COMMENT ON TABLE seat_hold_items IS 'Seats of one class on one flight taken by a hold';
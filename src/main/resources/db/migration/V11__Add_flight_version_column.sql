@@ -0,0 +1,5 @@
+-- Optimistic locking version for flights. Every entity update and every seat reservation/release
+-- increments it, so a writer holding a stale copy of a flight fails instead of overwriting newer state.
+ALTER TABLE flights ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN flights.version IS 'Optimistic locking version, incremented on every update';
@@ -0,0 +1,6 @@
+-- Bookings and booking details take their ids from these sequences in blocks of 50 (Hibernate's pooled
+-- optimizer, allocationSize = 50 on the entities). Ids are then known before insert, so the details of a
+-- many-passenger booking are written in JDBC batches instead of one INSERT round trip per passenger.
+-- The column defaults still call nextval, so plain SQL inserts keep working (leaving gaps in the blocks).
+ALTER SEQUENCE bookings_id_seq INCREMENT BY 50;
+ALTER SEQUENCE booking_details_id_seq INCREMENT BY 50;
@@ -0,0 +1,31 @@
+-- Create idempotency keys table
+-- A client-supplied Idempotency-Key is claimed here before a booking is created. Replays of the same key
+-- return the stored response instead of booking (and taking seats) again. The unique constraint also keeps
+-- two application instances from running the same request at once. Rows are purged after they expire.
+CREATE TABLE idempotency_keys (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    idempotency_key VARCHAR(100) NOT NULL,
+    operation VARCHAR(50) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'IN_PROGRESS'
+        CHECK (status IN ('IN_PROGRESS', 'COMPLETED')),
+    response_body TEXT,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    active BOOLEAN NOT NULL DEFAULT true,
+    
+    -- Foreign key constraints
+    CONSTRAINT fk_idempotency_keys_user 
+        FOREIGN KEY (user_id) REFERENCES users(id),
+    CONSTRAINT uk_idempotency_keys_user_key UNIQUE (user_id, idempotency_key)
+);
+
+-- Create indexes for better performance
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
+
+-- Add comments for documentation
+COMMENT ON TABLE idempotency_keys IS 'Idempotency keys of booking requests and their stored responses';
+COMMENT ON COLUMN idempotency_keys.request_hash IS 'SHA-256 of the request body; a key reused with a different request is rejected';
+COMMENT ON COLUMN idempotency_keys.response_body IS 'JSON of the original response, returned to replays';
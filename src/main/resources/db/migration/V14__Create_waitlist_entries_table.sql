@@ -0,0 +1,35 @@
+-- Create waitlist entries table
+-- Customers wait in line for seats of one class on a sold-out flight. When seats are released (cancellations,
+-- expired or released holds) a background promoter turns the oldest waiting entries into seat holds, which
+-- the customer then books like any other hold.
+CREATE TABLE waitlist_entries (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    flight_id BIGINT NOT NULL,
+    seat_class VARCHAR(20) NOT NULL 
+        CHECK (seat_class IN ('FIRST_CLASS', 'BUSINESS_CLASS', 'ECONOMY_CLASS')),
+    seat_count INTEGER NOT NULL CHECK (seat_count > 0),
+    status VARCHAR(20) NOT NULL DEFAULT 'WAITING'
+        CHECK (status IN ('WAITING', 'PROMOTED', 'CANCELLED')),
+    hold_id VARCHAR(36),
+    promoted_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    active BOOLEAN NOT NULL DEFAULT true,
+    
+    -- Foreign key constraints
+    CONSTRAINT fk_waitlist_entries_user 
+        FOREIGN KEY (user_id) REFERENCES users(id),
+    CONSTRAINT fk_waitlist_entries_flight 
+        FOREIGN KEY (flight_id) REFERENCES flights(id)
+);
+
+-- Create indexes for better performance
+-- The line for one flight and class, oldest first
+CREATE INDEX idx_waitlist_entries_line ON waitlist_entries(flight_id, seat_class, created_at, id) WHERE status = 'WAITING';
+CREATE INDEX idx_waitlist_entries_user ON waitlist_entries(user_id);
+
+-- Add comments for documentation
+COMMENT ON TABLE waitlist_entries IS 'Customers waiting for seats of one class on a flight';
+COMMENT ON COLUMN waitlist_entries.status IS 'Entry status: WAITING, PROMOTED (into a seat hold), or CANCELLED';
+COMMENT ON COLUMN waitlist_entries.hold_id IS 'Seat hold created for the customer when the entry was promoted';
@@ -0,0 +1,63 @@
+-- Create booking summaries table
+-- One denormalized row per booking, written in the same transaction as the booking itself and every status
+-- change, so a customer's booking list is a single index range scan with no joins to details, flights or
+-- airports.
+CREATE TABLE booking_summaries (
+    booking_id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    booking_reference VARCHAR(20) NOT NULL,
+    booking_date TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL 
+        CHECK (status IN ('PENDING', 'CONFIRMED', 'CANCELLED', 'COMPLETED')),
+    total_amount DECIMAL(10,2) NOT NULL,
+    passenger_count INTEGER NOT NULL,
+    first_departure_time TIMESTAMP,
+    last_arrival_time TIMESTAMP,
+    origin_airport_code VARCHAR(3),
+    destination_airport_code VARCHAR(3),
+    flight_numbers TEXT,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    
+    -- Foreign key constraints
+    CONSTRAINT fk_booking_summaries_booking 
+        FOREIGN KEY (booking_id) REFERENCES bookings(id) ON DELETE CASCADE
+);
+
+-- Create indexes for better performance
+-- A customer's bookings, newest first, with booking_id breaking ties for keyset paging
+CREATE INDEX idx_booking_summaries_user_date ON booking_summaries(user_id, booking_date DESC, booking_id DESC);
+
+-- Backfill existing bookings
+INSERT INTO booking_summaries (booking_id, user_id, booking_reference, booking_date, status, total_amount,
+                               passenger_count, first_departure_time, last_arrival_time,
+                               origin_airport_code, destination_airport_code, flight_numbers, updated_at)
+SELECT b.id, b.user_id, b.booking_reference, b.booking_date, b.status, b.total_amount,
+       (SELECT COUNT(DISTINCT bd.passenger_name) FROM booking_details bd WHERE bd.booking_id = b.id),
+       first_leg.departure_time, last_leg.arrival_time, first_leg.origin_code, last_leg.destination_code,
+       (SELECT string_agg(legs.flight_number, ', ' ORDER BY legs.departure_time)
+          FROM (SELECT DISTINCT f.flight_number, f.departure_time
+                  FROM booking_details bd JOIN flights f ON f.id = bd.flight_id
+                 WHERE bd.booking_id = b.id) legs),
+       COALESCE(b.updated_at, b.created_at)
+  FROM bookings b
+  LEFT JOIN LATERAL (
+        SELECT f.departure_time, o.code AS origin_code
+          FROM booking_details bd
+          JOIN flights f ON f.id = bd.flight_id
+          JOIN airports o ON o.id = f.origin_airport_id
+         WHERE bd.booking_id = b.id
+         ORDER BY f.departure_time
+         LIMIT 1) first_leg ON true
+  LEFT JOIN LATERAL (
+        SELECT f.arrival_time, d.code AS destination_code
+          FROM booking_details bd
+          JOIN flights f ON f.id = bd.flight_id
+          JOIN airports d ON d.id = f.destination_airport_id
+         WHERE bd.booking_id = b.id
+         ORDER BY f.arrival_time DESC
+         LIMIT 1) last_leg ON true;
+
+-- Add comments for documentation
+COMMENT ON TABLE booking_summaries IS 'Read model of bookings for customer booking lists, maintained with each booking';
+COMMENT ON COLUMN booking_summaries.flight_numbers IS 'Flight numbers of the booking in departure order, comma separated';
+COMMENT ON COLUMN booking_summaries.passenger_count IS 'Number of distinct passengers on the booking';
@@ -0,0 +1,18 @@
+-- Enforces seat uniqueness in the database: a seat number can be held by one active booking detail per
+-- flight. Booking details stop being active when their booking is cancelled, which frees the seat.
+
+-- Booking details of cancelled bookings no longer hold their seats
+UPDATE booking_details SET active = false
+WHERE booking_id IN (SELECT id FROM bookings WHERE status = 'CANCELLED');
+
+-- A seat assigned twice stays with its earliest passenger; the others lose the seat number
+UPDATE booking_details bd SET seat_number = NULL
+WHERE bd.active AND bd.seat_number IS NOT NULL
+  AND EXISTS (SELECT 1 FROM booking_details other
+              WHERE other.flight_id = bd.flight_id AND other.seat_number = bd.seat_number
+                AND other.active AND other.id < bd.id);
+
+CREATE UNIQUE INDEX uq_booking_details_flight_seat ON booking_details(flight_id, seat_number)
+    WHERE active AND seat_number IS NOT NULL;
+
+COMMENT ON COLUMN booking_details.active IS 'False once the booking is cancelled and the seat given back';
@@ -0,0 +1,6 @@
+-- Index for the single-query two-leg connection search (FlightRepository.findTwoLegConnections).
+-- First legs are filtered by origin and departure window; second legs are already covered by
+-- idx_flights_route_date (origin_airport_id, destination_airport_id, departure_time).
+CREATE INDEX idx_flights_origin_departure_status ON flights(origin_airport_id, departure_time, status);
+
+COMMENT ON INDEX idx_flights_origin_departure_status IS 'Supports departure-window lookups per origin airport for connection searches';
@@ -0,0 +1,41 @@
+-- Create airport connection times table
+-- Minimum/maximum layover per airport, optionally split by domestic and international connections.
+-- Airports without a row use the defaults from travel360.search.connection.* in application.properties.
+CREATE TABLE airport_connection_times (
+    id BIGSERIAL PRIMARY KEY,
+    airport_id BIGINT NOT NULL,
+    connection_type VARCHAR(20) NOT NULL CHECK (connection_type IN ('ALL', 'DOMESTIC', 'INTERNATIONAL')),
+    min_connection_minutes INTEGER NOT NULL CHECK (min_connection_minutes >= 0),
+    max_connection_minutes INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    active BOOLEAN NOT NULL DEFAULT true,
+    
+    -- Foreign key constraints
+    CONSTRAINT fk_connection_times_airport 
+        FOREIGN KEY (airport_id) REFERENCES airports(id) ON DELETE CASCADE,
+    
+    -- Business logic constraints
+    CONSTRAINT uk_connection_times_airport_type UNIQUE (airport_id, connection_type),
+    CONSTRAINT chk_connection_times_window CHECK (max_connection_minutes > min_connection_minutes)
+);
+
+-- Add comments for documentation
+COMMENT ON TABLE airport_connection_times IS 'Per-airport minimum and maximum connection times used by transit search';
+COMMENT ON COLUMN airport_connection_times.connection_type IS 'ALL applies to every connection; DOMESTIC/INTERNATIONAL override it for that kind of connection';
+
+-- Connection times for the sample hubs
+INSERT INTO airport_connection_times (airport_id, connection_type, min_connection_minutes, max_connection_minutes)
+SELECT id, 'DOMESTIC', 45, 300 FROM airports WHERE code = 'JFK'
+UNION ALL
+SELECT id, 'INTERNATIONAL', 90, 420 FROM airports WHERE code = 'JFK'
+UNION ALL
+SELECT id, 'DOMESTIC', 45, 300 FROM airports WHERE code = 'LAX'
+UNION ALL
+SELECT id, 'INTERNATIONAL', 90, 420 FROM airports WHERE code = 'LAX'
+UNION ALL
+SELECT id, 'ALL', 75, 360 FROM airports WHERE code = 'LHR'
+UNION ALL
+SELECT id, 'ALL', 60, 360 FROM airports WHERE code = 'CDG'
+UNION ALL
+SELECT id, 'ALL', 90, 480 FROM airports WHERE code = 'NRT';
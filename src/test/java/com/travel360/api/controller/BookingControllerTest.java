@@ -3,6 +3,8 @@ package com.travel360.api.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.travel360.api.dto.booking.BookingRequest;
 import com.travel360.api.dto.booking.BookingResponse;
+import com.travel360.api.dto.booking.BookingSummaryDto;
+import com.travel360.api.dto.booking.BookingSummaryPage;
 import com.travel360.api.model.BookingStatus;
 import com.travel360.api.model.SeatClass;
 import com.travel360.api.model.User;
@@ -25,6 +27,9 @@ import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -71,7 +76,7 @@ public class BookingControllerTest {
 
         // Mock service behavior
         when(userService.getUserByUsername("customer")).thenReturn(Optional.of(mockUser));
-        when(bookingService.createBooking(any(BookingRequest.class), any(User.class))).thenReturn(bookingResponse);
+        when(bookingService.createBooking(any(BookingRequest.class), any(User.class), isNull())).thenReturn(bookingResponse);
 
         // Perform the test
         mockMvc.perform(post("/api/bookings")
@@ -82,6 +87,33 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.status").value("CONFIRMED"));
     }
 
+    @Test
+    @WithMockUser(username = "customer", roles = "CUSTOMER")
+    public void testCreateBookingWithIdempotencyKey() throws Exception {
+        BookingRequest bookingRequest = new BookingRequest();
+        BookingRequest.PassengerDetail passenger = new BookingRequest.PassengerDetail();
+        passenger.setPassengerName("John Doe");
+        passenger.setFlightId(1L);
+        passenger.setSeatClass("ECONOMY_CLASS");
+        bookingRequest.setPassengers(List.of(passenger));
+
+        User mockUser = new User();
+        mockUser.setId(1L);
+        mockUser.setUsername("customer");
+
+        // The header is handed to the service, which answers retries with the original booking
+        when(userService.getUserByUsername("customer")).thenReturn(Optional.of(mockUser));
+        when(bookingService.createBooking(any(BookingRequest.class), any(User.class), eq("retry-123")))
+                .thenReturn(createMockBookingResponse());
+
+        mockMvc.perform(post("/api/bookings")
+                .header("Idempotency-Key", "retry-123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.bookingReference").value("B12345678"));
+    }
+
     @Test
     @WithMockUser(username = "customer", roles = "CUSTOMER")
     public void testGetBookingById() throws Exception {
@@ -94,6 +126,54 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.bookingReference").value("B12345678"));
     }
 
+    @Test
+    @WithMockUser(username = "customer", roles = "CUSTOMER")
+    public void testGetUserBookingsPage() throws Exception {
+        User mockUser = new User();
+        mockUser.setId(1L);
+        mockUser.setUsername("customer");
+
+        BookingSummaryDto summary = new BookingSummaryDto();
+        summary.setId(1L);
+        summary.setBookingReference("B12345678");
+        summary.setStatus(BookingStatus.CONFIRMED);
+        summary.setPassengerCount(1);
+
+        BookingSummaryPage page = new BookingSummaryPage();
+        page.setBookings(List.of(summary));
+        page.setHasMore(true);
+        page.setNextCursor("next-page");
+
+        // The cursor and page size are handed to the service unchanged
+        when(userService.getUserByUsername("customer")).thenReturn(Optional.of(mockUser));
+        when(bookingService.getBookingSummaries(any(User.class), eq("this-page"), eq(1))).thenReturn(page);
+
+        mockMvc.perform(get("/api/bookings/user/page")
+                .param("cursor", "this-page")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.bookings[0].bookingReference").value("B12345678"))
+                .andExpect(jsonPath("$.data.hasMore").value(true))
+                .andExpect(jsonPath("$.data.nextCursor").value("next-page"));
+    }
+
+    @Test
+    @WithMockUser(username = "customer", roles = "CUSTOMER")
+    public void testGetUserBookingsPageWithInvalidCursor() throws Exception {
+        User mockUser = new User();
+        mockUser.setId(1L);
+        mockUser.setUsername("customer");
+
+        when(userService.getUserByUsername("customer")).thenReturn(Optional.of(mockUser));
+        when(bookingService.getBookingSummaries(any(User.class), eq("garbage"), eq(20)))
+                .thenThrow(new IllegalArgumentException("Invalid booking cursor"));
+
+        mockMvc.perform(get("/api/bookings/user/page")
+                .param("cursor", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
     @Test
     @WithMockUser(username = "customer", roles = "CUSTOMER")
     public void testGetNonExistentBooking() throws Exception {
@@ -125,9 +205,33 @@ public class BookingControllerTest {
     @Test
     @WithMockUser(username = "customer", roles = "CUSTOMER")
     public void testCancelOwnBooking() throws Exception {
+        User mockUser = new User();
+        mockUser.setId(1L);
+        mockUser.setUsername("customer");
+        when(userService.getUserByUsername("customer")).thenReturn(Optional.of(mockUser));
+
         // Perform the test for a customer cancelling their own booking
         mockMvc.perform(delete("/api/bookings/1"))
                 .andExpect(status().isOk());
+
+        verify(bookingService).cancelBooking(eq(1L), eq(mockUser));
+    }
+
+    @Test
+    @WithMockUser(username = "other", roles = "CUSTOMER")
+    public void testCancelOtherCustomersBooking() throws Exception {
+        User otherUser = new User();
+        otherUser.setId(2L);
+        otherUser.setUsername("other");
+        when(userService.getUserByUsername("other")).thenReturn(Optional.of(otherUser));
+
+        // The service hides bookings of other customers
+        doThrow(new RuntimeException("Booking not found with ID: 1"))
+                .when(bookingService).cancelBooking(eq(1L), eq(otherUser));
+
+        mockMvc.perform(delete("/api/bookings/1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
     }
 
     private BookingResponse createMockBookingResponse() {
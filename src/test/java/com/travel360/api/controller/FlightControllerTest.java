@@ -24,6 +24,8 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -67,6 +69,24 @@ public class FlightControllerTest {
                 .andExpect(jsonPath("$.status").value("success"));
     }
 
+    @Test
+    @WithMockUser
+    public void testSearchRejectsZeroPassengers() throws Exception {
+        FlightSearchRequest searchRequest = new FlightSearchRequest();
+        searchRequest.setOriginAirportId(1L);
+        searchRequest.setDestinationAirportId(2L);
+        searchRequest.setDepartureDate(LocalDate.now().plusDays(7));
+        searchRequest.setSeatClass(SeatClass.ECONOMY_CLASS);
+        searchRequest.setPassengerCount(0);
+
+        mockMvc.perform(post("/api/flights/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(searchRequest)))
+                .andExpect(status().isBadRequest());
+
+        verify(flightService, never()).searchDirectFlights(any(FlightSearchRequest.class));
+    }
+
     @Test
     @WithMockUser
     public void testSearchConnectingFlights() throws Exception {
@@ -0,0 +1,142 @@
+package com.travel360.api.service.booking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingReferenceGeneratorTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingReferenceGeneratorTest.class);
+
+    private static final int THREADS = 8;
+
+    private static final LongAdder consumed = new LongAdder();
+
+    @Test
+    void referencesAreShortCrockfordBase32() {
+        String reference = new BookingReferenceGenerator(1, false).nextReference();
+
+        assertEquals(14, reference.length());
+        assertTrue(reference.matches("B[0-9A-HJKMNP-TV-Z]{13}"), reference);
+    }
+
+    @Test
+    void idsIncreaseEvenWhenManyAreTakenInOneMillisecond() {
+        BookingReferenceGenerator generator = new BookingReferenceGenerator(1, false);
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long next = generator.nextId();
+            assertTrue(next > previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void nodesNeverCollide() {
+        long first = new BookingReferenceGenerator(1, false).nextId();
+        long second = new BookingReferenceGenerator(2, false).nextId();
+
+        assertNotEquals(first, second);
+        assertEquals(1, (first >>> BookingReferenceGenerator.SEQUENCE_BITS) & BookingReferenceGenerator.MAX_NODE_ID);
+        assertEquals(2, (second >>> BookingReferenceGenerator.SEQUENCE_BITS) & BookingReferenceGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    void rejectsNodeIdsThatDoNotFit() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BookingReferenceGenerator(BookingReferenceGenerator.MAX_NODE_ID + 1, false));
+    }
+
+    @Test
+    void missingNodeIdFailsUnlessSingleNode() {
+        assertThrows(IllegalStateException.class, () -> new BookingReferenceGenerator(-1, false));
+
+        long id = new BookingReferenceGenerator(-1, true).nextId();
+        assertEquals(0, (id >>> BookingReferenceGenerator.SEQUENCE_BITS) & BookingReferenceGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    void concurrentReferencesAreUnique() throws Exception {
+        BookingReferenceGenerator generator = new BookingReferenceGenerator(7, false);
+        Set<String> references = ConcurrentHashMap.newKeySet();
+        int perThread = 50_000;
+
+        run(THREADS, () -> {
+            for (int i = 0; i < perThread; i++) {
+                references.add(generator.nextReference());
+            }
+        });
+
+        assertEquals(THREADS * perThread, references.size());
+    }
+
+    /**
+     * Throughput of the generator against the previous UUID-based references.
+     * Run with {@code mvn test -Dtest=BookingReferenceGeneratorTest -Dbenchmark=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkAgainstRandomUuid() throws Exception {
+        BookingReferenceGenerator generator = new BookingReferenceGenerator(1, false);
+        Supplier<String> uuid = () -> "B" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+
+        int perThread = 1_000_000;
+        for (int threads : new int[] {1, THREADS}) {
+            // Warm up both before measuring
+            measure(threads, perThread / 10, uuid);
+            measure(threads, perThread / 10, generator::nextReference);
+
+            double uuidPerSecond = measure(threads, perThread, uuid);
+            double generatorPerSecond = measure(threads, perThread, generator::nextReference);
+            logger.info(String.format("%d thread(s): UUID %.0f refs/s, generator %.0f refs/s (%.1fx)",
+                    threads, uuidPerSecond, generatorPerSecond, generatorPerSecond / uuidPerSecond));
+        }
+    }
+
+    private static double measure(int threads, int perThread, Supplier<String> references) throws Exception {
+        long start = System.nanoTime();
+        run(threads, () -> {
+            int checksum = 0;
+            for (int i = 0; i < perThread; i++) {
+                checksum += references.get().charAt(13);
+            }
+            // Consuming the references keeps the JIT from eliminating the calls being measured
+            consumed.add(checksum);
+        });
+        return (double) threads * perThread / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static void run(int threads, Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+        }
+    }
+}
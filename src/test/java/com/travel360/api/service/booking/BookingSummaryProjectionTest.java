@@ -0,0 +1,148 @@
+package com.travel360.api.service.booking;
+
+import com.travel360.api.dto.booking.BookingSummaryDto;
+import com.travel360.api.dto.booking.BookingSummaryPage;
+import com.travel360.api.model.Airport;
+import com.travel360.api.model.Booking;
+import com.travel360.api.model.BookingDetail;
+import com.travel360.api.model.BookingStatus;
+import com.travel360.api.model.BookingSummary;
+import com.travel360.api.model.Flight;
+import com.travel360.api.model.User;
+import com.travel360.api.repository.BookingSummaryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingSummaryProjectionTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 3, 1, 12, 0);
+
+    @Mock
+    private BookingSummaryRepository bookingSummaryRepository;
+
+    @InjectMocks
+    private BookingSummaryProjection projection;
+
+    @Test
+    public void testPagesFollowTheKeysetOfTheLastRow() {
+        // Two rows share a booking date, so the id breaks the tie
+        when(bookingSummaryRepository.findFirstPage(1L, PageRequest.of(0, 3))).thenReturn(List.of(
+                summary(30L, NOW), summary(20L, NOW.minusHours(1)), summary(19L, NOW.minusHours(1))));
+        when(bookingSummaryRepository.findPageAfter(1L, NOW.minusHours(1), 20L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(summary(19L, NOW.minusHours(1))));
+
+        BookingSummaryPage first = projection.page(1L, null, 2);
+        assertEquals(List.of(30L, 20L), first.getBookings().stream().map(BookingSummaryDto::getId).toList());
+        assertTrue(first.isHasMore());
+        assertNotNull(first.getNextCursor());
+
+        BookingSummaryPage second = projection.page(1L, first.getNextCursor(), 2);
+        assertEquals(List.of(19L), second.getBookings().stream().map(BookingSummaryDto::getId).toList());
+        assertFalse(second.isHasMore());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    public void testInvalidSizeOrCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> projection.page(1L, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> projection.page(1L, null, BookingSummaryProjection.MAX_PAGE_SIZE + 1));
+        assertThrows(IllegalArgumentException.class, () -> projection.page(1L, "not a cursor", 10));
+        // Well-formed base64 that is not a keyset
+        assertThrows(IllegalArgumentException.class, () -> projection.page(1L, "aGVsbG8", 10));
+
+        verify(bookingSummaryRepository, never()).findPageAfter(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    public void testSummaryCarriesRouteInDepartureOrder() {
+        Airport colombo = airport("CMB");
+        Airport dubai = airport("DXB");
+        Airport london = airport("LHR");
+        Flight secondLeg = flight(21L, dubai, london, NOW.plusDays(1).withHour(14));
+        Flight firstLeg = flight(20L, colombo, dubai, NOW.plusDays(1).withHour(2));
+        Booking booking = new Booking();
+        booking.setId(5L);
+        booking.setUser(user(1L));
+        booking.setBookingReference("B0000000000005");
+        booking.setBookingDate(NOW);
+        booking.setStatus(BookingStatus.CONFIRMED);
+        booking.addBookingDetail(detail("Ann", secondLeg));
+        booking.addBookingDetail(detail("Ann", firstLeg));
+        booking.addBookingDetail(detail("Ben", secondLeg));
+        booking.addBookingDetail(detail("Ben", firstLeg));
+
+        projection.bookingCreated(booking);
+
+        ArgumentCaptor<BookingSummary> saved = ArgumentCaptor.forClass(BookingSummary.class);
+        verify(bookingSummaryRepository).save(saved.capture());
+        BookingSummary summary = saved.getValue();
+        assertEquals(1L, summary.getUserId());
+        assertEquals(2, summary.getPassengerCount());
+        assertEquals("CMB", summary.getOriginAirportCode());
+        assertEquals("LHR", summary.getDestinationAirportCode());
+        assertEquals("TS20, TS21", summary.getFlightNumbers());
+        assertEquals(new BigDecimal("400"), summary.getTotalAmount());
+    }
+
+    private static BookingSummary summary(Long bookingId, LocalDateTime bookingDate) {
+        BookingSummary summary = new BookingSummary();
+        summary.setBookingId(bookingId);
+        summary.setUserId(1L);
+        summary.setBookingDate(bookingDate);
+        summary.setStatus(BookingStatus.CONFIRMED);
+        return summary;
+    }
+
+    private static BookingDetail detail(String passengerName, Flight flight) {
+        BookingDetail detail = new BookingDetail();
+        detail.setPassengerName(passengerName);
+        detail.setFlight(flight);
+        detail.setAmount(new BigDecimal("100"));
+        return detail;
+    }
+
+    private static Flight flight(Long id, Airport from, Airport to, LocalDateTime departure) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setFlightNumber("TS" + id);
+        flight.setOriginAirport(from);
+        flight.setDestinationAirport(to);
+        flight.setDepartureTime(departure);
+        flight.setArrivalTime(departure.plusHours(6));
+        return flight;
+    }
+
+    private static Airport airport(String code) {
+        Airport airport = new Airport();
+        airport.setCode(code);
+        return airport;
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
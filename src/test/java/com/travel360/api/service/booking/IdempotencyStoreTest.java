@@ -0,0 +1,223 @@
+package com.travel360.api.service.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travel360.api.model.IdempotencyKey;
+import com.travel360.api.model.IdempotencyKeyStatus;
+import com.travel360.api.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyStoreTest {
+
+    private static final Long USER_ID = 1L;
+    private static final String KEY = "key-1";
+    private static final Map<String, Object> REQUEST = Map.of("flightId", 10, "passengers", 2);
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private IdempotencyStore store;
+
+    @BeforeEach
+    public void setUp() {
+        store = new IdempotencyStore();
+        ReflectionTestUtils.setField(store, "idempotencyKeyRepository", idempotencyKeyRepository);
+        ReflectionTestUtils.setField(store, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(store, "ttlHours", 24L);
+        ReflectionTestUtils.setField(store, "waitTimeoutSeconds", 5L);
+        ReflectionTestUtils.setField(store, "abandonedAfterSeconds", 120L);
+    }
+
+    @Test
+    public void testCompletedKeyReplaysTheStoredResponse() {
+        IdempotencyKey completed = stored(IdempotencyKeyStatus.COMPLETED, hash(REQUEST), LocalDateTime.now());
+        completed.setResponseBody("\"B0000000000001\"");
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(USER_ID, KEY)).thenReturn(Optional.of(completed));
+        AtomicInteger runs = new AtomicInteger();
+
+        String response = store.execute(USER_ID, KEY, "booking", REQUEST, String.class, complete -> {
+            runs.incrementAndGet();
+            return complete.apply("B0000000000002");
+        });
+
+        assertEquals("B0000000000001", response);
+        assertEquals(0, runs.get());
+        verify(idempotencyKeyRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void testKeyReusedForADifferentRequestIsRejected() {
+        IdempotencyKey completed = stored(IdempotencyKeyStatus.COMPLETED, hash(Map.of("flightId", 11)), LocalDateTime.now());
+        completed.setResponseBody("\"B0000000000001\"");
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(USER_ID, KEY)).thenReturn(Optional.of(completed));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () ->
+                store.execute(USER_ID, KEY, "booking", REQUEST, String.class, complete -> complete.apply("B0000000000002")));
+
+        assertTrue(e.getMessage().contains("different request"));
+        verify(idempotencyKeyRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void testConcurrentDuplicateWaitsForTheRunningRequest() throws Exception {
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(USER_ID, KEY)).thenReturn(Optional.empty());
+        claimAs(7L);
+        when(idempotencyKeyRepository.complete(eq(7L), eq("\"B0000000000001\""), any(LocalDateTime.class))).thenReturn(1);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = pool.submit(() -> store.execute(USER_ID, KEY, "booking", REQUEST, String.class, complete -> {
+                runs.incrementAndGet();
+                started.countDown();
+                await(release);
+                return complete.apply("B0000000000001");
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            AtomicReference<Thread> secondThread = new AtomicReference<>();
+            Future<String> second = pool.submit(() -> {
+                secondThread.set(Thread.currentThread());
+                return store.execute(USER_ID, KEY, "booking", REQUEST, String.class, complete -> {
+                    runs.incrementAndGet();
+                    return complete.apply("B0000000000002");
+                });
+            });
+            // The duplicate parks on the running request instead of touching the table
+            while (secondThread.get() == null || secondThread.get().getState() != Thread.State.TIMED_WAITING) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertEquals("B0000000000001", first.get(5, TimeUnit.SECONDS));
+            assertEquals("B0000000000001", second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, runs.get());
+            verify(idempotencyKeyRepository, times(1)).findByUserIdAndIdempotencyKey(USER_ID, KEY);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailedRequestGivesUpItsClaim() {
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(USER_ID, KEY)).thenReturn(Optional.empty());
+        IdempotencyKey claim = claimAs(7L);
+        when(idempotencyKeyRepository.findById(7L)).thenReturn(Optional.of(claim));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () ->
+                store.execute(USER_ID, KEY, "booking", REQUEST, String.class, complete -> {
+                    throw new RuntimeException("Flight not found with ID: 10");
+                }));
+
+        assertEquals("Flight not found with ID: 10", e.getMessage());
+        verify(idempotencyKeyRepository).delete(claim);
+        verify(idempotencyKeyRepository, never()).complete(any(), any(), any());
+    }
+
+    @Test
+    public void testAbandonedClaimIsTakenOver() {
+        IdempotencyKey abandoned = stored(IdempotencyKeyStatus.IN_PROGRESS, hash(REQUEST), LocalDateTime.now().minusMinutes(10));
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(USER_ID, KEY)).thenReturn(Optional.of(abandoned));
+        claimAs(8L);
+        when(idempotencyKeyRepository.complete(eq(8L), eq("\"B0000000000001\""), any(LocalDateTime.class))).thenReturn(1);
+
+        String response = store.execute(USER_ID, KEY, "booking", REQUEST, String.class, complete -> complete.apply("B0000000000001"));
+
+        assertEquals("B0000000000001", response);
+        verify(idempotencyKeyRepository).delete(abandoned);
+    }
+
+    @Test
+    public void testRecentClaimOfAnotherInstanceIsNotTakenOver() {
+        IdempotencyKey running = stored(IdempotencyKeyStatus.IN_PROGRESS, hash(REQUEST), LocalDateTime.now().minusSeconds(5));
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(USER_ID, KEY)).thenReturn(Optional.of(running));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () ->
+                store.execute(USER_ID, KEY, "booking", REQUEST, String.class, complete -> complete.apply("B0000000000001")));
+
+        assertTrue(e.getMessage().contains("still being processed"));
+        verify(idempotencyKeyRepository, never()).delete(any());
+        verify(idempotencyKeyRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void testCompletingAClaimThatWasTakenOverFailsTheRequest() {
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(USER_ID, KEY)).thenReturn(Optional.empty());
+        claimAs(7L);
+        when(idempotencyKeyRepository.complete(eq(7L), eq("\"B0000000000001\""), any(LocalDateTime.class))).thenReturn(0);
+        // The claim was deleted when another request took it over
+        when(idempotencyKeyRepository.findById(7L)).thenReturn(Optional.empty());
+        AtomicInteger committed = new AtomicInteger();
+
+        RuntimeException e = assertThrows(RuntimeException.class, () ->
+                store.execute(USER_ID, KEY, "booking", REQUEST, String.class, complete -> {
+                    String response = complete.apply("B0000000000001");
+                    committed.incrementAndGet();
+                    return response;
+                }));
+
+        assertTrue(e.getMessage().contains("taken over"));
+        // Completion throws inside the action, so its transaction never commits
+        assertEquals(0, committed.get());
+        verify(idempotencyKeyRepository, never()).delete(any());
+    }
+
+    private IdempotencyKey claimAs(Long id) {
+        IdempotencyKey claim = new IdempotencyKey();
+        claim.setId(id);
+        when(idempotencyKeyRepository.saveAndFlush(any(IdempotencyKey.class))).thenReturn(claim);
+        return claim;
+    }
+
+    private String hash(Object request) {
+        return ReflectionTestUtils.invokeMethod(store, "hash", "booking", request);
+    }
+
+    private static IdempotencyKey stored(IdempotencyKeyStatus status, String requestHash, LocalDateTime createdAt) {
+        IdempotencyKey stored = new IdempotencyKey();
+        stored.setId(3L);
+        stored.setUserId(USER_ID);
+        stored.setIdempotencyKey(KEY);
+        stored.setOperation("booking");
+        stored.setRequestHash(requestHash);
+        stored.setStatus(status);
+        stored.setCreatedAt(createdAt);
+        stored.setExpiresAt(createdAt.plusHours(24));
+        return stored;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
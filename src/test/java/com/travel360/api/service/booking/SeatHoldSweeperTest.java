@@ -0,0 +1,87 @@
+package com.travel360.api.service.booking;
+
+import com.travel360.api.repository.SeatHoldRepository;
+import com.travel360.api.repository.projection.HoldExpiry;
+import com.travel360.api.service.SeatHoldService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SeatHoldSweeperTest {
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @Mock
+    private SeatHoldRepository seatHoldRepository;
+
+    private final SeatHoldExpiryQueue expiryQueue = new SeatHoldExpiryQueue();
+
+    private SeatHoldSweeper sweeper;
+
+    @BeforeEach
+    public void setUp() {
+        sweeper = new SeatHoldSweeper();
+        ReflectionTestUtils.setField(sweeper, "expiryQueue", expiryQueue);
+        ReflectionTestUtils.setField(sweeper, "seatHoldService", seatHoldService);
+        ReflectionTestUtils.setField(sweeper, "seatHoldRepository", seatHoldRepository);
+        ReflectionTestUtils.setField(sweeper, "batchSize", 2);
+    }
+
+    @Test
+    public void testDueHoldsAreExpiredInBatchesInExpiryOrder() {
+        LocalDateTime now = LocalDateTime.now();
+        expiryQueue.schedule("third", now.minusSeconds(1));
+        expiryQueue.schedule("first", now.minusSeconds(3));
+        expiryQueue.schedule("later", now.plusHours(1));
+        expiryQueue.schedule("second", now.minusSeconds(2));
+        when(seatHoldService.expireHolds(anyCollection())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        sweeper.sweep();
+
+        verify(seatHoldService).expireHolds(List.of("first", "second"));
+        verify(seatHoldService).expireHolds(List.of("third"));
+        // Not due yet
+        assertEquals(1, expiryQueue.size());
+    }
+
+    @Test
+    public void testFailedBatchIsRetriedOnNextSweep() {
+        expiryQueue.schedule("hold", LocalDateTime.now().minusSeconds(1));
+        when(seatHoldService.expireHolds(anyCollection()))
+                .thenThrow(new RuntimeException("Database unavailable"))
+                .thenReturn(1);
+
+        sweeper.sweep();
+        assertEquals(1, expiryQueue.size());
+
+        sweeper.sweep();
+        verify(seatHoldService, times(2)).expireHolds(List.of("hold"));
+        assertEquals(0, expiryQueue.size());
+    }
+
+    @Test
+    public void testActiveHoldsAreScheduledOnStartup() {
+        when(seatHoldRepository.findActiveExpiries()).thenReturn(List.of(
+                new HoldExpiry("due", LocalDateTime.now().minusMinutes(1)),
+                new HoldExpiry("later", LocalDateTime.now().plusMinutes(10))));
+
+        sweeper.loadActiveHolds();
+
+        assertEquals(List.of("due"), expiryQueue.drainExpired(10));
+        assertEquals(1, expiryQueue.size());
+    }
+}
@@ -0,0 +1,131 @@
+package com.travel360.api.service.booking;
+
+import com.travel360.api.event.FlightChangedEvent;
+import com.travel360.api.model.Flight;
+import com.travel360.api.model.SeatClass;
+import com.travel360.api.repository.FlightRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SeatInventoryTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private SeatInventory seatInventory;
+
+    @Test
+    public void testReserveTakesSeatsAndPublishesChange() {
+        Flight flight = flight(10L);
+        when(flightRepository.reserveBusinessClassSeats(10L, 2)).thenReturn(1);
+        when(flightRepository.findById(10L)).thenReturn(Optional.of(flight));
+
+        assertTrue(seatInventory.reserve(10L, SeatClass.BUSINESS_CLASS, 2));
+
+        verify(eventPublisher).publishEvent(any(FlightChangedEvent.class));
+    }
+
+    @Test
+    public void testFailedReserveChangesNothing() {
+        when(flightRepository.reserveEconomyClassSeats(10L, 3)).thenReturn(0);
+
+        assertFalse(seatInventory.reserve(10L, SeatClass.ECONOMY_CLASS, 3));
+
+        verify(flightRepository, never()).findById(anyLong());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    public void testReleaseAboveCapacityIsRejected() {
+        when(flightRepository.releaseFirstClassSeats(10L, 1)).thenReturn(0);
+
+        assertFalse(seatInventory.release(10L, SeatClass.FIRST_CLASS, 1));
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    public void testNonPositiveSeatCountIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> seatInventory.reserve(10L, SeatClass.ECONOMY_CLASS, 0));
+        assertThrows(IllegalArgumentException.class, () -> seatInventory.release(10L, SeatClass.ECONOMY_CLASS, -1));
+
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    public void testConcurrentReservationsNeverOversell() throws Exception {
+        // Stands in for the conditional UPDATE: check and decrement happen as one step
+        AtomicInteger available = new AtomicInteger(5);
+        when(flightRepository.reserveEconomyClassSeats(eq(10L), anyInt())).thenAnswer(invocation -> {
+            int seats = invocation.getArgument(1);
+            int before = available.getAndUpdate(left -> left >= seats ? left - seats : left);
+            return before >= seats ? 1 : 0;
+        });
+        lenient().when(flightRepository.findById(10L)).thenReturn(Optional.of(flight(10L)));
+
+        int callers = 20;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> {
+                    start.await(5, TimeUnit.SECONDS);
+                    return seatInventory.reserve(10L, SeatClass.ECONOMY_CLASS, 1);
+                }));
+            }
+            start.countDown();
+
+            int reserved = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(5, TimeUnit.SECONDS)) {
+                    reserved++;
+                }
+            }
+            assertEquals(5, reserved);
+            assertEquals(0, available.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Flight flight(Long id) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setFlightNumber("TS" + id);
+        return flight;
+    }
+}
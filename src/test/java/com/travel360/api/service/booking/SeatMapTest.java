@@ -0,0 +1,105 @@
+package com.travel360.api.service.booking;
+
+import com.travel360.api.model.SeatClass;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SeatMapTest {
+
+    @Test
+    public void testPartialLastRowExposesOnlySeatsWithinCapacity() {
+        SeatMap cabin = new SeatMap(SeatClass.BUSINESS_CLASS, 3, 4, 6);
+
+        assertEquals(2, cabin.lastRow() - cabin.firstRow() + 1);
+        assertEquals(List.of("3A", "3B", "3C", "3D", "4A", "4B"), cabin.freeSeats());
+        assertFalse(cabin.take("4C"));
+        assertFalse(cabin.take("3E"));
+        assertFalse(cabin.take("2A"));
+    }
+
+    @Test
+    public void testTakeNextFreeFillsInOrderUntilFull() {
+        SeatMap cabin = new SeatMap(SeatClass.ECONOMY_CLASS, 1, 2, 3);
+
+        assertEquals("1A", cabin.takeNextFree());
+        assertEquals("1B", cabin.takeNextFree());
+        assertEquals("2A", cabin.takeNextFree());
+        assertNull(cabin.takeNextFree());
+        assertEquals(0, cabin.available());
+    }
+
+    @Test
+    public void testTakeNextFreeSkipsTakenSeatsAcrossWords() {
+        // Nine rows of six span two words
+        SeatMap cabin = new SeatMap(SeatClass.ECONOMY_CLASS, 10, 6, 54);
+        for (int i = 0; i < 48; i++) {
+            cabin.takeNextFree();
+        }
+
+        assertEquals("18A", cabin.takeNextFree());
+        assertTrue(cabin.release("12C"));
+        assertEquals("12C", cabin.takeNextFree());
+    }
+
+    @Test
+    public void testAdjacentSeatsStayWithinOneRow() {
+        SeatMap cabin = new SeatMap(SeatClass.ECONOMY_CLASS, 1, 3, 6);
+        assertTrue(cabin.take("1B"));
+
+        // Row 1 has two free seats, but they are not adjacent
+        assertEquals(List.of("2A", "2B", "2C"), cabin.takeAdjacent(3));
+        assertNull(cabin.takeAdjacent(2));
+        assertEquals(List.of("1A"), cabin.takeAdjacent(1));
+    }
+
+    @Test
+    public void testAdjacentSeatsStayWithinOneRowWhenRowsFillTheirSlot() {
+        // Eight seats per row leave no padding between rows
+        SeatMap cabin = new SeatMap(SeatClass.ECONOMY_CLASS, 1, 8, 16);
+        for (int i = 0; i < 6; i++) {
+            cabin.takeNextFree();
+        }
+
+        // 1G, 1H and 2A are consecutive bits but not adjacent seats
+        assertEquals(List.of("2A", "2B", "2C"), cabin.takeAdjacent(3));
+        assertEquals(List.of("1G", "1H"), cabin.takeAdjacent(2));
+        assertEquals(List.of("2D", "2E", "2F", "2G", "2H"), cabin.takeAdjacent(5));
+        assertNull(cabin.takeAdjacent(1));
+    }
+
+    @Test
+    public void testAdjacentRequestLargerThanRowOrAvailabilityIsRefused() {
+        SeatMap cabin = new SeatMap(SeatClass.FIRST_CLASS, 1, 2, 4);
+
+        assertNull(cabin.takeAdjacent(3));
+        assertNull(cabin.takeAdjacent(0));
+        assertEquals(4, cabin.available());
+    }
+
+    @Test
+    public void testTakeAndReleaseTrackAvailability() {
+        SeatMap cabin = new SeatMap(SeatClass.ECONOMY_CLASS, 1, 6, 12);
+
+        assertTrue(cabin.take("2c"));
+        assertFalse(cabin.take("2C"));
+        assertEquals(11, cabin.available());
+
+        assertTrue(cabin.release("2C"));
+        assertFalse(cabin.release("2C"));
+        assertFalse(cabin.release("junk"));
+        assertEquals(12, cabin.available());
+        assertEquals(12, cabin.freeSeats().size());
+    }
+
+    @Test
+    public void testRowWiderThanSlotIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new SeatMap(SeatClass.ECONOMY_CLASS, 1, 9, 18));
+    }
+}
@@ -0,0 +1,115 @@
+package com.travel360.api.service.concurrency;
+
+import com.travel360.api.dto.flight.FlightConflictStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class ConflictRetryTemplateTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ConflictRetryTemplate retryTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        retryTemplate = new ConflictRetryTemplate();
+        ReflectionTestUtils.setField(retryTemplate, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(retryTemplate, "maxAttempts", 3);
+        ReflectionTestUtils.setField(retryTemplate, "initialBackoffMillis", 0L);
+        ReflectionTestUtils.setField(retryTemplate, "maxBackoffMillis", 0L);
+        retryTemplate.init();
+    }
+
+    @Test
+    public void testConflictIsRetriedInANewTransaction() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retryTemplate.execute("booking", List.of(10L), () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ConcurrencyFailureException("Row was updated by another transaction");
+            }
+            return "booked";
+        });
+
+        assertEquals("booked", result);
+        assertEquals(3, attempts.get());
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager).commit(any());
+
+        FlightConflictStats.OperationStats stats = retryTemplate.getStats().getOperations().get(0);
+        assertEquals(1, stats.getExecutions());
+        assertEquals(2, stats.getConflicts());
+        assertEquals(2, stats.getRetries());
+        assertEquals(0, stats.getExhausted());
+    }
+
+    @Test
+    public void testConflictIsRethrownAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ConcurrencyFailureException.class, () -> retryTemplate.execute("booking", List.of(10L, 11L), () -> {
+            attempts.incrementAndGet();
+            throw new ConcurrencyFailureException("Deadlock detected");
+        }));
+
+        assertEquals(3, attempts.get());
+        FlightConflictStats stats = retryTemplate.getStats();
+        assertEquals(1, stats.getOperations().get(0).getExhausted());
+        assertEquals(2, stats.getHottestFlights().size());
+        assertEquals(3, stats.getHottestFlights().get(0).getConflicts());
+    }
+
+    @Test
+    public void testOtherFailuresAreNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> retryTemplate.execute("booking", List.of(10L), () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Not enough seats");
+        }));
+
+        assertEquals(1, attempts.get());
+        assertEquals(0, retryTemplate.getStats().getOperations().get(0).getConflicts());
+    }
+
+    @Test
+    public void testConflictInsideExistingTransactionIsLeftToCaller() {
+        AtomicInteger attempts = new AtomicInteger();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(ConcurrencyFailureException.class, () -> retryTemplate.execute("hold", List.of(10L), () -> {
+                attempts.incrementAndGet();
+                throw new ConcurrencyFailureException("Row was updated by another transaction");
+            }));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertEquals(1, attempts.get());
+        FlightConflictStats.OperationStats stats = retryTemplate.getStats().getOperations().get(0);
+        assertEquals(1, stats.getConflicts());
+        assertEquals(0, stats.getRetries());
+    }
+}
@@ -0,0 +1,339 @@
+package com.travel360.api.service.impl;
+
+import com.travel360.api.dto.booking.BookingRequest;
+import com.travel360.api.dto.booking.BookingResponse;
+import com.travel360.api.dto.booking.BookingSummaryDto;
+import com.travel360.api.dto.booking.BookingSummaryPage;
+import com.travel360.api.dto.booking.GroupBookingRequest;
+import com.travel360.api.dto.booking.GroupBookingResponse;
+import com.travel360.api.model.Booking;
+import com.travel360.api.model.BookingDetail;
+import com.travel360.api.model.BookingStatus;
+import com.travel360.api.model.Flight;
+import com.travel360.api.model.FlightStatus;
+import com.travel360.api.model.Role;
+import com.travel360.api.model.SeatClass;
+import com.travel360.api.model.User;
+import com.travel360.api.repository.BookingDetailRepository;
+import com.travel360.api.repository.BookingRepository;
+import com.travel360.api.repository.FlightRepository;
+import com.travel360.api.repository.UserRepository;
+import com.travel360.api.service.booking.BookingReferenceGenerator;
+import com.travel360.api.service.booking.BookingSummaryProjection;
+import com.travel360.api.service.booking.SeatAllocator;
+import com.travel360.api.service.booking.SeatInventory;
+import com.travel360.api.service.concurrency.ConflictRetryTemplate;
+import com.travel360.api.service.reference.AirportDtoRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingServiceImplTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingDetailRepository bookingDetailRepository;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SeatInventory seatInventory;
+
+    @Mock
+    private SeatAllocator seatAllocator;
+
+    @Mock
+    private BookingReferenceGenerator referenceGenerator;
+
+    @Mock
+    private AirportDtoRegistry airportRegistry;
+
+    @Mock
+    private BookingSummaryProjection bookingSummaries;
+
+    @Mock
+    private ConflictRetryTemplate conflictRetry;
+
+    @InjectMocks
+    private BookingServiceImpl bookingService;
+
+    @BeforeEach
+    public void setUp() {
+        // Run the retried action once, as the template does inside a transaction
+        lenient().when(conflictRetry.execute(anyString(), anyCollection(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+    }
+
+    @Test
+    public void testCustomerCancelsOwnBooking() {
+        User owner = user(1L, Role.CUSTOMER);
+        Booking booking = booking(10L, owner);
+        when(bookingRepository.findById(10L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.cancelBooking(eq(10L), any())).thenReturn(1);
+
+        bookingService.cancelBooking(10L, owner);
+
+        verify(bookingRepository).cancelBooking(eq(10L), any());
+        verify(bookingSummaries).statusChanged(10L, BookingStatus.CANCELLED);
+        verify(bookingDetailRepository).releaseSeats(eq(10L), any());
+    }
+
+    @Test
+    public void testCustomerCannotCancelAnotherCustomersBooking() {
+        Booking booking = booking(10L, user(1L, Role.CUSTOMER));
+        when(bookingRepository.findById(10L)).thenReturn(Optional.of(booking));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> bookingService.cancelBooking(10L, user(2L, Role.CUSTOMER)));
+
+        // The booking is reported missing rather than forbidden, and nothing is released
+        assertEquals("Booking not found with ID: 10", exception.getMessage());
+        verify(bookingRepository, never()).cancelBooking(anyLong(), any());
+        verify(seatInventory, never()).release(anyLong(), any(), anyInt());
+    }
+
+    @Test
+    public void testCancellationReleasesSeatsOncePerCabin() {
+        User owner = user(1L, Role.CUSTOMER);
+        Booking booking = booking(10L, owner);
+        booking.addBookingDetail(detail(21L, SeatClass.BUSINESS_CLASS, "2A"));
+        booking.addBookingDetail(detail(20L, SeatClass.ECONOMY_CLASS, "14A"));
+        booking.addBookingDetail(detail(20L, SeatClass.ECONOMY_CLASS, "14B"));
+        when(bookingRepository.findById(10L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.cancelBooking(eq(10L), any())).thenReturn(1);
+        when(seatInventory.release(anyLong(), any(), anyInt())).thenReturn(true);
+
+        bookingService.cancelBooking(10L, owner);
+
+        // One conditional release per flight and class, in lock order
+        InOrder releases = inOrder(seatInventory);
+        releases.verify(seatInventory).release(20L, SeatClass.ECONOMY_CLASS, 2);
+        releases.verify(seatInventory).release(21L, SeatClass.BUSINESS_CLASS, 1);
+        verify(seatAllocator).release(20L, SeatClass.ECONOMY_CLASS, "14A");
+        verify(seatAllocator).release(20L, SeatClass.ECONOMY_CLASS, "14B");
+        verify(seatAllocator).release(21L, SeatClass.BUSINESS_CLASS, "2A");
+    }
+
+    @Test
+    public void testCancelledBookingIsNotReleasedTwice() {
+        User owner = user(1L, Role.CUSTOMER);
+        Booking booking = booking(10L, owner);
+        booking.setStatus(BookingStatus.CANCELLED);
+        booking.addBookingDetail(detail(20L, SeatClass.ECONOMY_CLASS, "14A"));
+        when(bookingRepository.findById(10L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.cancelBooking(eq(10L), any())).thenReturn(0);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> bookingService.cancelBooking(10L, owner));
+
+        assertEquals("Booking B0000000000001 cannot be cancelled in status CANCELLED", exception.getMessage());
+        verify(seatInventory, never()).release(anyLong(), any(), anyInt());
+        verify(bookingDetailRepository, never()).releaseSeats(anyLong(), any());
+    }
+
+    @Test
+    public void testOperatorCancelsAnyBooking() {
+        Booking booking = booking(10L, user(1L, Role.CUSTOMER));
+        when(bookingRepository.findById(10L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.cancelBooking(eq(10L), any())).thenReturn(1);
+
+        bookingService.cancelBooking(10L, user(3L, Role.OPERATOR));
+
+        verify(bookingRepository).cancelBooking(eq(10L), any());
+    }
+
+    @Test
+    public void testUserBookingsFollowTheSummaryOrderAcrossPages() {
+        User owner = user(1L, Role.CUSTOMER);
+        when(bookingSummaries.page(1L, null, BookingSummaryProjection.MAX_PAGE_SIZE))
+                .thenReturn(summaryPage("next", 12L, 11L));
+        when(bookingSummaries.page(1L, "next", BookingSummaryProjection.MAX_PAGE_SIZE))
+                .thenReturn(summaryPage(null, 10L));
+        // The repository does not keep the order of the ids
+        when(bookingRepository.findAllWithDetailsByIdIn(List.of(12L, 11L)))
+                .thenReturn(List.of(booking(11L, owner), booking(12L, owner)));
+        when(bookingRepository.findAllWithDetailsByIdIn(List.of(10L))).thenReturn(List.of(booking(10L, owner)));
+
+        List<BookingResponse> bookings = bookingService.getBookingsByUser(owner);
+
+        assertEquals(List.of(12L, 11L, 10L), bookings.stream().map(BookingResponse::getId).toList());
+    }
+
+    @Test
+    public void testGroupReservesEachCabinOnceAndSeatsPassengersTogether() {
+        User customer = stubCustomer();
+        stubFlight(20L, 10);
+        stubFlight(21L, 10);
+        when(seatInventory.reserve(20L, SeatClass.ECONOMY_CLASS, 2)).thenReturn(true);
+        when(seatInventory.reserve(21L, SeatClass.BUSINESS_CLASS, 1)).thenReturn(true);
+        when(seatAllocator.allocateTogether(20L, SeatClass.ECONOMY_CLASS, 2)).thenReturn(List.of("14A", "14B"));
+        when(seatAllocator.allocateTogether(21L, SeatClass.BUSINESS_CLASS, 1)).thenReturn(List.of("2A"));
+
+        GroupBookingResponse response = bookingService.createGroupBooking(groupRequest(false,
+                passenger("Ann", 20L, "ECONOMY", null),
+                passenger("Ben", 21L, "BUSINESS", null),
+                passenger("Cal", 20L, "ECONOMY", null)), customer);
+
+        assertEquals(3, response.getBookedPassengers());
+        assertEquals(List.of("14A", "2A", "14B"),
+                response.getPassengers().stream().map(GroupBookingResponse.PassengerOutcome::getSeatNumber).toList());
+        assertEquals(List.of(GroupBookingResponse.Outcome.BOOKED, GroupBookingResponse.Outcome.BOOKED, GroupBookingResponse.Outcome.BOOKED),
+                response.getPassengers().stream().map(GroupBookingResponse.PassengerOutcome::getOutcome).toList());
+        verify(seatInventory).reserve(20L, SeatClass.ECONOMY_CLASS, 2);
+        verify(seatInventory).reserve(21L, SeatClass.BUSINESS_CLASS, 1);
+    }
+
+    @Test
+    public void testPartialGroupBooksWhoeverFits() {
+        User customer = stubCustomer();
+        stubFlight(20L, 2);
+        when(seatInventory.reserve(20L, SeatClass.ECONOMY_CLASS, 3)).thenReturn(false);
+        when(seatInventory.reserve(20L, SeatClass.ECONOMY_CLASS, 2)).thenReturn(true);
+        when(seatAllocator.allocateTogether(20L, SeatClass.ECONOMY_CLASS, 2)).thenReturn(List.of("14A", "14B"));
+
+        GroupBookingResponse response = bookingService.createGroupBooking(groupRequest(true,
+                passenger("Ann", 20L, "ECONOMY", null),
+                passenger("Ben", 20L, "ECONOMY", null),
+                passenger("Cal", 20L, "ECONOMY", null)), customer);
+
+        assertEquals(3, response.getRequestedPassengers());
+        assertEquals(2, response.getBookedPassengers());
+        GroupBookingResponse.PassengerOutcome rejected = response.getPassengers().get(2);
+        assertEquals(GroupBookingResponse.Outcome.REJECTED, rejected.getOutcome());
+        assertEquals("Not enough ECONOMY_CLASS seats available on flight with ID: 20", rejected.getMessage());
+    }
+
+    @Test
+    public void testGroupWithoutPartialFailsWhenAnyPassengerCannotBeBooked() {
+        stubFlight(20L, 1);
+        when(seatInventory.reserve(20L, SeatClass.ECONOMY_CLASS, 2)).thenReturn(false);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> bookingService.createGroupBooking(groupRequest(false,
+                passenger("Ann", 20L, "ECONOMY", null),
+                passenger("Ben", 20L, "ECONOMY", null)), user(1L, Role.CUSTOMER)));
+
+        assertEquals("Passenger 1 (Ann): Not enough ECONOMY_CLASS seats available on flight with ID: 20", exception.getMessage());
+        verify(bookingRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void testTakenChosenSeatIsReassignedInAGroup() {
+        User customer = stubCustomer();
+        stubFlight(20L, 10);
+        when(seatInventory.reserve(20L, SeatClass.ECONOMY_CLASS, 1)).thenReturn(true);
+        when(seatAllocator.select(20L, SeatClass.ECONOMY_CLASS, "3C")).thenReturn(false);
+        when(seatAllocator.allocateTogether(20L, SeatClass.ECONOMY_CLASS, 1)).thenReturn(List.of("5A"));
+
+        GroupBookingResponse response = bookingService.createGroupBooking(groupRequest(false,
+                passenger("Ann", 20L, "ECONOMY", "3c")), customer);
+
+        GroupBookingResponse.PassengerOutcome outcome = response.getPassengers().get(0);
+        assertEquals(GroupBookingResponse.Outcome.SEAT_REASSIGNED, outcome.getOutcome());
+        assertEquals("5A", outcome.getSeatNumber());
+        assertEquals("Seat 3c was not available", outcome.getMessage());
+    }
+
+    private User stubCustomer() {
+        User customer = user(1L, Role.CUSTOMER);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        return customer;
+    }
+
+    private void stubFlight(Long id, int economySeats) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setFlightNumber("TS" + id);
+        flight.setStatus(FlightStatus.SCHEDULED);
+        flight.setEconomyClassAvailableSeats(economySeats);
+        flight.setEconomyClassPrice(new BigDecimal("100"));
+        flight.setBusinessClassPrice(new BigDecimal("300"));
+        lenient().when(flightRepository.findById(id)).thenReturn(Optional.of(flight));
+        lenient().when(flightRepository.getReferenceById(id)).thenReturn(flight);
+    }
+
+    private static BookingSummaryPage summaryPage(String nextCursor, Long... bookingIds) {
+        BookingSummaryPage page = new BookingSummaryPage();
+        page.setBookings(Arrays.stream(bookingIds).map(id -> {
+            BookingSummaryDto summary = new BookingSummaryDto();
+            summary.setId(id);
+            return summary;
+        }).toList());
+        page.setHasMore(nextCursor != null);
+        page.setNextCursor(nextCursor);
+        return page;
+    }
+
+    private static GroupBookingRequest groupRequest(boolean allowPartial, BookingRequest.PassengerDetail... passengers) {
+        GroupBookingRequest request = new GroupBookingRequest();
+        request.setPassengers(List.of(passengers));
+        request.setAllowPartial(allowPartial);
+        return request;
+    }
+
+    private static BookingRequest.PassengerDetail passenger(String name, Long flightId, String seatClass, String seatNumber) {
+        BookingRequest.PassengerDetail passenger = new BookingRequest.PassengerDetail();
+        passenger.setPassengerName(name);
+        passenger.setFlightId(flightId);
+        passenger.setSeatClass(seatClass);
+        passenger.setSeatNumber(seatNumber);
+        return passenger;
+    }
+
+    private static User user(Long id, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setRole(role);
+        return user;
+    }
+
+    private static BookingDetail detail(Long flightId, SeatClass seatClass, String seatNumber) {
+        Flight flight = new Flight();
+        flight.setId(flightId);
+        BookingDetail detail = new BookingDetail();
+        detail.setFlight(flight);
+        detail.setSeatClass(seatClass);
+        detail.setSeatNumber(seatNumber);
+        detail.setAmount(BigDecimal.TEN);
+        return detail;
+    }
+
+    private static Booking booking(Long id, User owner) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setBookingReference("B0000000000001");
+        booking.setUser(owner);
+        booking.setStatus(BookingStatus.CONFIRMED);
+        return booking;
+    }
+}
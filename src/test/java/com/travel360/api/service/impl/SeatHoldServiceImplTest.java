@@ -0,0 +1,175 @@
+package com.travel360.api.service.impl;
+
+import com.travel360.api.dto.booking.SeatHoldRequest;
+import com.travel360.api.dto.booking.SeatHoldResponse;
+import com.travel360.api.model.Flight;
+import com.travel360.api.model.FlightStatus;
+import com.travel360.api.model.SeatClass;
+import com.travel360.api.model.SeatHold;
+import com.travel360.api.model.SeatHoldItem;
+import com.travel360.api.model.User;
+import com.travel360.api.repository.FlightRepository;
+import com.travel360.api.repository.SeatHoldRepository;
+import com.travel360.api.repository.UserRepository;
+import com.travel360.api.service.booking.SeatHoldExpiryQueue;
+import com.travel360.api.service.booking.SeatInventory;
+import com.travel360.api.service.concurrency.ConflictRetryTemplate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SeatHoldServiceImplTest {
+
+    @Mock
+    private SeatHoldRepository seatHoldRepository;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SeatInventory seatInventory;
+
+    @Mock
+    private SeatHoldExpiryQueue expiryQueue;
+
+    @Mock
+    private ConflictRetryTemplate conflictRetry;
+
+    @InjectMocks
+    private SeatHoldServiceImpl seatHoldService;
+
+    private final User customer = customer();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(seatHoldService, "holdTtlSeconds", 600L);
+        ReflectionTestUtils.setField(seatHoldService, "maxActiveHoldsPerUser", 3);
+        ReflectionTestUtils.setField(seatHoldService, "maxHeldSeatsPerUser", 20);
+        // Run the retried action once, as the template does inside a transaction
+        lenient().when(conflictRetry.execute(anyString(), anyCollection(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+        lenient().when(userRepository.lockById(customer.getId())).thenReturn(Optional.of(customer));
+    }
+
+    @Test
+    public void testHoldIsRejectedAtActiveHoldLimit() {
+        when(seatHoldRepository.countActiveHolds(eq(1L), any())).thenReturn(3L);
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> seatHoldService.createHold(request(10L, 1), customer));
+
+        assertEquals("At most 3 seat holds can be active at once", exception.getMessage());
+        verify(seatInventory, never()).reserve(anyLong(), any(), anyInt());
+    }
+
+    @Test
+    public void testHoldIsRejectedWhenSeatsWouldExceedLimit() {
+        when(seatHoldRepository.countActiveHolds(eq(1L), any())).thenReturn(1L);
+        when(seatHoldRepository.countActiveHeldSeats(eq(1L), any())).thenReturn(18L);
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> seatHoldService.createHold(request(10L, 3), customer));
+
+        assertEquals("At most 20 seats can be held at once", exception.getMessage());
+        verify(seatInventory, never()).reserve(anyLong(), any(), anyInt());
+    }
+
+    @Test
+    public void testHoldWithinLimitsReservesSeatsAndSchedulesExpiry() {
+        Flight flight = flight(10L);
+        when(seatHoldRepository.countActiveHolds(eq(1L), any())).thenReturn(0L);
+        when(seatHoldRepository.countActiveHeldSeats(eq(1L), any())).thenReturn(0L);
+        when(flightRepository.findById(10L)).thenReturn(Optional.of(flight));
+        when(flightRepository.getReferenceById(10L)).thenReturn(flight);
+        when(seatInventory.reserve(10L, SeatClass.ECONOMY_CLASS, 2)).thenReturn(true);
+        when(seatHoldRepository.save(any(SeatHold.class))).thenAnswer(invocation -> {
+            SeatHold hold = invocation.getArgument(0);
+            hold.setHoldId("hold-1");
+            return hold;
+        });
+
+        SeatHoldResponse response = seatHoldService.createHold(request(10L, 2), customer);
+
+        assertEquals("hold-1", response.getHoldId());
+        assertEquals(2, response.getItems().get(0).getSeatCount());
+        verify(expiryQueue).scheduleAfterCommit(eq("hold-1"), any());
+    }
+
+    @Test
+    public void testExpiredHoldsReleaseSeatsOncePerCabin() {
+        Flight flight = flight(10L);
+        when(seatHoldRepository.expireHold(eq("first"), any())).thenReturn(1);
+        when(seatHoldRepository.expireHold(eq("second"), any())).thenReturn(1);
+        // Converted before the sweeper reached it
+        when(seatHoldRepository.expireHold(eq("converted"), any())).thenReturn(0);
+        when(seatHoldRepository.findByHoldId("first")).thenReturn(Optional.of(hold("first", flight, 1)));
+        when(seatHoldRepository.findByHoldId("second")).thenReturn(Optional.of(hold("second", flight, 2)));
+
+        int expired = seatHoldService.expireHolds(List.of("first", "converted", "second"));
+
+        assertEquals(2, expired);
+        verify(seatInventory).release(10L, SeatClass.ECONOMY_CLASS, 3);
+        verify(seatHoldRepository, never()).findByHoldId("converted");
+    }
+
+    private static SeatHoldRequest request(Long flightId, int seats) {
+        SeatHoldRequest.Item item = new SeatHoldRequest.Item();
+        item.setFlightId(flightId);
+        item.setSeatClass(SeatClass.ECONOMY_CLASS);
+        item.setSeatCount(seats);
+        SeatHoldRequest request = new SeatHoldRequest();
+        request.setItems(List.of(item));
+        return request;
+    }
+
+    private static SeatHold hold(String holdId, Flight flight, int seats) {
+        SeatHold hold = new SeatHold();
+        hold.setHoldId(holdId);
+        SeatHoldItem item = new SeatHoldItem();
+        item.setFlight(flight);
+        item.setSeatClass(SeatClass.ECONOMY_CLASS);
+        item.setSeatCount(seats);
+        hold.addItem(item);
+        return hold;
+    }
+
+    private static Flight flight(Long id) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setFlightNumber("TS" + id);
+        flight.setStatus(FlightStatus.SCHEDULED);
+        return flight;
+    }
+
+    private static User customer() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("customer");
+        return user;
+    }
+}
@@ -0,0 +1,126 @@
+package com.travel360.api.service.impl;
+
+import com.travel360.api.dto.booking.SeatHoldRequest;
+import com.travel360.api.dto.booking.SeatHoldResponse;
+import com.travel360.api.model.Flight;
+import com.travel360.api.model.FlightStatus;
+import com.travel360.api.model.SeatClass;
+import com.travel360.api.model.User;
+import com.travel360.api.model.WaitlistEntry;
+import com.travel360.api.model.WaitlistStatus;
+import com.travel360.api.repository.WaitlistEntryRepository;
+import com.travel360.api.service.SeatHoldService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class WaitlistServiceImplTest {
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @InjectMocks
+    private WaitlistServiceImpl waitlistService;
+
+    @Test
+    public void testHeadOfLineIsPromotedIntoAHold() {
+        WaitlistEntry entry = entry(5L, flight(10L, FlightStatus.SCHEDULED, 2), 2);
+        when(waitlistEntryRepository.findWaiting(eq(10L), eq(SeatClass.ECONOMY_CLASS), any())).thenReturn(List.of(entry));
+        when(waitlistEntryRepository.transitionWaiting(eq(5L), eq(WaitlistStatus.PROMOTED), any())).thenReturn(1);
+        SeatHoldResponse hold = new SeatHoldResponse();
+        hold.setHoldId("hold-1");
+        when(seatHoldService.createHold(any(SeatHoldRequest.class), eq(entry.getUser()))).thenReturn(hold);
+        when(waitlistEntryRepository.findById(5L)).thenReturn(Optional.of(entry));
+
+        assertTrue(waitlistService.promoteNext(10L, SeatClass.ECONOMY_CLASS));
+
+        ArgumentCaptor<SeatHoldRequest> request = ArgumentCaptor.forClass(SeatHoldRequest.class);
+        verify(seatHoldService).createHold(request.capture(), eq(entry.getUser()));
+        assertEquals(2, request.getValue().getItems().get(0).getSeatCount());
+        assertEquals("hold-1", entry.getHoldId());
+        assertNotNull(entry.getPromotedAt());
+        verify(waitlistEntryRepository).save(entry);
+    }
+
+    @Test
+    public void testHeadNeedingMoreSeatsBlocksTheLine() {
+        WaitlistEntry entry = entry(5L, flight(10L, FlightStatus.SCHEDULED, 1), 2);
+        when(waitlistEntryRepository.findWaiting(eq(10L), eq(SeatClass.ECONOMY_CLASS), any())).thenReturn(List.of(entry));
+
+        assertFalse(waitlistService.promoteNext(10L, SeatClass.ECONOMY_CLASS));
+
+        verify(waitlistEntryRepository, never()).transitionWaiting(anyLong(), any(), any());
+        verify(seatHoldService, never()).createHold(any(), any());
+    }
+
+    @Test
+    public void testEntryClaimedByAnotherPromoterIsSkipped() {
+        WaitlistEntry entry = entry(5L, flight(10L, FlightStatus.SCHEDULED, 2), 1);
+        when(waitlistEntryRepository.findWaiting(eq(10L), eq(SeatClass.ECONOMY_CLASS), any())).thenReturn(List.of(entry));
+        when(waitlistEntryRepository.transitionWaiting(eq(5L), eq(WaitlistStatus.PROMOTED), any())).thenReturn(0);
+
+        assertTrue(waitlistService.promoteNext(10L, SeatClass.ECONOMY_CLASS));
+
+        verify(seatHoldService, never()).createHold(any(), any());
+    }
+
+    @Test
+    public void testEntriesForCancelledFlightAreCancelled() {
+        WaitlistEntry entry = entry(5L, flight(10L, FlightStatus.CANCELLED, 50), 1);
+        when(waitlistEntryRepository.findWaiting(eq(10L), eq(SeatClass.ECONOMY_CLASS), any())).thenReturn(List.of(entry));
+
+        assertTrue(waitlistService.promoteNext(10L, SeatClass.ECONOMY_CLASS));
+
+        verify(waitlistEntryRepository).transitionWaiting(eq(5L), eq(WaitlistStatus.CANCELLED), any());
+        verify(seatHoldService, never()).createHold(any(), any());
+    }
+
+    @Test
+    public void testEmptyLineHasNothingToPromote() {
+        when(waitlistEntryRepository.findWaiting(eq(10L), eq(SeatClass.ECONOMY_CLASS), any())).thenReturn(List.of());
+
+        assertFalse(waitlistService.promoteNext(10L, SeatClass.ECONOMY_CLASS));
+    }
+
+    private static WaitlistEntry entry(Long id, Flight flight, int seats) {
+        User user = new User();
+        user.setId(1L);
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setId(id);
+        entry.setUser(user);
+        entry.setFlight(flight);
+        entry.setSeatClass(SeatClass.ECONOMY_CLASS);
+        entry.setSeatCount(seats);
+        return entry;
+    }
+
+    private static Flight flight(Long id, FlightStatus status, int economySeats) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setFlightNumber("TS" + id);
+        flight.setStatus(status);
+        flight.setEconomyClassAvailableSeats(economySeats);
+        return flight;
+    }
+}
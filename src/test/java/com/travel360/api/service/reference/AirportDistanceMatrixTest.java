@@ -0,0 +1,94 @@
+package com.travel360.api.service.reference;
+
+import com.travel360.api.event.AirportChangedEvent;
+import com.travel360.api.model.Airport;
+import com.travel360.api.repository.AirportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AirportDistanceMatrixTest {
+
+    private final Airport colombo = airport(1L, 7.1808, 79.8841);
+    private final Airport jaffna = airport(2L, 9.7923, 80.0700);
+    private final Airport dubai = airport(3L, 25.2532, 55.3657);
+
+    @Mock
+    private AirportRepository airportRepository;
+
+    private AirportDistanceMatrix matrix;
+
+    @BeforeEach
+    public void setUp() {
+        matrix = new AirportDistanceMatrix();
+        ReflectionTestUtils.setField(matrix, "airportRepository", airportRepository);
+    }
+
+    @Test
+    public void testDistancesAreSymmetricAndMatchHaversine() {
+        when(airportRepository.findAll()).thenReturn(List.of(colombo, jaffna, dubai));
+
+        double expected = AirportDistanceMatrix.haversineKm(7.1808, 79.8841, 25.2532, 55.3657);
+        assertEquals(expected, matrix.distanceKm(1L, 3L), 0.01);
+        assertEquals(matrix.distanceKm(1L, 3L), matrix.distanceKm(3L, 1L));
+        assertEquals(0, matrix.distanceKm(2L, 2L));
+        assertEquals(291, matrix.distanceKm(1L, 2L), 1);
+    }
+
+    @Test
+    public void testUnknownAirportHasNoDistance() {
+        when(airportRepository.findAll()).thenReturn(List.of(colombo));
+
+        assertTrue(Double.isNaN(matrix.distanceKm(1L, 99L)));
+        // Airports not indexed yet fall back to their coordinates
+        assertEquals(291, matrix.distanceKm(colombo, airport(99L, 9.7923, 80.0700)), 1);
+    }
+
+    @Test
+    public void testNewAirportIsAppendedWithoutReload() {
+        when(airportRepository.findAll()).thenReturn(List.of(colombo, jaffna));
+        matrix.size();
+
+        matrix.onAirportChanged(AirportChangedEvent.created(dubai));
+
+        assertEquals(3, matrix.size());
+        assertEquals(AirportDistanceMatrix.haversineKm(9.7923, 80.0700, 25.2532, 55.3657), matrix.distanceKm(3L, 2L), 0.01);
+        verify(airportRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void testMovedAirportRebuildsAndDeletedAirportIsDropped() {
+        when(airportRepository.findAll()).thenReturn(List.of(colombo, jaffna));
+        matrix.size();
+
+        Airport moved = airport(2L, 25.2532, 55.3657);
+        when(airportRepository.findAll()).thenReturn(List.of(colombo, moved));
+        matrix.onAirportChanged(AirportChangedEvent.updated(moved));
+        assertEquals(AirportDistanceMatrix.haversineKm(7.1808, 79.8841, 25.2532, 55.3657), matrix.distanceKm(1L, 2L), 0.01);
+
+        matrix.onAirportChanged(AirportChangedEvent.deleted(2L));
+        assertTrue(Double.isNaN(matrix.distanceKm(1L, 2L)));
+        assertEquals(1, matrix.size());
+    }
+
+    private static Airport airport(Long id, double latitude, double longitude) {
+        Airport airport = new Airport();
+        airport.setId(id);
+        airport.setCode("A" + id);
+        airport.setLatitude(latitude);
+        airport.setLongitude(longitude);
+        return airport;
+    }
+}
@@ -0,0 +1,110 @@
+package com.travel360.api.service.reference;
+
+import com.travel360.api.event.AirportChangedEvent;
+import com.travel360.api.model.Airport;
+import com.travel360.api.repository.AirportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AirportSpatialIndexTest {
+
+    private final Airport colombo = airport(1L, 7.1808, 79.8841);
+    private final Airport ratmalana = airport(2L, 6.8219, 79.8862);
+    private final Airport jaffna = airport(3L, 9.7923, 80.0700);
+    private final Airport dubai = airport(4L, 25.2532, 55.3657);
+
+    @Mock
+    private AirportRepository airportRepository;
+
+    private AirportSpatialIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new AirportSpatialIndex();
+        ReflectionTestUtils.setField(index, "airportRepository", airportRepository);
+    }
+
+    @Test
+    public void testRadiusQueryReturnsNearestFirstStartingWithTheAirport() {
+        when(airportRepository.findAll()).thenReturn(List.of(dubai, jaffna, ratmalana, colombo));
+
+        List<AirportSpatialIndex.NearbyAirport> nearby = index.withinRadius(colombo.getId(), 300);
+
+        assertEquals(List.of(1L, 2L, 3L), nearby.stream().map(AirportSpatialIndex.NearbyAirport::airportId).toList());
+        assertEquals(0, nearby.get(0).distanceKm(), 1e-6);
+        assertEquals(40, nearby.get(1).distanceKm(), 1);
+        assertEquals(291, nearby.get(2).distanceKm(), 1);
+    }
+
+    @Test
+    public void testRadiusQueryMatchesBruteForceOnManyAirports() {
+        List<Airport> airports = new ArrayList<>();
+        long id = 1;
+        for (int lat = -80; lat <= 80; lat += 10) {
+            for (int lon = -180; lon < 180; lon += 15) {
+                airports.add(airport(id++, lat + 0.5, lon + 0.25));
+            }
+        }
+        when(airportRepository.findAll()).thenReturn(airports);
+
+        for (double radiusKm : new double[] {500, 1500, 5000}) {
+            List<Long> expected = airports.stream()
+                    .filter(airport -> AirportDistanceMatrix.haversineKm(48.9, 2.4,
+                            airport.getLatitude(), airport.getLongitude()) <= radiusKm)
+                    .map(Airport::getId)
+                    .sorted()
+                    .toList();
+            List<Long> found = index.withinRadius(48.9, 2.4, radiusKm).stream()
+                    .map(AirportSpatialIndex.NearbyAirport::airportId)
+                    .sorted()
+                    .toList();
+            assertEquals(expected, found);
+        }
+    }
+
+    @Test
+    public void testRadiusQueryCrossesTheAntimeridian() {
+        Airport east = airport(1L, 0, 179.9);
+        Airport west = airport(2L, 0, -179.9);
+        when(airportRepository.findAll()).thenReturn(List.of(east, west));
+
+        List<AirportSpatialIndex.NearbyAirport> nearby = index.withinRadius(east.getId(), 50);
+
+        assertEquals(2, nearby.size());
+        assertEquals(22.2, nearby.get(1).distanceKm(), 0.5);
+    }
+
+    @Test
+    public void testIndexFollowsAirportChanges() {
+        when(airportRepository.findAll()).thenReturn(List.of(colombo, jaffna));
+        assertEquals(1, index.withinRadius(colombo.getId(), 100).size());
+
+        index.onAirportChanged(AirportChangedEvent.created(ratmalana));
+        assertEquals(2, index.withinRadius(colombo.getId(), 100).size());
+
+        index.onAirportChanged(AirportChangedEvent.deleted(ratmalana.getId()));
+        assertEquals(1, index.withinRadius(colombo.getId(), 100).size());
+        assertTrue(index.withinRadius(ratmalana.getId(), 100).isEmpty());
+    }
+
+    private static Airport airport(Long id, double latitude, double longitude) {
+        Airport airport = new Airport();
+        airport.setId(id);
+        airport.setCode("A" + id);
+        airport.setLatitude(latitude);
+        airport.setLongitude(longitude);
+        return airport;
+    }
+}
@@ -0,0 +1,119 @@
+package com.travel360.api.service.search;
+
+import com.travel360.api.model.Airport;
+import com.travel360.api.model.AirportConnectionTime;
+import com.travel360.api.model.ConnectionType;
+import com.travel360.api.model.Flight;
+import com.travel360.api.repository.AirportConnectionTimeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ConnectionTimeTableTest {
+
+    private static final LocalDateTime ARRIVAL = LocalDateTime.of(2030, 3, 1, 10, 0);
+
+    private final Airport colombo = airport(1L, "Sri Lanka");
+    private final Airport kandy = airport(2L, "Sri Lanka");
+    private final Airport jaffna = airport(3L, "Sri Lanka");
+    private final Airport dubai = airport(4L, "United Arab Emirates");
+
+    @Mock
+    private AirportConnectionTimeRepository connectionTimeRepository;
+
+    private ConnectionTimeTable table;
+
+    @BeforeEach
+    public void setUp() {
+        table = new ConnectionTimeTable();
+        ReflectionTestUtils.setField(table, "connectionTimeRepository", connectionTimeRepository);
+        ReflectionTestUtils.setField(table, "defaultMinMinutes", 60);
+        ReflectionTestUtils.setField(table, "defaultMaxMinutes", 360);
+    }
+
+    @Test
+    public void testAirportWithoutRowsUsesDefaults() {
+        when(connectionTimeRepository.findAllActive()).thenReturn(List.of());
+
+        assertEquals(new ConnectionTimeTable.ConnectionWindow(60, 360), table.window(kandy.getId(), true));
+        assertEquals(new ConnectionTimeTable.ConnectionWindow(60, 360), table.loosest(kandy.getId()));
+    }
+
+    @Test
+    public void testSpecificRowsOverrideAllRowWhichOverridesDefaults() {
+        when(connectionTimeRepository.findAllActive()).thenReturn(List.of(
+                row(kandy, ConnectionType.ALL, 45, 240),
+                row(kandy, ConnectionType.INTERNATIONAL, 90, 480)));
+
+        assertEquals(new ConnectionTimeTable.ConnectionWindow(45, 240), table.window(kandy.getId(), false));
+        assertEquals(new ConnectionTimeTable.ConnectionWindow(90, 480), table.window(kandy.getId(), true));
+        assertEquals(new ConnectionTimeTable.ConnectionWindow(45, 480), table.loosest(kandy.getId()));
+        // The envelope also covers the defaults of airports without rows
+        assertEquals(new ConnectionTimeTable.ConnectionWindow(45, 480), table.loosest());
+    }
+
+    @Test
+    public void testConnectionIsInternationalWhenAnyAirportIsAbroad() {
+        Flight domesticIn = flight(colombo, kandy, ARRIVAL);
+        Flight domesticOut = flight(kandy, jaffna, ARRIVAL.plusHours(2));
+        Flight abroadOut = flight(kandy, dubai, ARRIVAL.plusHours(2));
+
+        assertFalse(ConnectionTimeTable.isInternational(domesticIn, domesticOut));
+        assertTrue(ConnectionTimeTable.isInternational(domesticIn, abroadOut));
+        assertTrue(ConnectionTimeTable.isInternational(flight(dubai, kandy, ARRIVAL), domesticOut));
+    }
+
+    @Test
+    public void testAllowsAppliesTheMatchingWindowExclusively() {
+        when(connectionTimeRepository.findAllActive()).thenReturn(List.of(
+                row(kandy, ConnectionType.DOMESTIC, 30, 120),
+                row(kandy, ConnectionType.INTERNATIONAL, 90, 300)));
+        Flight inbound = flight(colombo, kandy, ARRIVAL);
+
+        assertTrue(table.allows(inbound, flight(kandy, jaffna, ARRIVAL.plusMinutes(31))));
+        // Both limits are exclusive
+        assertFalse(table.allows(inbound, flight(kandy, jaffna, ARRIVAL.plusMinutes(30))));
+        assertFalse(table.allows(inbound, flight(kandy, jaffna, ARRIVAL.plusMinutes(120))));
+        assertFalse(table.allows(inbound, flight(kandy, dubai, ARRIVAL.plusMinutes(60))));
+        assertTrue(table.allows(inbound, flight(kandy, dubai, ARRIVAL.plusMinutes(200))));
+        // Flights that do not meet at the same airport never connect
+        assertFalse(table.allows(inbound, flight(jaffna, dubai, ARRIVAL.plusMinutes(200))));
+    }
+
+    private static AirportConnectionTime row(Airport airport, ConnectionType type, int minMinutes, int maxMinutes) {
+        AirportConnectionTime row = new AirportConnectionTime();
+        row.setAirport(airport);
+        row.setConnectionType(type);
+        row.setMinConnectionMinutes(minMinutes);
+        row.setMaxConnectionMinutes(maxMinutes);
+        return row;
+    }
+
+    private static Flight flight(Airport from, Airport to, LocalDateTime time) {
+        Flight flight = new Flight();
+        flight.setOriginAirport(from);
+        flight.setDestinationAirport(to);
+        flight.setDepartureTime(time);
+        flight.setArrivalTime(time);
+        return flight;
+    }
+
+    private static Airport airport(Long id, String country) {
+        Airport airport = new Airport();
+        airport.setId(id);
+        airport.setCountry(country);
+        return airport;
+    }
+}
@@ -0,0 +1,106 @@
+package com.travel360.api.service.search;
+
+import com.travel360.api.model.Airport;
+import com.travel360.api.model.Flight;
+import com.travel360.api.model.FlightStatus;
+import com.travel360.api.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class FlightRouteGraphTest {
+
+    private final Airport origin = airport(1L);
+    private final Airport destination = airport(2L);
+    private final LocalDateTime tomorrow = LocalDateTime.now().plusDays(1);
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    private FlightRouteGraph graph;
+
+    @BeforeEach
+    public void setUp() {
+        graph = new FlightRouteGraph();
+        ReflectionTestUtils.setField(graph, "flightRepository", flightRepository);
+    }
+
+    @Test
+    public void testOlderVersionDoesNotReplaceNewerOne() {
+        Flight loaded = flight(1L, tomorrow, 5L, 10);
+        when(flightRepository.findSearchableFlights()).thenReturn(List.of(loaded));
+        graph.snapshot();
+
+        graph.upsert(flight(1L, tomorrow, 7L, 3));
+        graph.upsert(flight(1L, tomorrow, 6L, 4));
+
+        List<Flight> departures = departuresFromOrigin();
+        assertEquals(1, departures.size());
+        assertEquals(3, departures.get(0).getEconomyClassAvailableSeats());
+    }
+
+    @Test
+    public void testOlderVersionDoesNotRestoreRemovedFlight() {
+        when(flightRepository.findSearchableFlights()).thenReturn(List.of(flight(1L, tomorrow, 5L, 10)));
+        graph.snapshot();
+
+        Flight cancelled = flight(1L, tomorrow, 7L, 10);
+        cancelled.setStatus(FlightStatus.CANCELLED);
+        graph.upsert(cancelled);
+        graph.upsert(flight(1L, tomorrow, 6L, 9));
+
+        assertEquals(List.of(), departuresFromOrigin());
+    }
+
+    @Test
+    public void testDepartedFlightsAreDroppedOnRebuildAndUpdate() {
+        Flight departed = flight(1L, LocalDateTime.now().minusHours(1), 1L, 10);
+        Flight departing = flight(2L, LocalDateTime.now().plusSeconds(1), 1L, 10);
+        Flight later = flight(3L, tomorrow, 1L, 10);
+        when(flightRepository.findSearchableFlights()).thenReturn(List.of(departed, departing, later));
+
+        assertEquals(2, graph.snapshot().flightCount());
+
+        // Once it has departed, the next update of any flight drops it
+        departing.setDepartureTime(LocalDateTime.now().minusSeconds(1));
+        graph.upsert(flight(3L, tomorrow, 2L, 8));
+
+        assertEquals(1, graph.snapshot().flightCount());
+        assertEquals(List.of(3L), departuresFromOrigin().stream().map(Flight::getId).toList());
+    }
+
+    private List<Flight> departuresFromOrigin() {
+        return graph.snapshot().departures(origin.getId(), LocalDateTime.now().minusDays(1), tomorrow.plusDays(1));
+    }
+
+    private Flight flight(Long id, LocalDateTime departure, Long version, int economySeats) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setFlightNumber("TS" + id);
+        flight.setOriginAirport(origin);
+        flight.setDestinationAirport(destination);
+        flight.setDepartureTime(departure);
+        flight.setArrivalTime(departure.plusHours(1));
+        flight.setEconomyClassAvailableSeats(economySeats);
+        flight.setStatus(FlightStatus.SCHEDULED);
+        flight.setVersion(version);
+        return flight;
+    }
+
+    private static Airport airport(Long id) {
+        Airport airport = new Airport();
+        airport.setId(id);
+        airport.setCode("A" + id);
+        return airport;
+    }
+}
@@ -0,0 +1,189 @@
+package com.travel360.api.service.search;
+
+import com.travel360.api.dto.flight.AirportDto;
+import com.travel360.api.dto.flight.DirectFlightDto;
+import com.travel360.api.dto.flight.FlightSearchResponse;
+import com.travel360.api.dto.flight.TransitFlightDto;
+import com.travel360.api.event.FlightChangedEvent;
+import com.travel360.api.model.Airport;
+import com.travel360.api.model.Flight;
+import com.travel360.api.model.FlightStatus;
+import com.travel360.api.model.SeatClass;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FlightSearchCacheTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 3, 1);
+
+    private final HubConnectivityIndex hubIndex = mock(HubConnectivityIndex.class);
+
+    private FlightSearchCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        when(hubIndex.hopsToDestination(anyLong(), anyLong())).thenReturn(HubConnectivityIndex.UNREACHABLE);
+        cache = new FlightSearchCache();
+        ReflectionTestUtils.setField(cache, "hubIndex", hubIndex);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+    }
+
+    @Test
+    public void testCachedResponseIsACopy() {
+        FlightSearchKey key = key(1L, 2L, false);
+        FlightSearchResponse response = response(direct(10L));
+        cache.put(key, response, cache.version());
+
+        FlightSearchResponse first = cache.get(key);
+        first.getDirectFlights().get(0).setAvailableSeats(0);
+        response.getDirectFlights().get(0).setAvailableSeats(0);
+
+        FlightSearchResponse second = cache.get(key);
+        assertNotSame(first, second);
+        assertEquals(5, second.getDirectFlights().get(0).getAvailableSeats());
+    }
+
+    @Test
+    public void testSeatChangeEvictsOnlyEntriesContainingTheFlight() {
+        FlightSearchKey viaMiddleLeg = key(1L, 4L, true);
+        FlightSearchKey sameRoute = key(2L, 3L, false);
+        cache.put(viaMiddleLeg, response(transit(direct(10L), direct(11L), direct(12L))), cache.version());
+        cache.put(sameRoute, response(direct(20L)), cache.version());
+
+        cache.onFlightChanged(FlightChangedEvent.seatsChanged(flight(11L, 2L, 3L)));
+
+        // The middle leg is found through the flight index; the other entry on its route stays
+        assertNull(cache.get(viaMiddleLeg));
+        assertNotNull(cache.get(sameRoute));
+    }
+
+    @Test
+    public void testNewFlightEvictsOnlySearchesItCanJoin() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 10);
+        FlightSearchKey sameRoute = key(1L, 2L, DATE, false);
+        FlightSearchKey sameRouteNextDay = key(1L, 2L, DATE.plusDays(1), false);
+        FlightSearchKey fromOrigin = key(1L, 9L, DATE, false);
+        FlightSearchKey throughFlight = key(5L, 2L, DATE, true);
+        FlightSearchKey elsewhere = key(5L, 6L, DATE, true);
+        for (FlightSearchKey key : new FlightSearchKey[] {sameRoute, sameRouteNextDay, fromOrigin, throughFlight, elsewhere}) {
+            cache.put(key, response(direct(20L)), cache.version());
+        }
+        // 5 → 1 takes one leg, so 5 → 1 → 2 fits in two stops; 2 never reaches 6
+        when(hubIndex.hopsToDestination(5L, 1L)).thenReturn(1);
+
+        cache.onFlightChanged(FlightChangedEvent.created(flight(30L, 1L, 2L)));
+
+        assertNull(cache.get(sameRoute));
+        assertNull(cache.get(throughFlight));
+        assertNotNull(cache.get(sameRouteNextDay));
+        assertNotNull(cache.get(fromOrigin));
+        assertNotNull(cache.get(elsewhere));
+    }
+
+    @Test
+    public void testRescheduledFlightLeavesItsEntriesThroughTheIndex() {
+        FlightSearchKey containsFlight = key(7L, 8L, DATE, true);
+        FlightSearchKey otherTransits = key(5L, 6L, DATE, true);
+        cache.put(containsFlight, response(transit(direct(11L), direct(12L))), cache.version());
+        cache.put(otherTransits, response(transit(direct(13L), direct(14L))), cache.version());
+
+        cache.onFlightChanged(FlightChangedEvent.updated(flight(11L, 1L, 2L)));
+
+        assertNull(cache.get(containsFlight));
+        assertNotNull(cache.get(otherTransits));
+    }
+
+    @Test
+    public void testResultIsNotStoredWhenOneOfItsFlightsChangedMeanwhile() {
+        long version = cache.version();
+        cache.invalidateFlight(10L);
+
+        cache.put(key(1L, 2L, false), response(direct(10L)), version);
+        cache.put(key(1L, 3L, false), response(direct(11L)), version);
+
+        // Only the result containing the changed flight is dropped
+        assertNull(cache.get(key(1L, 2L, false)));
+        assertNotNull(cache.get(key(1L, 3L, false)));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        FlightSearchKey first = key(1L, 2L, false);
+        FlightSearchKey second = key(1L, 3L, false);
+        FlightSearchKey third = key(1L, 4L, false);
+        cache.put(first, response(direct(10L)), cache.version());
+        cache.put(second, response(direct(11L)), cache.version());
+        cache.get(first);
+
+        cache.put(third, response(direct(12L)), cache.version());
+
+        assertNotNull(cache.get(first));
+        assertNull(cache.get(second));
+        assertEquals(1, cache.getStats().getEvictions());
+    }
+
+    private static FlightSearchKey key(Long originId, Long destinationId, boolean includeTransits) {
+        return key(originId, destinationId, DATE, includeTransits);
+    }
+
+    private static FlightSearchKey key(Long originId, Long destinationId, LocalDate date, boolean includeTransits) {
+        return new FlightSearchKey(originId, destinationId, date, 0, 0, SeatClass.ECONOMY_CLASS, 1,
+                includeTransits, includeTransits ? 2 : 0);
+    }
+
+    private static FlightSearchResponse response(DirectFlightDto flight) {
+        return new FlightSearchResponse(List.of(flight), List.of());
+    }
+
+    private static FlightSearchResponse response(TransitFlightDto transit) {
+        return new FlightSearchResponse(List.of(), List.of(transit));
+    }
+
+    private static TransitFlightDto transit(DirectFlightDto... segments) {
+        TransitFlightDto transit = new TransitFlightDto();
+        transit.setSegments(List.of(segments));
+        return transit;
+    }
+
+    private static DirectFlightDto direct(Long id) {
+        AirportDto airport = new AirportDto();
+        airport.setId(id);
+        DirectFlightDto flight = new DirectFlightDto();
+        flight.setId(id);
+        flight.setFlightNumber("TS" + id);
+        flight.setOriginAirport(airport);
+        flight.setAvailableSeats(5);
+        return flight;
+    }
+
+    private static Flight flight(Long id, Long originId, Long destinationId) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setOriginAirport(airport(originId));
+        flight.setDestinationAirport(airport(destinationId));
+        flight.setDepartureTime(DATE.atTime(LocalTime.of(10, 0)));
+        flight.setStatus(FlightStatus.SCHEDULED);
+        return flight;
+    }
+
+    private static Airport airport(Long id) {
+        Airport airport = new Airport();
+        airport.setId(id);
+        return airport;
+    }
+}
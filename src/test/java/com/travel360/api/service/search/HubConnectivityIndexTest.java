@@ -0,0 +1,109 @@
+package com.travel360.api.service.search;
+
+import com.travel360.api.event.FlightChangedEvent;
+import com.travel360.api.model.Airport;
+import com.travel360.api.model.Flight;
+import com.travel360.api.model.FlightStatus;
+import com.travel360.api.repository.FlightRepository;
+import com.travel360.api.repository.projection.FlightRoute;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class HubConnectivityIndexTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    private HubConnectivityIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new HubConnectivityIndex();
+        ReflectionTestUtils.setField(index, "flightRepository", flightRepository);
+    }
+
+    @Test
+    public void testIntermediatesHaveServiceFromOriginAndToDestination() {
+        // 1 → 2 → 4, 1 → 3 → 4, 1 → 5 (no onward service), 1 → 4 direct
+        when(flightRepository.findSearchableRoutes()).thenReturn(List.of(
+                new FlightRoute(10L, 1L, 2L), new FlightRoute(11L, 2L, 4L),
+                new FlightRoute(12L, 1L, 3L), new FlightRoute(13L, 3L, 4L),
+                new FlightRoute(14L, 1L, 5L), new FlightRoute(15L, 1L, 4L)));
+        index.rebuild();
+
+        assertEquals(Set.of(2L, 3L), index.intermediates(1L, 4L));
+        assertEquals(Set.of(), index.intermediates(4L, 1L));
+    }
+
+    @Test
+    public void testHopsCountFewestLegsToDestination() {
+        when(flightRepository.findSearchableRoutes()).thenReturn(List.of(
+                new FlightRoute(10L, 1L, 2L), new FlightRoute(11L, 2L, 3L), new FlightRoute(12L, 3L, 4L),
+                new FlightRoute(13L, 1L, 3L)));
+        index.rebuild();
+
+        assertEquals(0, index.hopsToDestination(4L, 4L));
+        assertEquals(1, index.hopsToDestination(3L, 4L));
+        assertEquals(2, index.hopsToDestination(1L, 4L));
+        assertEquals(HubConnectivityIndex.UNREACHABLE, index.hopsToDestination(4L, 1L));
+        assertTrue(index.canReach(1L, 4L, 2));
+        assertFalse(index.canReach(1L, 4L, 1));
+    }
+
+    @Test
+    public void testRouteDisappearsWithItsLastFlight() {
+        when(flightRepository.findSearchableRoutes()).thenReturn(List.of(
+                new FlightRoute(10L, 1L, 2L), new FlightRoute(11L, 1L, 2L), new FlightRoute(12L, 2L, 3L)));
+        index.rebuild();
+
+        index.onFlightChanged(FlightChangedEvent.deleted(10L));
+        assertTrue(index.canReach(1L, 3L, 2));
+
+        Flight cancelled = flight(11L, 1L, 2L);
+        cancelled.setStatus(FlightStatus.CANCELLED);
+        index.onFlightChanged(FlightChangedEvent.statusChanged(cancelled));
+        assertFalse(index.canReach(1L, 3L, 5));
+    }
+
+    @Test
+    public void testNewAndMovedFlightsUpdateRoutes() {
+        when(flightRepository.findSearchableRoutes()).thenReturn(List.of(new FlightRoute(10L, 1L, 2L)));
+        index.rebuild();
+
+        index.onFlightChanged(FlightChangedEvent.created(flight(20L, 2L, 3L)));
+        assertEquals(Set.of(2L), index.intermediates(1L, 3L));
+
+        // Rerouted to 1 → 4, so 1 no longer reaches 3
+        index.onFlightChanged(FlightChangedEvent.updated(flight(10L, 1L, 4L)));
+        assertEquals(Set.of(), index.intermediates(1L, 3L));
+        assertEquals(1, index.hopsToDestination(1L, 4L));
+    }
+
+    private static Flight flight(Long id, Long originId, Long destinationId) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setOriginAirport(airport(originId));
+        flight.setDestinationAirport(airport(destinationId));
+        flight.setStatus(FlightStatus.SCHEDULED);
+        return flight;
+    }
+
+    private static Airport airport(Long id) {
+        Airport airport = new Airport();
+        airport.setId(id);
+        return airport;
+    }
+}
@@ -0,0 +1,255 @@
+package com.travel360.api.service.search;
+
+import com.travel360.api.model.Airport;
+import com.travel360.api.model.Flight;
+import com.travel360.api.model.FlightStatus;
+import com.travel360.api.model.SeatClass;
+import com.travel360.api.repository.AirportConnectionTimeRepository;
+import com.travel360.api.repository.FlightRepository;
+import com.travel360.api.service.reference.AirportDistanceMatrix;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ItinerarySearchEngineTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 3, 1, 0, 0);
+
+    private final Airport origin = airport(1L);
+    private final Airport hubB = airport(2L);
+    private final Airport hubC = airport(3L);
+    private final Airport destination = airport(4L);
+    private final Airport hubE = airport(5L);
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private AirportConnectionTimeRepository connectionTimeRepository;
+
+    @Mock
+    private HubConnectivityIndex hubIndex;
+
+    // Unknown distances (0 km) never prune on detours
+    @Mock
+    private AirportDistanceMatrix distances;
+
+    private ItinerarySearchEngine engine;
+
+    private long nextFlightId = 100;
+
+    @BeforeEach
+    public void setUp() {
+        // Every airport connects between 60 and 180 minutes
+        ConnectionTimeTable connectionTimes = new ConnectionTimeTable();
+        ReflectionTestUtils.setField(connectionTimes, "connectionTimeRepository", connectionTimeRepository);
+        ReflectionTestUtils.setField(connectionTimes, "defaultMinMinutes", 60);
+        ReflectionTestUtils.setField(connectionTimes, "defaultMaxMinutes", 180);
+
+        lenient().when(hubIndex.canReach(anyLong(), anyLong(), anyInt())).thenReturn(true);
+
+        engine = new ItinerarySearchEngine();
+        ReflectionTestUtils.setField(engine, "hubIndex", hubIndex);
+        ReflectionTestUtils.setField(engine, "connectionTimes", connectionTimes);
+        ReflectionTestUtils.setField(engine, "distances", distances);
+        ReflectionTestUtils.setField(engine, "maxItineraries", 500);
+        ReflectionTestUtils.setField(engine, "maxLabelsPerAirport", 32);
+        ReflectionTestUtils.setField(engine, "maxDetourRatio", 2.0);
+        ReflectionTestUtils.setField(engine, "detourAllowanceKm", 300.0);
+        ReflectionTestUtils.setField(engine, "parallelChunkSize", 64);
+    }
+
+    @Test
+    public void testItinerariesAreFoundRoundByRoundUpToMaxStops() {
+        Flight toB = flight(origin, hubB, 6, 0, 7, 0, "100");
+        Flight bToDestination = flight(hubB, destination, 8, 30, 9, 30, "100");
+        Flight bToC = flight(hubB, hubC, 8, 30, 9, 30, "100");
+        Flight cToDestination = flight(hubC, destination, 11, 0, 12, 0, "100");
+        when(hubIndex.intermediates(origin.getId(), destination.getId())).thenReturn(Set.of(hubB.getId()));
+
+        assertEquals(List.of(List.of(toB, bToDestination)),
+                engine.search(schedule(toB, bToDestination, bToC, cToDestination), query(1)));
+        // Fewest stops first
+        assertEquals(List.of(List.of(toB, bToDestination), List.of(toB, bToC, cToDestination)),
+                engine.search(schedule(toB, bToDestination, bToC, cToDestination), query(2)));
+    }
+
+    @Test
+    public void testHubThatCannotReachDestinationIsNotExpanded() {
+        Flight toB = flight(origin, hubB, 6, 0, 7, 0, "100");
+        Flight bToC = flight(hubB, hubC, 8, 30, 9, 30, "100");
+        Flight cToDestination = flight(hubC, destination, 11, 0, 12, 0, "100");
+        when(hubIndex.canReach(eq(hubC.getId()), eq(destination.getId()), anyInt())).thenReturn(false);
+
+        assertEquals(List.of(), engine.search(schedule(toB, bToC, cToDestination), query(3)));
+    }
+
+    @Test
+    public void testConnectionsOutsideTheWindowAreSkipped() {
+        Flight toB = flight(origin, hubB, 6, 0, 7, 0, "100");
+        // 30 minutes, below the 60 minute minimum
+        Flight tooSoon = flight(hubB, destination, 7, 30, 8, 30, "100");
+        Flight inWindow = flight(hubB, destination, 9, 0, 10, 0, "100");
+        // 240 minutes, above the 180 minute maximum
+        Flight tooLate = flight(hubB, destination, 11, 0, 12, 0, "100");
+
+        assertEquals(List.of(List.of(toB, inWindow)),
+                engine.search(schedule(toB, tooSoon, inWindow, tooLate), query(2)));
+    }
+
+    @Test
+    public void testItineraryBeyondDetourBudgetIsPruned() {
+        // A budget of 100 km * 2.0 + 300 km = 500 km
+        lenient().when(distances.distanceKm(origin.getId(), destination.getId())).thenReturn(100.0);
+        lenient().when(distances.distanceKm(origin.getId(), hubE.getId())).thenReturn(400.0);
+        lenient().when(distances.distanceKm(hubE.getId(), destination.getId())).thenReturn(300.0);
+        Flight toB = flight(origin, hubB, 6, 0, 7, 0, "100");
+        Flight bToDestination = flight(hubB, destination, 8, 30, 9, 30, "100");
+        Flight toE = flight(origin, hubE, 6, 0, 7, 0, "50");
+        Flight eToDestination = flight(hubE, destination, 8, 30, 9, 30, "50");
+
+        assertEquals(List.of(List.of(toB, bToDestination)),
+                engine.search(schedule(toB, bToDestination, toE, eToDestination), query(2)));
+    }
+
+    @Test
+    public void testLaterDearerLabelIsKeptWhenOnlyItCatchesTheConnection() {
+        Flight early = flight(origin, hubB, 6, 0, 7, 0, "100");
+        Flight earlyToC = flight(hubB, hubC, 8, 30, 9, 30, "100");
+        Flight late = flight(origin, hubB, 8, 0, 9, 0, "100");
+        Flight lateToC = flight(hubB, hubC, 10, 30, 11, 30, "300");
+        // Leaves C 210 minutes after the early arrival, beyond the 180 minute maximum
+        Flight toDestination = flight(hubC, destination, 13, 0, 14, 0, "100");
+
+        List<List<Flight>> itineraries = engine.search(
+                schedule(early, earlyToC, late, lateToC, toDestination), query(2));
+
+        assertEquals(List.of(List.of(late, lateToC, toDestination)), itineraries);
+    }
+
+    @Test
+    public void testDearerLabelWithSameConnectionsAndDepartureIsPruned() {
+        Flight toB = flight(origin, hubB, 6, 0, 7, 0, "100");
+        Flight cheapToC = flight(hubB, hubC, 8, 30, 9, 30, "100");
+        Flight dearToC = flight(hubB, hubC, 8, 30, 9, 30, "200");
+        Flight toDestination = flight(hubC, destination, 11, 0, 12, 0, "100");
+
+        List<List<Flight>> itineraries = engine.search(
+                schedule(toB, cheapToC, dearToC, toDestination), query(2));
+
+        assertEquals(List.of(List.of(toB, cheapToC, toDestination)), itineraries);
+    }
+
+    @Test
+    public void testCheaperLabelDoesNotDominateOneThatVisitedFewerAirports() {
+        Flight toB = flight(origin, hubB, 6, 0, 7, 0, "100");
+        Flight toE = flight(origin, hubE, 6, 0, 7, 0, "300");
+        Flight bToC = flight(hubB, hubC, 8, 30, 9, 30, "100");
+        Flight eToC = flight(hubE, hubC, 8, 30, 9, 30, "100");
+        Flight cToB = flight(hubC, hubB, 11, 0, 12, 0, "100");
+        Flight bToDestination = flight(hubB, destination, 13, 30, 14, 30, "100");
+
+        // Via B is cheaper at C, but only the itinerary via E may continue through B
+        List<List<Flight>> itineraries = engine.search(
+                schedule(toB, toE, bToC, eToC, cToB, bToDestination), query(3));
+
+        assertEquals(List.of(List.of(toE, eToC, cToB, bToDestination)), itineraries);
+    }
+
+    @Test
+    public void testPerAirportCapReportsTruncation() {
+        ReflectionTestUtils.setField(engine, "maxLabelsPerAirport", 1);
+        Flight early = flight(origin, hubB, 6, 0, 7, 0, "100");
+        Flight earlyToC = flight(hubB, hubC, 8, 30, 9, 30, "100");
+        Flight late = flight(origin, hubB, 8, 0, 9, 0, "100");
+        Flight lateToC = flight(hubB, hubC, 10, 30, 11, 30, "300");
+        Flight earlyToDestination = flight(hubC, destination, 11, 0, 12, 0, "100");
+        Flight lateToDestination = flight(hubC, destination, 13, 0, 14, 0, "100");
+
+        List<List<Flight>> itineraries = new ArrayList<>();
+        ItinerarySearchEngine.Completion completion = engine.search(
+                schedule(early, earlyToC, late, lateToC, earlyToDestination, lateToDestination), query(2),
+                itineraries::add, 500, ItinerarySearchEngine.NO_DEADLINE);
+
+        assertEquals(ItinerarySearchEngine.Completion.TRUNCATED, completion);
+        assertEquals(List.of(List.of(early, earlyToC, earlyToDestination)), itineraries);
+    }
+
+    @Test
+    public void testSearchWithinCapIsComplete() {
+        Flight toB = flight(origin, hubB, 6, 0, 7, 0, "100");
+        Flight toDestination = flight(hubB, destination, 8, 30, 9, 30, "100");
+
+        List<List<Flight>> itineraries = new ArrayList<>();
+        ItinerarySearchEngine.Completion completion = engine.search(schedule(toB, toDestination), query(2),
+                itineraries::add, 500, ItinerarySearchEngine.NO_DEADLINE);
+
+        assertEquals(ItinerarySearchEngine.Completion.COMPLETE, completion);
+        assertEquals(List.of(List.of(toB, toDestination)), itineraries);
+    }
+
+    @Test
+    public void testPassedDeadlineStopsSearch() {
+        Flight toB = flight(origin, hubB, 6, 0, 7, 0, "100");
+        Flight toDestination = flight(hubB, destination, 8, 30, 9, 30, "100");
+
+        List<List<Flight>> itineraries = new ArrayList<>();
+        ItinerarySearchEngine.Completion completion = engine.search(schedule(toB, toDestination), query(2),
+                itineraries::add, 500, System.nanoTime() - 1);
+
+        assertEquals(ItinerarySearchEngine.Completion.DEADLINE_EXCEEDED, completion);
+        assertEquals(List.of(), itineraries);
+    }
+
+    private FlightRouteGraph.Snapshot schedule(Flight... flights) {
+        when(flightRepository.findSearchableFlights()).thenReturn(List.of(flights));
+        FlightRouteGraph graph = new FlightRouteGraph();
+        ReflectionTestUtils.setField(graph, "flightRepository", flightRepository);
+        return graph.snapshot();
+    }
+
+    private ItineraryQuery query(int maxStops) {
+        return new ItineraryQuery(origin.getId(), destination.getId(), DAY, DAY.plusDays(1),
+                SeatClass.ECONOMY_CLASS, 1, maxStops);
+    }
+
+    private Flight flight(Airport from, Airport to, int departureHour, int departureMinute,
+                          int arrivalHour, int arrivalMinute, String price) {
+        Flight flight = new Flight();
+        flight.setId(nextFlightId++);
+        flight.setFlightNumber("TS" + flight.getId());
+        flight.setOriginAirport(from);
+        flight.setDestinationAirport(to);
+        flight.setDepartureTime(DAY.withHour(departureHour).withMinute(departureMinute));
+        flight.setArrivalTime(DAY.withHour(arrivalHour).withMinute(arrivalMinute));
+        flight.setEconomyClassPrice(new BigDecimal(price));
+        flight.setEconomyClassAvailableSeats(10);
+        flight.setStatus(FlightStatus.SCHEDULED);
+        return flight;
+    }
+
+    private static Airport airport(Long id) {
+        Airport airport = new Airport();
+        airport.setId(id);
+        airport.setCode("A" + id);
+        airport.setCountry("Sri Lanka");
+        return airport;
+    }
+}
@@ -0,0 +1,91 @@
+package com.travel360.api.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SearchRequestCoalescerTest {
+
+    private final SearchRequestCoalescer<String, List<String>> coalescer = new SearchRequestCoalescer<>(ArrayList::new);
+
+    @Test
+    public void testConcurrentCallsShareOneComputationButNotTheResult() throws Exception {
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<String>> first = pool.submit(() -> coalescer.execute("key", () -> {
+                computations.incrementAndGet();
+                started.countDown();
+                await(release);
+                return List.of("result");
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            AtomicReference<Thread> secondThread = new AtomicReference<>();
+            Future<List<String>> second = pool.submit(() -> {
+                secondThread.set(Thread.currentThread());
+                return coalescer.execute("key", () -> {
+                    computations.incrementAndGet();
+                    return List.of("recomputed");
+                });
+            });
+            // The second caller parks once it waits for the running computation
+            while (secondThread.get() == null || secondThread.get().getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            List<String> firstResult = first.get(5, TimeUnit.SECONDS);
+            List<String> secondResult = second.get(5, TimeUnit.SECONDS);
+            assertEquals(1, computations.get());
+            assertEquals(List.of("result"), secondResult);
+            assertNotSame(firstResult, secondResult);
+            assertEquals(0, coalescer.inFlightCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailureIsRethrownAndKeyReleased() {
+        assertThrows(IllegalStateException.class, () -> coalescer.execute("key", () -> {
+            throw new IllegalStateException("search failed");
+        }));
+
+        assertEquals(List.of("again"), coalescer.execute("key", () -> List.of("again")));
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    public void testLaterCallsComputeAfresh() {
+        AtomicInteger computations = new AtomicInteger();
+
+        coalescer.execute("key", () -> List.of(String.valueOf(computations.incrementAndGet())));
+        List<String> result = coalescer.execute("key", () -> List.of(String.valueOf(computations.incrementAndGet())));
+
+        assertEquals(List.of("2"), result);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
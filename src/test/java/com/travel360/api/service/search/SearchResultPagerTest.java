@@ -0,0 +1,146 @@
+package com.travel360.api.service.search;
+
+import com.travel360.api.dto.flight.AirportDto;
+import com.travel360.api.dto.flight.DirectFlightDto;
+import com.travel360.api.dto.flight.FlightSearchResponse;
+import com.travel360.api.dto.flight.TransitFlightDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SearchResultPagerTest {
+
+    private SearchResultPager pager;
+
+    @BeforeEach
+    public void setUp() {
+        pager = new SearchResultPager();
+        ReflectionTestUtils.setField(pager, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(pager, "maxSnapshots", 10);
+    }
+
+    @Test
+    public void testPagesFollowTheCursorInRankOrder() {
+        List<SearchResultPager.PagedResult> results = List.of(
+                direct(1L, "100"), transit("120"), direct(2L, "150"), transit("180"), direct(3L, "200"));
+
+        FlightSearchResponse first = pager.firstPage(results, 2, true);
+        assertEquals(List.of(1L), first.getDirectFlights().stream().map(DirectFlightDto::getId).toList());
+        assertEquals(1, first.getTransitFlights().size());
+        assertEquals(5, first.getTotalResults());
+        assertTrue(first.isPartialResults());
+
+        FlightSearchResponse second = pager.nextPage(first.getNextCursor());
+        assertEquals(List.of(2L), second.getDirectFlights().stream().map(DirectFlightDto::getId).toList());
+        assertEquals(new BigDecimal("180"), second.getTransitFlights().get(0).getTotalPrice());
+
+        FlightSearchResponse last = pager.nextPage(second.getNextCursor());
+        assertEquals(List.of(3L), last.getDirectFlights().stream().map(DirectFlightDto::getId).toList());
+        assertTrue(last.getTransitFlights().isEmpty());
+        assertNull(last.getNextCursor());
+        // Cursors stay valid until the snapshot expires
+        assertEquals(List.of(2L), pager.nextPage(first.getNextCursor()).getDirectFlights().stream()
+                .map(DirectFlightDto::getId).toList());
+    }
+
+    @Test
+    public void testResultsThatFitOnePageNeedNoCursor() {
+        FlightSearchResponse only = pager.firstPage(List.of(direct(1L, "100"), transit("120")), 2, false);
+
+        assertEquals(2, only.getTotalResults());
+        assertNull(only.getNextCursor());
+        assertFalse(only.isPartialResults());
+    }
+
+    @Test
+    public void testPagesAreCopiesOfTheSnapshot() {
+        SearchResultPager.PagedResult cheapest = direct(1L, "100");
+        FlightSearchResponse first = pager.firstPage(List.of(direct(2L, "90"), cheapest, direct(3L, "110")), 1, false);
+        String cursor = first.getNextCursor();
+
+        DirectFlightDto served = pager.nextPage(cursor).getDirectFlights().get(0);
+        assertNotSame(cheapest.directFlight(), served);
+        served.setPrice(BigDecimal.ZERO);
+        served.getOriginAirport().setCode("XXX");
+
+        DirectFlightDto again = pager.nextPage(cursor).getDirectFlights().get(0);
+        assertEquals(new BigDecimal("100"), again.getPrice());
+        assertEquals("CMB", again.getOriginAirport().getCode());
+        assertEquals(new BigDecimal("100"), cheapest.directFlight().getPrice());
+    }
+
+    @Test
+    public void testExpiredCursorIsRejected() {
+        ReflectionTestUtils.setField(pager, "ttlSeconds", 0L);
+        FlightSearchResponse first = pager.firstPage(List.of(direct(1L, "100"), direct(2L, "110")), 1, false);
+        assertNotNull(first.getNextCursor());
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> pager.nextPage(first.getNextCursor()));
+        assertTrue(e.getMessage().contains("expired"));
+    }
+
+    @Test
+    public void testOldestSnapshotIsDroppedWhenTheStoreIsFull() {
+        ReflectionTestUtils.setField(pager, "maxSnapshots", 1);
+        String older = pager.firstPage(List.of(direct(1L, "100"), direct(2L, "110")), 1, false).getNextCursor();
+        String newer = pager.firstPage(List.of(direct(3L, "100"), direct(4L, "110")), 1, false).getNextCursor();
+
+        assertThrows(RuntimeException.class, () -> pager.nextPage(older));
+        assertEquals(4L, pager.nextPage(newer).getDirectFlights().get(0).getId());
+    }
+
+    @Test
+    public void testMalformedCursorIsRejected() {
+        String cursor = pager.firstPage(List.of(direct(1L, "100"), direct(2L, "110")), 1, false).getNextCursor();
+        String snapshotId = decode(cursor).split(":")[0];
+
+        for (String invalid : List.of("not a cursor", encode("no-offset"), encode(snapshotId + ":x"),
+                encode(snapshotId + ":2"), encode(snapshotId + ":-1"))) {
+            RuntimeException e = assertThrows(RuntimeException.class, () -> pager.nextPage(invalid));
+            assertEquals("Invalid search cursor", e.getMessage());
+        }
+        // A well-formed cursor for a snapshot this instance does not hold
+        assertThrows(RuntimeException.class, () -> pager.nextPage(encode("unknown:1")));
+    }
+
+    private static SearchResultPager.PagedResult direct(Long id, String price) {
+        DirectFlightDto flight = new DirectFlightDto();
+        flight.setId(id);
+        flight.setPrice(new BigDecimal(price));
+        flight.setOriginAirport(airport("CMB"));
+        return new SearchResultPager.PagedResult(flight, null);
+    }
+
+    private static SearchResultPager.PagedResult transit(String price) {
+        TransitFlightDto transit = new TransitFlightDto();
+        transit.setTotalPrice(new BigDecimal(price));
+        return new SearchResultPager.PagedResult(null, transit);
+    }
+
+    private static AirportDto airport(String code) {
+        AirportDto airport = new AirportDto();
+        airport.setCode(code);
+        return airport;
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,68 @@
+package com.travel360.api.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TopKCollectorTest {
+
+    @Test
+    public void testKeepsTheBestKBestFirst() {
+        List<Integer> candidates = new ArrayList<>(IntStream.range(0, 1000).boxed().toList());
+        Collections.shuffle(candidates, new Random(42));
+        TopKCollector<Integer> best = new TopKCollector<>(5, Comparator.naturalOrder());
+
+        candidates.forEach(best::offer);
+
+        assertEquals(List.of(0, 1, 2, 3, 4), best.toSortedList());
+        assertTrue(best.isFull());
+        assertEquals(4, best.worst());
+    }
+
+    @Test
+    public void testFewerCandidatesThanKAreAllKept() {
+        TopKCollector<String> best = new TopKCollector<>(3, Comparator.comparing(String::length));
+        assertNull(best.worst());
+
+        best.offer("ccc");
+        best.offer("a");
+
+        assertEquals(List.of("a", "ccc"), best.toSortedList());
+        assertFalse(best.isFull());
+    }
+
+    @Test
+    public void testOfferAllMergesPartialRankings() {
+        TopKCollector<Integer> evens = new TopKCollector<>(3, Comparator.reverseOrder());
+        TopKCollector<Integer> odds = new TopKCollector<>(3, Comparator.reverseOrder());
+        IntStream.range(0, 20).forEach(i -> (i % 2 == 0 ? evens : odds).offer(i));
+
+        evens.offerAll(odds);
+
+        assertEquals(List.of(19, 18, 17), evens.toSortedList());
+    }
+
+    @Test
+    public void testCandidateNoBetterThanTheWorstIsDropped() {
+        TopKCollector<int[]> best = new TopKCollector<>(2, Comparator.comparingInt(pair -> pair[0]));
+        best.offer(new int[] {1, 0});
+        best.offer(new int[] {2, 0});
+
+        // Ties with the worst kept element do not displace it
+        best.offer(new int[] {2, 1});
+        best.offer(new int[] {3, 0});
+
+        assertEquals(List.of(1, 2), best.toSortedList().stream().map(pair -> pair[0]).toList());
+        assertEquals(0, best.worst()[1]);
+    }
+}